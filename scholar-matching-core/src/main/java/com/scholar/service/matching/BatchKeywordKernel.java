@@ -0,0 +1,181 @@
+package com.scholar.service.matching;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scoring kernel for a batch of CVs sharing one pass over the professor catalog.
+ * <p>
+ * The keywords of all CVs are merged into a single automaton; every merged keyword carries a
+ * posting list of (CV, local keyword id) pairs. Scanning a professor text once therefore scores it
+ * against every CV in the batch. Each CV keeps its own {@link KeywordScoringKernel}, so matched
+ * ids, unit sums, score normalization and keyword rendering are identical to single-CV scoring.
+ */
+public final class BatchKeywordKernel {
+
+    private final KeywordScoringKernel[] kernels;
+    private final KeywordAutomaton automaton;
+    // Postings of merged keyword k: postingCv/postingLocal[postingStart[k] .. postingStart[k + 1])
+    private final int[] postingStart;
+    private final int[] postingCv;
+    private final int[] postingLocal;
+
+    private BatchKeywordKernel(KeywordScoringKernel[] kernels, KeywordAutomaton automaton,
+                               int[] postingStart, int[] postingCv, int[] postingLocal) {
+        this.kernels = kernels;
+        this.automaton = automaton;
+        this.postingStart = postingStart;
+        this.postingCv = postingCv;
+        this.postingLocal = postingLocal;
+    }
+
+    /**
+     * Compiles a batch kernel; list positions become CV indexes.
+     *
+     * @param cvKeywordMaps normalized keyword to weight, one map per CV
+     * @return the batch kernel
+     */
+    public static BatchKeywordKernel compile(List<Map<String, BigDecimal>> cvKeywordMaps) {
+        KeywordScoringKernel[] kernels = new KeywordScoringKernel[cvKeywordMaps.size()];
+        Map<String, Integer> mergedIds = new HashMap<>();
+        List<String> merged = new ArrayList<>();
+        List<IntList> cvPostings = new ArrayList<>();
+        List<IntList> localPostings = new ArrayList<>();
+
+        for (int cv = 0; cv < kernels.length; cv++) {
+            kernels[cv] = KeywordScoringKernel.compile(cvKeywordMaps.get(cv));
+            for (int local = 0; local < kernels[cv].size(); local++) {
+                String keyword = kernels[cv].keyword(local);
+                Integer id = mergedIds.get(keyword);
+                if (id == null) {
+                    id = merged.size();
+                    mergedIds.put(keyword, id);
+                    merged.add(keyword);
+                    cvPostings.add(new IntList(2));
+                    localPostings.add(new IntList(2));
+                }
+                cvPostings.get(id).add(cv);
+                localPostings.get(id).add(local);
+            }
+        }
+
+        int[] postingStart = new int[merged.size() + 1];
+        for (int id = 0; id < merged.size(); id++) {
+            postingStart[id + 1] = postingStart[id] + cvPostings.get(id).size();
+        }
+        int[] postingCv = new int[postingStart[merged.size()]];
+        int[] postingLocal = new int[postingCv.length];
+        for (int id = 0; id < merged.size(); id++) {
+            for (int i = 0; i < cvPostings.get(id).size(); i++) {
+                postingCv[postingStart[id] + i] = cvPostings.get(id).get(i);
+                postingLocal[postingStart[id] + i] = localPostings.get(id).get(i);
+            }
+        }
+        return new BatchKeywordKernel(kernels, KeywordAutomaton.compile(merged), postingStart, postingCv, postingLocal);
+    }
+
+    /**
+     * Allocates scan buffers for this batch; one per scoring thread.
+     */
+    public Scratch newScratch() {
+        return new Scratch(automaton.size(), kernels);
+    }
+
+    /**
+     * Scores a professor text against every CV of the batch. Results stay in {@code scratch}
+     * until the next call; only the CVs listed by {@link Scratch#getTouchedCount()} matched.
+     *
+     * @param text lowercased professor text
+     * @param scratch buffers obtained from {@link #newScratch()}
+     */
+    public void score(String text, Scratch scratch) {
+        scratch.reset();
+        int count = automaton.scan(text, scratch.seen, scratch.matched);
+        for (int i = 0; i < count; i++) {
+            int id = scratch.matched[i];
+            for (int p = postingStart[id]; p < postingStart[id + 1]; p++) {
+                int cv = postingCv[p];
+                int local = postingLocal[p];
+                if (scratch.matchedCount[cv] == 0) {
+                    scratch.touched[scratch.touchedCount++] = cv;
+                }
+                scratch.units[cv] += kernels[cv].weightUnits(local);
+                scratch.localMatched[cv][scratch.matchedCount[cv]++] = local;
+            }
+        }
+    }
+
+    /**
+     * Returns the single-CV kernel of a batch member, for normalization and rendering.
+     */
+    public KeywordScoringKernel kernel(int cv) {
+        return kernels[cv];
+    }
+
+    public int size() {
+        return kernels.length;
+    }
+
+    public int getKeywordCount() {
+        return automaton.size();
+    }
+
+    /**
+     * Per-thread scan buffers of a batch kernel.
+     */
+    public static final class Scratch {
+        private final boolean[] seen;
+        private final int[] matched;
+        private final long[] units;
+        private final int[][] localMatched;
+        private final int[] matchedCount;
+        private final int[] touched;
+        private int touchedCount;
+
+        private Scratch(int mergedKeywords, KeywordScoringKernel[] kernels) {
+            this.seen = new boolean[mergedKeywords];
+            this.matched = new int[mergedKeywords];
+            this.units = new long[kernels.length];
+            this.localMatched = new int[kernels.length][];
+            for (int cv = 0; cv < kernels.length; cv++) {
+                localMatched[cv] = new int[kernels[cv].size()];
+            }
+            this.matchedCount = new int[kernels.length];
+            this.touched = new int[kernels.length];
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int cv = touched[i];
+                units[cv] = 0;
+                matchedCount[cv] = 0;
+            }
+            touchedCount = 0;
+        }
+
+        public int getTouchedCount() {
+            return touchedCount;
+        }
+
+        public int touchedCv(int index) {
+            return touched[index];
+        }
+
+        public long units(int cv) {
+            return units[cv];
+        }
+
+        /**
+         * Copies the matched local keyword ids of a CV, in ascending id order.
+         */
+        public int[] matchedIds(int cv) {
+            int[] ids = Arrays.copyOf(localMatched[cv], matchedCount[cv]);
+            Arrays.sort(ids);
+            return ids;
+        }
+    }
+}
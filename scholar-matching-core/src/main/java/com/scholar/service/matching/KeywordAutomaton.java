@@ -0,0 +1,215 @@
+package com.scholar.service.matching;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton over a CV's normalized keywords.
+ * <p>
+ * Compiled once per CV and then shared across all professors (the automaton is immutable and
+ * thread-safe). A scan reports every keyword occurring as a substring of the text in a single
+ * left-to-right pass, which is equivalent to calling {@code text.contains(keyword)} for each
+ * keyword. Transitions are stored in flat sorted arrays, so scanning does not allocate.
+ */
+public final class KeywordAutomaton {
+
+    private static final int ROOT = 0;
+    private static final int ASCII = 128;
+
+    private final String[] keywords;
+    private final int emptyKeywordId;
+
+    // Goto function: edges of state s are edgeChars/edgeTargets[edgeStart[s] .. edgeStart[s + 1])
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] rootAscii;
+
+    private final int[] fail;
+    private final int[] terminal;
+    private final int[] dictionaryLink;
+
+    private KeywordAutomaton(String[] keywords, int emptyKeywordId, int[] edgeStart, char[] edgeChars,
+                             int[] edgeTargets, int[] rootAscii, int[] fail, int[] terminal, int[] dictionaryLink) {
+        this.keywords = keywords;
+        this.emptyKeywordId = emptyKeywordId;
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.rootAscii = rootAscii;
+        this.fail = fail;
+        this.terminal = terminal;
+        this.dictionaryLink = dictionaryLink;
+    }
+
+    /**
+     * Compiles an automaton; list positions become keyword ids.
+     *
+     * @param keywords distinct normalized keywords
+     * @return the compiled automaton
+     */
+    public static KeywordAutomaton compile(List<String> keywords) {
+        Set<String> distinct = new HashSet<>();
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminals = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminals.add(-1);
+        int emptyKeywordId = -1;
+
+        for (int id = 0; id < keywords.size(); id++) {
+            String keyword = keywords.get(id);
+            if (!distinct.add(keyword)) {
+                throw new IllegalArgumentException("Duplicate keyword: " + keyword);
+            }
+            if (keyword.isEmpty()) {
+                emptyKeywordId = id;
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminals.add(-1);
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            terminals.set(state, id);
+        }
+
+        int stateCount = trie.size();
+        int[] edgeStart = new int[stateCount + 1];
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s + 1] = edgeStart[s] + trie.get(s).size();
+        }
+        char[] edgeChars = new char[edgeStart[stateCount]];
+        int[] edgeTargets = new int[edgeStart[stateCount]];
+        for (int s = 0; s < stateCount; s++) {
+            int e = edgeStart[s];
+            for (Map.Entry<Character, Integer> edge : trie.get(s).entrySet()) {
+                edgeChars[e] = edge.getKey();
+                edgeTargets[e] = edge.getValue();
+                e++;
+            }
+        }
+        int[] rootAscii = new int[ASCII];
+        Arrays.fill(rootAscii, -1);
+        trie.get(ROOT).forEach((c, target) -> {
+            if (c < ASCII) {
+                rootAscii[c] = target;
+            }
+        });
+
+        int[] terminal = terminals.stream().mapToInt(Integer::intValue).toArray();
+        int[] fail = new int[stateCount];
+        int[] dictionaryLink = new int[stateCount];
+        Arrays.fill(dictionaryLink, -1);
+
+        // Breadth-first construction of failure and dictionary-suffix links
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int target : trie.get(ROOT).values()) {
+            fail[target] = ROOT;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : trie.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int f = fail[state];
+                Integer next;
+                while ((next = trie.get(f).get(c)) == null && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = next != null ? next : ROOT;
+                int failState = fail[child];
+                dictionaryLink[child] = terminal[failState] >= 0 ? failState : dictionaryLink[failState];
+                queue.add(child);
+            }
+        }
+
+        return new KeywordAutomaton(keywords.toArray(new String[0]), emptyKeywordId, edgeStart, edgeChars,
+                edgeTargets, rootAscii, fail, terminal, dictionaryLink);
+    }
+
+    /**
+     * Scans the text once and writes the ids of all distinct keywords it contains into {@code matched}.
+     *
+     * @param text lowercased professor text
+     * @param seen scratch flags of length {@link #size()}, all false on entry and on return
+     * @param matched output buffer of length {@link #size()}
+     * @return number of distinct keyword ids written to {@code matched}
+     */
+    public int scan(CharSequence text, boolean[] seen, int[] matched) {
+        int count = 0;
+        if (emptyKeywordId >= 0) {
+            seen[emptyKeywordId] = true;
+            matched[count++] = emptyKeywordId;
+        }
+        int state = ROOT;
+        int length = text.length();
+        for (int i = 0; i < length && count < keywords.length; i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = transition(state, c)) < 0 && state != ROOT) {
+                state = fail[state];
+            }
+            state = next < 0 ? ROOT : next;
+
+            for (int s = terminal[state] >= 0 ? state : dictionaryLink[state]; s > 0; s = dictionaryLink[s]) {
+                int id = terminal[s];
+                if (!seen[id]) {
+                    seen[id] = true;
+                    matched[count++] = id;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            seen[matched[i]] = false;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the keyword registered under the given id.
+     */
+    public String keyword(int id) {
+        return keywords[id];
+    }
+
+    /**
+     * Returns the number of keywords compiled into this automaton.
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    private int transition(int state, char c) {
+        if (state == ROOT && c < ASCII) {
+            return rootAscii[c];
+        }
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+}
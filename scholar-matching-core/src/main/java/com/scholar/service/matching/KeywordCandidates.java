@@ -0,0 +1,58 @@
+package com.scholar.service.matching;
+
+import java.util.BitSet;
+
+/**
+ * Candidate professor ordinals of each keyword of a query, as resolved by {@link ProfessorTermIndex}.
+ * <p>
+ * Every set is a superset of the professors whose text contains its keyword, so the weights of the
+ * keywords whose set contains a professor bound that professor's score from above. Sets are indexed
+ * by the position of the keyword in the lookup list and must not be modified.
+ */
+public final class KeywordCandidates {
+
+    private final BitSet[] perKeyword;
+    private final BitSet union;
+
+    KeywordCandidates(BitSet[] perKeyword, BitSet union) {
+        this.perKeyword = perKeyword;
+        this.union = union;
+    }
+
+    /**
+     * Returns the candidates of the keyword at {@code index} in the lookup list.
+     */
+    public BitSet get(int index) {
+        return perKeyword[index];
+    }
+
+    /**
+     * Returns the ordinals that are a candidate for at least one keyword.
+     */
+    public BitSet union() {
+        return union;
+    }
+
+    /**
+     * Returns a copy restricted to the given ordinals.
+     *
+     * @param eligible admitted ordinals, null to admit all
+     */
+    public KeywordCandidates restrictTo(BitSet eligible) {
+        if (eligible == null) {
+            return this;
+        }
+        BitSet[] restricted = new BitSet[perKeyword.length];
+        for (int i = 0; i < restricted.length; i++) {
+            restricted[i] = (BitSet) perKeyword[i].clone();
+            restricted[i].and(eligible);
+        }
+        BitSet restrictedUnion = (BitSet) union.clone();
+        restrictedUnion.and(eligible);
+        return new KeywordCandidates(restricted, restrictedUnion);
+    }
+
+    public int size() {
+        return perKeyword.length;
+    }
+}
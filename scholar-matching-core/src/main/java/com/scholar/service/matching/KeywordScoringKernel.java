@@ -0,0 +1,211 @@
+package com.scholar.service.matching;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primitive scoring kernel for one CV.
+ * <p>
+ * Keyword weights are interned once into an int array of fixed-point units (weight x 10^4, the
+ * precision of {@code cv_keyword.weight}), and the maximum possible score is computed once per CV.
+ * Scoring a professor only touches the automaton and per-thread scratch buffers; {@link BigDecimal}
+ * and {@link String} values are produced on demand for the matches that are actually persisted.
+ * Because unit sums are exact, {@link #toScore(long)} returns exactly the value the former
+ * BigDecimal accumulation produced.
+ */
+public final class KeywordScoringKernel {
+
+    public static final int WEIGHT_SCALE = 4;
+    public static final int SCORE_SCALE = 6;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final KeywordAutomaton automaton;
+    private final int[] weightUnits;
+    private final long maxUnits;
+    private final BigDecimal maxUnitsDecimal;
+
+    private KeywordScoringKernel(KeywordAutomaton automaton, int[] weightUnits, long maxUnits) {
+        this.automaton = automaton;
+        this.weightUnits = weightUnits;
+        this.maxUnits = maxUnits;
+        this.maxUnitsDecimal = BigDecimal.valueOf(maxUnits);
+    }
+
+    /**
+     * Compiles a kernel from a CV keyword map. Keyword ids follow descending weight, then keyword order.
+     *
+     * @param cvKeywordMap normalized keyword to weight
+     * @return the kernel
+     */
+    public static KeywordScoringKernel compile(Map<String, BigDecimal> cvKeywordMap) {
+        List<Map.Entry<String, BigDecimal>> entries = order(cvKeywordMap);
+
+        List<String> keywords = new ArrayList<>(entries.size());
+        int[] weightUnits = new int[entries.size()];
+        long maxUnits = 0;
+        for (int id = 0; id < entries.size(); id++) {
+            keywords.add(entries.get(id).getKey());
+            weightUnits[id] = toUnits(entries.get(id).getValue());
+            maxUnits += weightUnits[id];
+        }
+        return new KeywordScoringKernel(KeywordAutomaton.compile(keywords), weightUnits, maxUnits);
+    }
+
+    /**
+     * Orders the entries of a CV keyword map by descending weight, then keyword. A keyword's position
+     * in this order is its keyword id, both in a compiled kernel and in persisted match results.
+     */
+    public static List<Map.Entry<String, BigDecimal>> order(Map<String, BigDecimal> cvKeywordMap) {
+        List<Map.Entry<String, BigDecimal>> entries = new ArrayList<>(cvKeywordMap.entrySet());
+        entries.sort(Map.Entry.<String, BigDecimal>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return entries;
+    }
+
+    /**
+     * Renders keyword ids as the comma separated list shown to users.
+     *
+     * @param keywords the CV keywords in {@link #order} order
+     * @param ids keyword ids; ids outside the list are skipped
+     */
+    public static String joinKeywords(List<String> keywords, int[] ids) {
+        StringBuilder sb = new StringBuilder();
+        for (int id : ids) {
+            if (id < 0 || id >= keywords.size()) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(keywords.get(id));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Converts a keyword weight into fixed-point units.
+     */
+    public static int toUnits(BigDecimal weight) {
+        return weight.setScale(WEIGHT_SCALE, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+    }
+
+    /**
+     * Returns the calling thread's scratch buffers, sized for this kernel.
+     */
+    public Scratch scratch() {
+        Scratch scratch = SCRATCH.get();
+        scratch.ensureCapacity(automaton.size());
+        return scratch;
+    }
+
+    /**
+     * Scores a professor text. The matched keyword ids stay in {@code scratch} until the next call.
+     *
+     * @param text lowercased professor text
+     * @param scratch buffers obtained from {@link #scratch()}
+     * @return matched weight units; 0 with {@link Scratch#getMatchedCount()} == 0 when nothing matched
+     */
+    public long score(String text, Scratch scratch) {
+        int count = automaton.scan(text, scratch.seen, scratch.matched);
+        scratch.matchedCount = count;
+        long units = 0;
+        for (int i = 0; i < count; i++) {
+            units += weightUnits[scratch.matched[i]];
+        }
+        return units;
+    }
+
+    /**
+     * Normalizes matched units to a [0, 1] score with the same rounding as {@code match_result.match_score}.
+     */
+    public BigDecimal toScore(long units) {
+        return maxUnits > 0
+                ? BigDecimal.valueOf(units).divide(maxUnitsDecimal, SCORE_SCALE, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+
+    /**
+     * Returns the smallest matched unit total whose normalized score reaches {@code minScore},
+     * or {@code getMaxUnits() + 1} when no score can reach it.
+     */
+    public long minUnitsFor(BigDecimal minScore) {
+        if (minScore.signum() <= 0) {
+            return 0;
+        }
+        long low = 0;
+        long high = maxUnits + 1;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (toScore(mid).compareTo(minScore) >= 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copies the matched keyword ids of the last scan, in ascending id order.
+     */
+    public int[] matchedIds(Scratch scratch) {
+        int[] ids = new int[scratch.matchedCount];
+        System.arraycopy(scratch.matched, 0, ids, 0, ids.length);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    public String keyword(int id) {
+        return automaton.keyword(id);
+    }
+
+    /**
+     * Returns the keywords in keyword id order.
+     */
+    public List<String> keywords() {
+        List<String> keywords = new ArrayList<>(automaton.size());
+        for (int id = 0; id < automaton.size(); id++) {
+            keywords.add(automaton.keyword(id));
+        }
+        return keywords;
+    }
+
+    public int weightUnits(int id) {
+        return weightUnits[id];
+    }
+
+    public long getMaxUnits() {
+        return maxUnits;
+    }
+
+    public int size() {
+        return automaton.size();
+    }
+
+    /**
+     * Per-thread scan buffers; grown on demand and reused across professors and CVs.
+     */
+    public static final class Scratch {
+        private boolean[] seen = new boolean[0];
+        private int[] matched = new int[0];
+        private int matchedCount;
+
+        private void ensureCapacity(int size) {
+            if (seen.length < size) {
+                seen = new boolean[size];
+                matched = new int[size];
+            }
+            matchedCount = 0;
+        }
+
+        public int getMatchedCount() {
+            return matchedCount;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.scholar.service.matching;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Restricts matching to professors with given attributes: university country, university global
+ * rank range and professor department.
+ * <p>
+ * Values within one attribute are alternatives; attributes combine with AND. An attribute left
+ * empty does not restrict. Countries and departments compare case-insensitively on trimmed values,
+ * and a rank range excludes universities without a rank.
+ */
+public final class MatchFilter {
+
+    public static final MatchFilter NONE = new MatchFilter(Collections.emptySet(), null, null, Collections.emptySet());
+
+    private final Set<String> countries;
+    private final Integer minRank;
+    private final Integer maxRank;
+    private final Set<String> departments;
+
+    private MatchFilter(Set<String> countries, Integer minRank, Integer maxRank, Set<String> departments) {
+        this.countries = countries;
+        this.minRank = minRank;
+        this.maxRank = maxRank;
+        this.departments = departments;
+    }
+
+    /**
+     * Creates a filter; null or blank arguments do not restrict.
+     *
+     * @param countries university countries
+     * @param minRank best (lowest) global rank to include
+     * @param maxRank worst (highest) global rank to include
+     * @param departments professor departments
+     * @return the filter, {@link #NONE} if nothing restricts
+     */
+    public static MatchFilter of(Collection<String> countries, Integer minRank, Integer maxRank,
+                                 Collection<String> departments) {
+        if (minRank != null && maxRank != null && minRank > maxRank) {
+            throw new IllegalArgumentException("minRank " + minRank + " is greater than maxRank " + maxRank);
+        }
+        MatchFilter filter = new MatchFilter(normalizeAll(countries), minRank, maxRank, normalizeAll(departments));
+        return filter.isEmpty() ? NONE : filter;
+    }
+
+    /**
+     * Normalizes an attribute value the way filters compare it, or returns null for a missing value.
+     */
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Set<String> getCountries() {
+        return countries;
+    }
+
+    public Integer getMinRank() {
+        return minRank;
+    }
+
+    public Integer getMaxRank() {
+        return maxRank;
+    }
+
+    public Set<String> getDepartments() {
+        return departments;
+    }
+
+    public boolean hasRankRange() {
+        return minRank != null || maxRank != null;
+    }
+
+    public boolean isEmpty() {
+        return countries.isEmpty() && departments.isEmpty() && !hasRankRange();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MatchFilter)) {
+            return false;
+        }
+        MatchFilter filter = (MatchFilter) o;
+        return countries.equals(filter.countries) && Objects.equals(minRank, filter.minRank)
+                && Objects.equals(maxRank, filter.maxRank) && departments.equals(filter.departments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(countries, minRank, maxRank, departments);
+    }
+
+    @Override
+    public String toString() {
+        return "MatchFilter{countries=" + countries + ", rank=[" + (minRank != null ? minRank : "") + ".."
+                + (maxRank != null ? maxRank : "") + "], departments=" + departments + "}";
+    }
+
+    private static Set<String> normalizeAll(Collection<String> values) {
+        if (values == null) {
+            return Collections.emptySet();
+        }
+        Set<String> sorted = new TreeSet<>();
+        for (String value : values) {
+            String n = normalize(value);
+            if (n != null) {
+                sorted.add(n);
+            }
+        }
+        // Sorted for stable logging, in a hash set so that looking up a missing (null) attribute is allowed
+        Set<String> normalized = new LinkedHashSet<>(sorted);
+        return Collections.unmodifiableSet(normalized);
+    }
+}
@@ -0,0 +1,43 @@
+package com.scholar.service.matching;
+
+import java.math.BigDecimal;
+
+/**
+ * Which scored professors are kept as persisted matches for a CV.
+ * <p>
+ * {@code maxResults} keeps only the N best matches (0 = unlimited); {@code minScore} drops matches
+ * whose normalized score is below the floor. Both are enforced while scoring, so discarded
+ * professors never become {@code match_result} rows.
+ */
+public final class MatchRetention {
+
+    public static final MatchRetention UNLIMITED = new MatchRetention(0, BigDecimal.ZERO);
+
+    private final int maxResults;
+    private final BigDecimal minScore;
+
+    public MatchRetention(int maxResults, BigDecimal minScore) {
+        if (maxResults < 0) {
+            throw new IllegalArgumentException("maxResults must not be negative");
+        }
+        this.maxResults = maxResults;
+        this.minScore = minScore != null ? minScore : BigDecimal.ZERO;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public BigDecimal getMinScore() {
+        return minScore;
+    }
+
+    public boolean isTopK() {
+        return maxResults > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "MatchRetention{maxResults=" + (isTopK() ? maxResults : "unlimited") + ", minScore=" + minScore + "}";
+    }
+}
@@ -0,0 +1,101 @@
+package com.scholar.service.matching;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization rules shared by keyword extraction, professor indexing and scoring.
+ * Keeping them in one place guarantees that every index agrees with the scorer.
+ */
+public final class MatchText {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PROFESSOR_KEYWORD_SEPARATOR = Pattern.compile("[,;\\s]+");
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private MatchText() {
+    }
+
+    /**
+     * Normalizes a raw keyword the same way it is stored in {@code cv_keyword.normalized_keyword}.
+     */
+    public static String normalizeKeyword(String keyword) {
+        return keyword.toLowerCase().trim();
+    }
+
+    /**
+     * Builds the lowercased text a professor is matched against (research area + department).
+     */
+    public static String professorText(String researchArea, String department) {
+        String research = researchArea != null ? researchArea.toLowerCase() : "";
+        String dept = department != null ? department.toLowerCase() : "";
+        return research + " " + dept;
+    }
+
+    /**
+     * Counts the distinct research area keywords of a professor (approximate, used for statistics only).
+     */
+    public static int professorKeywordCount(String researchArea) {
+        if (researchArea == null) {
+            return 0;
+        }
+        return (int) PROFESSOR_KEYWORD_SEPARATOR.splitAsStream(researchArea.toLowerCase())
+                .filter(s -> !s.isBlank())
+                .distinct()
+                .count();
+    }
+
+    /**
+     * Splits text into its non-empty whitespace-separated runs.
+     * A whitespace-free substring of the text always lies inside exactly one of these runs.
+     */
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : WHITESPACE.split(text)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the distinct {@link #tokens} of a professor text joined by single spaces, the stored
+     * form of {@code professor.match_terms}.
+     */
+    public static String professorTerms(String professorText) {
+        return String.join(" ", new LinkedHashSet<>(tokens(professorText)));
+    }
+
+    /**
+     * Splits a stored {@code professor.match_terms} value back into terms.
+     */
+    public static String[] splitProfessorTerms(String professorTerms) {
+        return professorTerms == null || professorTerms.isEmpty() ? new String[0] : professorTerms.split(" ");
+    }
+
+    /**
+     * Builds the lowercased document a professor is ranked on by corpus-statistics scorers
+     * (research area + publications).
+     */
+    public static String corpusText(String researchArea, String publications) {
+        String research = researchArea != null ? researchArea.toLowerCase() : "";
+        String papers = publications != null ? publications.toLowerCase() : "";
+        return research + " " + papers;
+    }
+
+    /**
+     * Splits lowercased text into word terms (runs of letters and digits) for term-based scoring.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String term : TERM_SEPARATOR.split(text)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
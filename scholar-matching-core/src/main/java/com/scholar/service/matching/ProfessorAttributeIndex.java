@@ -0,0 +1,171 @@
+package com.scholar.service.matching;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordinal indexes over the professor attributes a {@link MatchFilter} selects on.
+ * <p>
+ * Catalog ordinals are grouped by university, so university attributes are stored as ordinal runs:
+ * each country maps to the runs of its universities, and ranked universities are kept sorted by
+ * rank so a rank range is a binary search plus the runs in between. Departments are per professor
+ * and map to sorted posting lists. A filter is resolved into a {@link BitSet} of eligible ordinals
+ * by setting runs and postings per attribute and intersecting the attributes.
+ */
+public final class ProfessorAttributeIndex {
+
+    private final int professorCount;
+    /** Per country: start, end pairs of ordinal runs. */
+    private final Map<String, int[]> countryRuns;
+    /** Ranked university runs in ascending rank order, with their ranks. */
+    private final int[] rankedRuns;
+    private final int[] ranks;
+    private final Map<String, int[]> departmentPostings;
+
+    private ProfessorAttributeIndex(int professorCount, Map<String, int[]> countryRuns, int[] rankedRuns,
+                                    int[] ranks, Map<String, int[]> departmentPostings) {
+        this.professorCount = professorCount;
+        this.countryRuns = countryRuns;
+        this.rankedRuns = rankedRuns;
+        this.ranks = ranks;
+        this.departmentPostings = departmentPostings;
+    }
+
+    /**
+     * Builds the index over profiles in ordinal order.
+     *
+     * @param profiles catalog profiles, grouped by university
+     * @param universityBoundaries ordinal at which each university starts, followed by the profile count
+     * @return the index
+     */
+    public static ProfessorAttributeIndex build(List<ProfessorProfile> profiles, int[] universityBoundaries) {
+        Map<String, IntList> countries = new HashMap<>();
+        List<int[]> ranked = new ArrayList<>();
+        for (int u = 0; u + 1 < universityBoundaries.length; u++) {
+            int start = universityBoundaries[u];
+            int end = universityBoundaries[u + 1];
+            ProfessorProfile first = profiles.get(start);
+            if (first.getCountry() != null) {
+                IntList runs = countries.computeIfAbsent(first.getCountry(), c -> new IntList(4));
+                runs.add(start);
+                runs.add(end);
+            }
+            if (first.getRankGlobal() != null) {
+                ranked.add(new int[]{first.getRankGlobal(), start, end});
+            }
+        }
+        ranked.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] ranks = new int[ranked.size()];
+        int[] rankedRuns = new int[ranked.size() * 2];
+        for (int i = 0; i < ranked.size(); i++) {
+            ranks[i] = ranked.get(i)[0];
+            rankedRuns[2 * i] = ranked.get(i)[1];
+            rankedRuns[2 * i + 1] = ranked.get(i)[2];
+        }
+
+        Map<String, IntList> departments = new HashMap<>();
+        for (int ordinal = 0; ordinal < profiles.size(); ordinal++) {
+            String department = profiles.get(ordinal).getDepartment();
+            if (department != null) {
+                departments.computeIfAbsent(department, d -> new IntList(4)).add(ordinal);
+            }
+        }
+
+        return new ProfessorAttributeIndex(profiles.size(), toArrays(countries), rankedRuns, ranks,
+                toArrays(departments));
+    }
+
+    /**
+     * Resolves a filter into the ordinals it admits.
+     *
+     * @param filter the filter
+     * @return eligible ordinals, or null when the filter does not restrict
+     */
+    public BitSet select(MatchFilter filter) {
+        if (filter.isEmpty()) {
+            return null;
+        }
+        BitSet eligible = null;
+        if (!filter.getCountries().isEmpty()) {
+            BitSet byCountry = new BitSet(professorCount);
+            for (String country : filter.getCountries()) {
+                setRuns(byCountry, countryRuns.get(country), 0, Integer.MAX_VALUE);
+            }
+            eligible = byCountry;
+        }
+        if (filter.hasRankRange()) {
+            int from = filter.getMinRank() != null ? lowerBound(ranks, filter.getMinRank()) : 0;
+            int to = filter.getMaxRank() != null ? lowerBound(ranks, filter.getMaxRank() + 1L) : ranks.length;
+            BitSet byRank = new BitSet(professorCount);
+            setRuns(byRank, rankedRuns, from, to);
+            eligible = and(eligible, byRank);
+        }
+        if (!filter.getDepartments().isEmpty()) {
+            BitSet byDepartment = new BitSet(professorCount);
+            for (String department : filter.getDepartments()) {
+                int[] posting = departmentPostings.get(department);
+                if (posting != null) {
+                    for (int ordinal : posting) {
+                        byDepartment.set(ordinal);
+                    }
+                }
+            }
+            eligible = and(eligible, byDepartment);
+        }
+        return eligible;
+    }
+
+    public int getCountryCount() {
+        return countryRuns.size();
+    }
+
+    public int getDepartmentCount() {
+        return departmentPostings.size();
+    }
+
+    /**
+     * Sets the runs with index {@code from} (inclusive) to {@code to} (exclusive) of a start, end pair array.
+     */
+    private static void setRuns(BitSet bits, int[] runs, int from, int to) {
+        if (runs == null) {
+            return;
+        }
+        for (int i = from; i < to && 2 * i < runs.length; i++) {
+            bits.set(runs[2 * i], runs[2 * i + 1]);
+        }
+    }
+
+    private static BitSet and(BitSet eligible, BitSet attribute) {
+        if (eligible == null) {
+            return attribute;
+        }
+        eligible.and(attribute);
+        return eligible;
+    }
+
+    /**
+     * Returns the first index whose value is at least {@code key}.
+     */
+    private static int lowerBound(int[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, IntList> lists) {
+        Map<String, int[]> arrays = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, list) -> arrays.put(key, list.toArray()));
+        return arrays;
+    }
+}
@@ -0,0 +1,158 @@
+package com.scholar.service.matching;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Immutable, versioned snapshot of the ACTIVE professor catalog.
+ * <p>
+ * Profiles are ordered by university and then professor id, and their list positions are the
+ * ordinals used by every matching index built on top of the snapshot.
+ * Each snapshot carries a term index for candidate lookup and an attribute index for {@link MatchFilter}s.
+ */
+public final class ProfessorCatalog {
+
+    private static final Comparator<ProfessorProfile> ORDER = Comparator
+            .comparing(ProfessorProfile::getUniversityId)
+            .thenComparing(ProfessorProfile::getId);
+
+    private final long version;
+    private final long fingerprint;
+    private final List<ProfessorProfile> profiles;
+    private final ProfessorTermIndex termIndex;
+    private final ProfessorAttributeIndex attributeIndex;
+    /** Ordinal at which each university's professors start, followed by {@code size()}. */
+    private final int[] universityBoundaries;
+
+    private ProfessorCatalog(long version, long fingerprint, List<ProfessorProfile> profiles,
+                             ProfessorTermIndex termIndex, ProfessorAttributeIndex attributeIndex,
+                             int[] universityBoundaries) {
+        this.version = version;
+        this.fingerprint = fingerprint;
+        this.profiles = profiles;
+        this.termIndex = termIndex;
+        this.attributeIndex = attributeIndex;
+        this.universityBoundaries = universityBoundaries;
+    }
+
+    /**
+     * Builds a snapshot and its term and attribute indexes.
+     *
+     * @param version monotonically increasing catalog version
+     * @param profiles ACTIVE professor profiles in any order
+     * @return the snapshot
+     */
+    public static ProfessorCatalog build(long version, List<ProfessorProfile> profiles) {
+        return build(version, profiles, null);
+    }
+
+    /**
+     * Builds a snapshot, taking its term index from storage when one exists for the same content.
+     *
+     * @param version monotonically increasing catalog version
+     * @param profiles ACTIVE professor profiles in any order
+     * @param storedTermIndex returns a stored term index for a content fingerprint, or null; may be null itself
+     * @return the snapshot
+     */
+    public static ProfessorCatalog build(long version, List<ProfessorProfile> profiles,
+                                         LongFunction<ProfessorTermIndex> storedTermIndex) {
+        List<ProfessorProfile> ordered = new ArrayList<>(profiles);
+        ordered.sort(ORDER);
+        List<String[]> terms = new ArrayList<>(ordered.size());
+        IntList boundaries = new IntList();
+        for (int ordinal = 0; ordinal < ordered.size(); ordinal++) {
+            ProfessorProfile profile = ordered.get(ordinal);
+            terms.add(profile.getTerms());
+            if (ordinal == 0 || !profile.getUniversityId().equals(ordered.get(ordinal - 1).getUniversityId())) {
+                boundaries.add(ordinal);
+            }
+        }
+        boundaries.add(ordered.size());
+        int[] universityBoundaries = boundaries.toArray();
+        long fingerprint = fingerprint(terms);
+        ProfessorTermIndex termIndex = storedTermIndex != null ? storedTermIndex.apply(fingerprint) : null;
+        if (termIndex == null || termIndex.getProfessorCount() != ordered.size()) {
+            termIndex = ProfessorTermIndex.buildFromTerms(terms);
+        }
+        return new ProfessorCatalog(version, fingerprint, List.copyOf(ordered), termIndex,
+                ProfessorAttributeIndex.build(ordered, universityBoundaries), universityBoundaries);
+    }
+
+    /**
+     * Hashes the terms of every ordinal (64-bit FNV-1a over their chars, with separators), which is
+     * all a term index depends on. Unlike the version, it is the same in every process for the same content.
+     */
+    static long fingerprint(List<String[]> terms) {
+        long hash = 0xcbf29ce484222325L;
+        for (String[] professorTerms : terms) {
+            for (String term : professorTerms) {
+                for (int i = 0; i < term.length(); i++) {
+                    hash = (hash ^ term.charAt(i)) * 0x100000001b3L;
+                }
+                hash = (hash ^ 0x1F) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0x1E) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns this snapshot with an equivalent term index, such as a mapped copy of its own.
+     * Version, ordinals and every index built on them stay valid.
+     *
+     * @param termIndex a term index built for the same content fingerprint
+     * @return the snapshot
+     */
+    public ProfessorCatalog withTermIndex(ProfessorTermIndex termIndex) {
+        if (termIndex.getProfessorCount() != profiles.size()) {
+            throw new IllegalArgumentException("Term index covers " + termIndex.getProfessorCount()
+                    + " professors, catalog has " + profiles.size());
+        }
+        return new ProfessorCatalog(version, fingerprint, profiles, termIndex, attributeIndex, universityBoundaries);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the content fingerprint of the snapshot's term data, stable across processes.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public List<ProfessorProfile> getProfiles() {
+        return profiles;
+    }
+
+    public ProfessorTermIndex getTermIndex() {
+        return termIndex;
+    }
+
+    public ProfessorAttributeIndex getAttributeIndex() {
+        return attributeIndex;
+    }
+
+    /**
+     * Returns the ordinals a filter admits, or null when it admits every professor.
+     */
+    public BitSet select(MatchFilter filter) {
+        return attributeIndex.select(filter);
+    }
+
+    public int[] getUniversityBoundaries() {
+        return universityBoundaries;
+    }
+
+    public ProfessorProfile get(int ordinal) {
+        return profiles.get(ordinal);
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+}
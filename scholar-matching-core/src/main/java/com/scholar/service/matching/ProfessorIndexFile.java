@@ -0,0 +1,256 @@
+package com.scholar.service.matching;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary file format of a {@link ProfessorTermIndex}, read through a read-only memory mapping.
+ * <p>
+ * A file holds one term index for one catalog content {@link ProfessorCatalog#getFingerprint() fingerprint}:
+ * <pre>
+ * header        magic, format version, professor count, term count, trigram count, fingerprint
+ * norms         int per professor: its number of terms
+ * terms         int offsets (term count + 1) into UTF-8 term bytes
+ * postings      int offsets (term count + 1) into ascending professor ordinals
+ * trigrams      sorted long keys (three UTF-16 chars), int offsets (trigram count + 1) into ascending term ids
+ * </pre>
+ * All integers are big-endian. Files are written to a temporary sibling and renamed into place, so
+ * readers only ever see complete files; a mapped file stays valid after it is replaced or deleted.
+ * Mapped pages live in the OS page cache, outside the Java heap, and are shared by every process
+ * mapping the same file.
+ */
+public final class ProfessorIndexFile {
+
+    private static final long MAGIC = 0x5343484F4C495458L; // "SCHOLITX"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private ProfessorIndexFile() {
+    }
+
+    /**
+     * Writes a heap term index to {@code target}, replacing an existing file atomically.
+     *
+     * @param index a term index built on the heap
+     * @param fingerprint content fingerprint of the catalog the index was built for
+     * @param target the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(ProfessorTermIndex index, long fingerprint, Path target) throws IOException {
+        if (!(index.getStore() instanceof ProfessorTermIndex.HeapStore store)) {
+            throw new IllegalArgumentException("Only heap term indexes can be written");
+        }
+        List<Map.Entry<String, int[]>> grams = new ArrayList<>(store.gramIndex.entrySet());
+        grams.sort(Map.Entry.comparingByKey());
+        byte[][] termBytes = new byte[store.terms.length][];
+        for (int termId = 0; termId < termBytes.length; termId++) {
+            termBytes[termId] = store.terms[termId].getBytes(StandardCharsets.UTF_8);
+        }
+
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeLong(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(index.getProfessorCount());
+                out.writeInt(store.terms.length);
+                out.writeInt(grams.size());
+                out.writeLong(fingerprint);
+
+                for (int count : store.professorTermCounts) {
+                    out.writeInt(count);
+                }
+
+                int offset = 0;
+                out.writeInt(offset);
+                for (byte[] bytes : termBytes) {
+                    offset += bytes.length;
+                    out.writeInt(offset);
+                }
+                for (byte[] bytes : termBytes) {
+                    out.write(bytes);
+                }
+                // Keep the int sections that follow 4-byte aligned
+                for (int pad = (4 - offset % 4) % 4; pad > 0; pad--) {
+                    out.writeByte(0);
+                }
+
+                writeLists(out, Arrays.asList(store.postings));
+
+                for (Map.Entry<String, int[]> gram : grams) {
+                    out.writeLong(gramKey(gram.getKey()));
+                }
+                writeLists(out, grams.stream().map(Map.Entry::getValue).toList());
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps a term index file read-only.
+     *
+     * @param file the file
+     * @param fingerprint content fingerprint of the catalog the index must belong to
+     * @param professorCount number of professors of that catalog
+     * @return the mapped index, or null if the file belongs to other catalog content
+     * @throws IOException if the file cannot be read or is not a term index file
+     */
+    public static ProfessorTermIndex map(Path file, long fingerprint, int professorCount) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Term index file too large to map: " + channel.size() + " bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getLong(0) != MAGIC) {
+            throw new IOException("Not a term index file: " + file);
+        }
+        if (buffer.getInt(8) != FORMAT_VERSION) {
+            throw new IOException("Unsupported term index format " + buffer.getInt(8) + " in " + file);
+        }
+        if (buffer.getInt(12) != professorCount || buffer.getLong(24) != fingerprint) {
+            return null;
+        }
+        try {
+            return new ProfessorTermIndex(professorCount, new MappedStore(buffer, professorCount,
+                    buffer.getInt(16), buffer.getInt(20)));
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated term index file: " + file, e);
+        }
+    }
+
+    /**
+     * Packs a trigram into a sortable key: three UTF-16 chars of 16 bits each.
+     */
+    static long gramKey(String gram) {
+        return ((long) gram.charAt(0) << 32) | ((long) gram.charAt(1) << 16) | gram.charAt(2);
+    }
+
+    /**
+     * Writes int lists as (count + 1) offsets followed by the concatenated values.
+     */
+    private static void writeLists(DataOutputStream out, List<int[]> lists) throws IOException {
+        int offset = 0;
+        out.writeInt(offset);
+        for (int[] list : lists) {
+            offset += list.length;
+            out.writeInt(offset);
+        }
+        for (int[] list : lists) {
+            for (int value : list) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    /**
+     * Term index storage over a mapped file. Only absolute reads are used, so one buffer serves all threads.
+     */
+    private static final class MappedStore implements ProfessorTermIndex.Store {
+        private final ByteBuffer buffer;
+        private final int termCount;
+        private final IntBuffer norms;
+        private final IntBuffer termOffsets;
+        private final int termBytesStart;
+        private final IntBuffer postingOffsets;
+        private final IntBuffer postings;
+        private final LongBuffer gramKeys;
+        private final IntBuffer gramOffsets;
+        private final IntBuffer gramTerms;
+
+        private MappedStore(ByteBuffer buffer, int professorCount, int termCount, int gramCount) {
+            this.buffer = buffer;
+            this.termCount = termCount;
+            int position = HEADER_BYTES;
+            this.norms = ints(buffer, position, professorCount);
+            position += 4 * professorCount;
+            this.termOffsets = ints(buffer, position, termCount + 1);
+            position += 4 * (termCount + 1);
+            this.termBytesStart = position;
+            int termBytes = termOffsets.get(termCount);
+            position += termBytes + (4 - termBytes % 4) % 4;
+            this.postingOffsets = ints(buffer, position, termCount + 1);
+            position += 4 * (termCount + 1);
+            int postingCount = postingOffsets.get(termCount);
+            this.postings = ints(buffer, position, postingCount);
+            position += 4 * postingCount;
+            this.gramKeys = buffer.slice(position, 8 * gramCount).asLongBuffer();
+            position += 8 * gramCount;
+            this.gramOffsets = ints(buffer, position, gramCount + 1);
+            position += 4 * (gramCount + 1);
+            this.gramTerms = ints(buffer, position, gramOffsets.get(gramCount));
+        }
+
+        @Override
+        public int termCount() {
+            return termCount;
+        }
+
+        @Override
+        public String term(int termId) {
+            int start = termOffsets.get(termId);
+            byte[] bytes = new byte[termOffsets.get(termId + 1) - start];
+            buffer.get(termBytesStart + start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void addPosting(int termId, BitSet professors) {
+            for (int i = postingOffsets.get(termId), end = postingOffsets.get(termId + 1); i < end; i++) {
+                professors.set(postings.get(i));
+            }
+        }
+
+        @Override
+        public int[] gramTerms(String gram) {
+            long key = gramKey(gram);
+            int low = 0;
+            int high = gramKeys.limit() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midKey = gramKeys.get(mid);
+                if (midKey < key) {
+                    low = mid + 1;
+                } else if (midKey > key) {
+                    high = mid - 1;
+                } else {
+                    int start = gramOffsets.get(mid);
+                    int[] termIds = new int[gramOffsets.get(mid + 1) - start];
+                    gramTerms.get(start, termIds);
+                    return termIds;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int professorTermCount(int ordinal) {
+            return norms.get(ordinal);
+        }
+
+        private static IntBuffer ints(ByteBuffer buffer, int position, int count) {
+            return buffer.slice(position, 4 * count).asIntBuffer();
+        }
+    }
+}
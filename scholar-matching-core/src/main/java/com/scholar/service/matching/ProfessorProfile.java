@@ -0,0 +1,112 @@
+package com.scholar.service.matching;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, immutable view of an ACTIVE professor as seen by the matching engine.
+ * Holds only what scoring and {@link MatchFilter} attributes need: no entity state, no publications text.
+ * Attributes are stored normalized with {@link MatchFilter#normalize}.
+ */
+public final class ProfessorProfile {
+
+    private final UUID id;
+    private final UUID universityId;
+    private final String text;
+    private final String[] terms;
+    private final int keywordCount;
+    private final String department;
+    private final String country;
+    private final Integer rankGlobal;
+
+    public ProfessorProfile(UUID id, UUID universityId, String text, String[] terms, int keywordCount) {
+        this(id, universityId, text, terms, keywordCount, null, null, null);
+    }
+
+    public ProfessorProfile(UUID id, UUID universityId, String text, String[] terms, int keywordCount,
+                            String department, String country, Integer rankGlobal) {
+        this.id = id;
+        this.universityId = universityId;
+        this.text = text;
+        this.terms = terms;
+        this.keywordCount = keywordCount;
+        this.department = MatchFilter.normalize(department);
+        this.country = MatchFilter.normalize(country);
+        this.rankGlobal = rankGlobal;
+    }
+
+    /**
+     * Normalizes raw professor columns into a profile.
+     */
+    public static ProfessorProfile of(UUID id, UUID universityId, String researchArea, String department) {
+        return of(id, universityId, researchArea, department, null, null);
+    }
+
+    /**
+     * Normalizes raw professor columns into a profile carrying its university's filter attributes.
+     */
+    public static ProfessorProfile of(UUID id, UUID universityId, String researchArea, String department,
+                                      String country, Integer rankGlobal) {
+        String text = MatchText.professorText(researchArea, department);
+        List<String> terms = MatchText.tokens(text);
+        return new ProfessorProfile(id, universityId, text, terms.toArray(new String[0]),
+                MatchText.professorKeywordCount(researchArea), department, country, rankGlobal);
+    }
+
+    /**
+     * Wraps a persisted term profile ({@code professor.match_*} columns) without re-normalizing it.
+     * A missing profile yields a blank professor, which never matches.
+     */
+    public static ProfessorProfile fromStored(UUID id, UUID universityId, String matchText, String matchTerms,
+                                              Integer matchKeywordCount) {
+        return new ProfessorProfile(id, universityId, matchText != null ? matchText : "",
+                MatchText.splitProfessorTerms(matchTerms), matchKeywordCount != null ? matchKeywordCount : 0);
+    }
+
+    /**
+     * Wraps a persisted term profile along with the professor's filter attributes.
+     */
+    public static ProfessorProfile fromStored(UUID id, UUID universityId, String matchText, String matchTerms,
+                                              Integer matchKeywordCount, String department, String country,
+                                              Integer rankGlobal) {
+        return new ProfessorProfile(id, universityId, matchText != null ? matchText : "",
+                MatchText.splitProfessorTerms(matchTerms), matchKeywordCount != null ? matchKeywordCount : 0,
+                department, country, rankGlobal);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUniversityId() {
+        return universityId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String[] getTerms() {
+        return terms;
+    }
+
+    public int getKeywordCount() {
+        return keywordCount;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public Integer getRankGlobal() {
+        return rankGlobal;
+    }
+
+    public boolean isBlank() {
+        return text.isBlank();
+    }
+}
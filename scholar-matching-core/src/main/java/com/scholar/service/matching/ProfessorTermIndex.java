@@ -0,0 +1,286 @@
+package com.scholar.service.matching;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from normalized professor terms to posting lists of professor ordinals.
+ * <p>
+ * Terms are the whitespace-separated runs of {@link MatchText#professorText}. Because CV keywords
+ * are matched as substrings, a lookup expands every keyword segment to all terms that contain it
+ * (through a trigram index over the term dictionary) and intersects the segments' postings.
+ * The resulting candidate set is a superset of the professors whose text contains the keyword,
+ * so scoring only the candidates yields exactly the same matches as scanning the whole catalog.
+ * <p>
+ * The term dictionary, posting lists, trigram index and per-professor term counts live in a
+ * {@link Store}: heap arrays for an index built here, or a read-only mapped file written by
+ * {@link ProfessorIndexFile}. Lookups behave identically on both.
+ */
+public final class ProfessorTermIndex {
+
+    private static final int GRAM = 3;
+
+    private final int professorCount;
+    private final Store store;
+    private final BitSet nonBlank;
+
+    ProfessorTermIndex(int professorCount, Store store) {
+        this.professorCount = professorCount;
+        this.store = store;
+        this.nonBlank = new BitSet(professorCount);
+        for (int ordinal = 0; ordinal < professorCount; ordinal++) {
+            if (store.professorTermCount(ordinal) > 0) {
+                nonBlank.set(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Builds an index over professor texts; list positions become professor ordinals.
+     *
+     * @param professorTexts texts produced by {@link MatchText#professorText}
+     * @return the index
+     */
+    public static ProfessorTermIndex build(List<String> professorTexts) {
+        List<String[]> professorTerms = new ArrayList<>(professorTexts.size());
+        for (String text : professorTexts) {
+            professorTerms.add(text == null ? new String[0] : MatchText.tokens(text).toArray(new String[0]));
+        }
+        return buildFromTerms(professorTerms);
+    }
+
+    /**
+     * Builds an index over pre-tokenized professor terms; list positions become professor ordinals.
+     *
+     * @param professorTerms terms produced by {@link MatchText#tokens} for each professor
+     * @return the index
+     */
+    public static ProfessorTermIndex buildFromTerms(List<String[]> professorTerms) {
+        Map<String, Integer> termIds = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        List<IntList> postings = new ArrayList<>();
+        int[] professorTermCounts = new int[professorTerms.size()];
+
+        for (int ordinal = 0; ordinal < professorTerms.size(); ordinal++) {
+            String[] professorTermArray = professorTerms.get(ordinal);
+            professorTermCounts[ordinal] = professorTermArray.length;
+            for (String term : professorTermArray) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    termId = terms.size();
+                    termIds.put(term, termId);
+                    terms.add(term);
+                    postings.add(new IntList(4));
+                }
+                IntList posting = postings.get(termId);
+                // Ordinals arrive in increasing order, so a duplicate can only be the last entry
+                if (posting.isEmpty() || posting.last() != ordinal) {
+                    posting.add(ordinal);
+                }
+            }
+        }
+
+        Map<String, IntList> grams = new HashMap<>();
+        for (int termId = 0; termId < terms.size(); termId++) {
+            String term = terms.get(termId);
+            for (int i = 0; i + GRAM <= term.length(); i++) {
+                IntList termList = grams.computeIfAbsent(term.substring(i, i + GRAM), g -> new IntList(4));
+                if (termList.isEmpty() || termList.last() != termId) {
+                    termList.add(termId);
+                }
+            }
+        }
+
+        int[][] postingArrays = new int[postings.size()][];
+        for (int i = 0; i < postingArrays.length; i++) {
+            postingArrays[i] = postings.get(i).toArray();
+        }
+        Map<String, int[]> gramIndex = new HashMap<>(grams.size() * 2);
+        grams.forEach((gram, list) -> gramIndex.put(gram, list.toArray()));
+
+        return new ProfessorTermIndex(professorTerms.size(),
+                new HeapStore(terms.toArray(new String[0]), postingArrays, gramIndex, professorTermCounts));
+    }
+
+    /**
+     * Returns the ordinals of all professors that may contain at least one of the keywords.
+     *
+     * @param keywords normalized CV keywords
+     * @return candidate professor ordinals
+     */
+    public BitSet candidates(Collection<String> keywords) {
+        return keywordCandidates(new ArrayList<>(keywords)).union();
+    }
+
+    /**
+     * Returns the candidate ordinals of each keyword separately, along with their union.
+     *
+     * @param keywords normalized CV keywords
+     * @return candidates indexed like {@code keywords}
+     */
+    public KeywordCandidates keywordCandidates(List<String> keywords) {
+        BitSet[] perKeyword = new BitSet[keywords.size()];
+        BitSet union = new BitSet(professorCount);
+        Map<String, BitSet> segmentCache = new HashMap<>();
+        for (int i = 0; i < perKeyword.length; i++) {
+            String keyword = keywords.get(i);
+            if (keyword.isEmpty()) {
+                // The empty keyword is contained in every non-blank professor text
+                perKeyword[i] = nonBlank;
+                union.or(nonBlank);
+                continue;
+            }
+            BitSet keywordCandidates = null;
+            for (String segment : MatchText.tokens(keyword)) {
+                BitSet segmentCandidates = segmentCache.computeIfAbsent(segment, this::professorsWithTermContaining);
+                if (keywordCandidates == null) {
+                    keywordCandidates = (BitSet) segmentCandidates.clone();
+                } else {
+                    keywordCandidates.and(segmentCandidates);
+                }
+                if (keywordCandidates.isEmpty()) {
+                    break;
+                }
+            }
+            perKeyword[i] = keywordCandidates != null ? keywordCandidates : new BitSet();
+            union.or(perKeyword[i]);
+        }
+        return new KeywordCandidates(perKeyword, union);
+    }
+
+    public int getProfessorCount() {
+        return professorCount;
+    }
+
+    public int getTermCount() {
+        return store.termCount();
+    }
+
+    /**
+     * Whether the index is read from a mapped file rather than held on the heap.
+     */
+    public boolean isMapped() {
+        return !(store instanceof HeapStore);
+    }
+
+    Store getStore() {
+        return store;
+    }
+
+    private BitSet professorsWithTermContaining(String segment) {
+        BitSet professors = new BitSet(professorCount);
+        if (segment.length() < GRAM) {
+            for (int termId = 0; termId < store.termCount(); termId++) {
+                if (store.term(termId).contains(segment)) {
+                    store.addPosting(termId, professors);
+                }
+            }
+            return professors;
+        }
+
+        int[] termIds = null;
+        for (int i = 0; i + GRAM <= segment.length(); i++) {
+            int[] gramTerms = store.gramTerms(segment.substring(i, i + GRAM));
+            if (gramTerms == null) {
+                return professors;
+            }
+            termIds = termIds == null ? gramTerms : intersect(termIds, gramTerms);
+            if (termIds.length == 0) {
+                return professors;
+            }
+        }
+        for (int termId : termIds) {
+            if (store.term(termId).contains(segment)) {
+                store.addPosting(termId, professors);
+            }
+        }
+        return professors;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        IntList out = new IntList(Math.min(a.length, b.length));
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out.add(a[i]);
+                i++;
+                j++;
+            }
+        }
+        return out.toArray();
+    }
+
+    /**
+     * Storage of a term index. Implementations must be safe for concurrent readers.
+     */
+    interface Store {
+        int termCount();
+
+        String term(int termId);
+
+        /**
+         * Sets the ordinals of the professors having the term.
+         */
+        void addPosting(int termId, BitSet professors);
+
+        /**
+         * Returns the ascending ids of the terms containing a trigram, or null if none does.
+         */
+        int[] gramTerms(String gram);
+
+        /**
+         * Returns the number of terms of a professor, 0 for a blank professor.
+         */
+        int professorTermCount(int ordinal);
+    }
+
+    static final class HeapStore implements Store {
+        final String[] terms;
+        final int[][] postings;
+        final Map<String, int[]> gramIndex;
+        final int[] professorTermCounts;
+
+        HeapStore(String[] terms, int[][] postings, Map<String, int[]> gramIndex, int[] professorTermCounts) {
+            this.terms = terms;
+            this.postings = postings;
+            this.gramIndex = gramIndex;
+            this.professorTermCounts = professorTermCounts;
+        }
+
+        @Override
+        public int termCount() {
+            return terms.length;
+        }
+
+        @Override
+        public String term(int termId) {
+            return terms[termId];
+        }
+
+        @Override
+        public void addPosting(int termId, BitSet professors) {
+            for (int ordinal : postings[termId]) {
+                professors.set(ordinal);
+            }
+        }
+
+        @Override
+        public int[] gramTerms(String gram) {
+            return gramIndex.get(gram);
+        }
+
+        @Override
+        public int professorTermCount(int ordinal) {
+            return professorTermCounts[ordinal];
+        }
+    }
+}
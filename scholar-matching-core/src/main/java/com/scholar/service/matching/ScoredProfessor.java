@@ -0,0 +1,44 @@
+package com.scholar.service.matching;
+
+import java.util.UUID;
+
+/**
+ * A professor that matched at least one CV keyword, in the kernel's primitive representation.
+ */
+public final class ScoredProfessor {
+
+    private final int ordinal;
+    private final UUID professorId;
+    private final long matchedUnits;
+    private final int[] matchedKeywordIds;
+    private final int professorKeywordCount;
+
+    public ScoredProfessor(int ordinal, UUID professorId, long matchedUnits, int[] matchedKeywordIds,
+                           int professorKeywordCount) {
+        this.ordinal = ordinal;
+        this.professorId = professorId;
+        this.matchedUnits = matchedUnits;
+        this.matchedKeywordIds = matchedKeywordIds;
+        this.professorKeywordCount = professorKeywordCount;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public UUID getProfessorId() {
+        return professorId;
+    }
+
+    public long getMatchedUnits() {
+        return matchedUnits;
+    }
+
+    public int[] getMatchedKeywordIds() {
+        return matchedKeywordIds;
+    }
+
+    public int getProfessorKeywordCount() {
+        return professorKeywordCount;
+    }
+}
@@ -0,0 +1,78 @@
+package com.scholar.service.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the automaton against the {@code String.contains} semantics it replaces.
+ */
+public class KeywordAutomatonTest {
+
+    @Test
+    public void reportsSameKeywordsAsContains() {
+        Random random = new Random(7);
+        String alphabet = "abc ,";
+        for (int round = 0; round < 200; round++) {
+            Set<String> keywordSet = new HashSet<>();
+            int keywordCount = 1 + random.nextInt(20);
+            for (int k = 0; k < keywordCount; k++) {
+                keywordSet.add(randomString(random, alphabet, random.nextInt(5)).trim());
+            }
+            List<String> keywords = new ArrayList<>(keywordSet);
+            KeywordAutomaton automaton = KeywordAutomaton.compile(keywords);
+            boolean[] seen = new boolean[automaton.size()];
+            int[] matched = new int[automaton.size()];
+
+            for (int t = 0; t < 20; t++) {
+                String text = randomString(random, alphabet, random.nextInt(40));
+                int count = automaton.scan(text, seen, matched);
+
+                Set<String> actual = new HashSet<>();
+                for (int i = 0; i < count; i++) {
+                    actual.add(automaton.keyword(matched[i]));
+                }
+                Set<String> expected = new HashSet<>();
+                for (String keyword : keywords) {
+                    if (text.contains(keyword)) {
+                        expected.add(keyword);
+                    }
+                }
+                assertEquals(expected, actual, "text='" + text + "' keywords=" + keywords);
+                assertEquals(expected.size(), count, "Keywords must be reported once");
+                for (boolean flag : seen) {
+                    assertFalse(flag, "Scratch flags must be cleared after a scan");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void handlesNonAsciiAndOverlappingKeywords() {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("he", "she", "hers", "größe", "ß"));
+        boolean[] seen = new boolean[automaton.size()];
+        int[] matched = new int[automaton.size()];
+
+        assertEquals(3, automaton.scan("ushers", seen, matched));
+        assertEquals(2, automaton.scan("die größe", seen, matched));
+    }
+
+    @Test
+    public void rejectsDuplicateKeywords() {
+        assertThrows(IllegalArgumentException.class, () -> KeywordAutomaton.compile(List.of("ai", "ai")));
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,164 @@
+package com.scholar.service.matching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one CV match run on synthetic catalogs, without a database.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec} from this module; the GC profiler is enabled by
+ * default so every result comes with its allocation rate ({@code gc.alloc.rate.norm} is bytes
+ * per match run). Narrow a run with e.g. {@code -Djmh.args="KeywordScan.fullScan -p catalogSize=100000 -prof gc"}.
+ * <ul>
+ *   <li>{@code compile}: keyword normalization and kernel compilation for the CV</li>
+ *   <li>{@code candidateScan}: term index lookup, then scanning and scoring only the candidates</li>
+ *   <li>{@code fullScan}: scanning and scoring every professor text</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class KeywordScanBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "bio", "neuro", "quant", "graph", "data", "robo", "cyber", "nano", "geo", "astro",
+            "chem", "socio", "econo", "crypto", "photo", "thermo", "hydro", "info", "eco", "micro"
+    };
+    private static final String[] SUFFIXES = {
+            "logy", "metrics", "tronics", "systems", "mechanics", "informatics", "dynamics", "computing",
+            "physics", "modeling", "analytics", "learning", "engineering", "statistics", "optics", "security"
+    };
+    private static final String[] DEPARTMENTS = {
+            "Computer Science", "Electrical Engineering", "Mathematics", "Physics", "Biology",
+            "Chemistry", "Economics", "Mechanical Engineering", "Earth Sciences", "Statistics"
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"50", "200", "500"})
+    public int cvKeywords;
+
+    private ProfessorCatalog catalog;
+    private Map<String, BigDecimal> rawKeywords;
+    private KeywordScoringKernel kernel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> vocabulary = vocabulary();
+
+        List<ProfessorProfile> profiles = new ArrayList<>(catalogSize);
+        int universities = Math.max(1, catalogSize / 500);
+        for (int i = 0; i < catalogSize; i++) {
+            StringBuilder research = new StringBuilder();
+            int terms = 2 + random.nextInt(5);
+            for (int t = 0; t < terms; t++) {
+                if (t > 0) {
+                    research.append(", ");
+                }
+                research.append(vocabulary.get(random.nextInt(vocabulary.size())));
+            }
+            profiles.add(ProfessorProfile.of(new UUID(1, i), new UUID(0, random.nextInt(universities)),
+                    research.toString(), DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]));
+        }
+        catalog = ProfessorCatalog.build(1, profiles);
+
+        // Mostly single terms, some two-word phrases and a few keywords no professor has
+        rawKeywords = new LinkedHashMap<>();
+        while (rawKeywords.size() < cvKeywords) {
+            String keyword = vocabulary.get(random.nextInt(vocabulary.size()));
+            int kind = random.nextInt(10);
+            if (kind == 0) {
+                keyword = keyword + " " + vocabulary.get(random.nextInt(vocabulary.size()));
+            } else if (kind == 1) {
+                keyword = "unmatched " + keyword;
+            }
+            rawKeywords.put(random.nextBoolean() ? " " + keyword.toUpperCase() : keyword,
+                    BigDecimal.valueOf(1 + random.nextInt(10_000), 4));
+        }
+        kernel = compile(rawKeywords);
+    }
+
+    @Benchmark
+    public KeywordScoringKernel compile() {
+        return compile(rawKeywords);
+    }
+
+    @Benchmark
+    public void candidateScan(Blackhole blackhole) {
+        BitSet candidates = catalog.getTermIndex().candidates(kernelKeywords());
+        KeywordScoringKernel.Scratch scratch = kernel.scratch();
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            score(catalog.get(ordinal), scratch, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void fullScan(Blackhole blackhole) {
+        KeywordScoringKernel.Scratch scratch = kernel.scratch();
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            score(catalog.get(ordinal), scratch, blackhole);
+        }
+    }
+
+    private void score(ProfessorProfile profile, KeywordScoringKernel.Scratch scratch, Blackhole blackhole) {
+        long units = kernel.score(profile.getText(), scratch);
+        if (scratch.getMatchedCount() > 0) {
+            // What a persisted match costs: the normalized score and the matched keyword ids
+            blackhole.consume(kernel.toScore(units));
+            blackhole.consume(kernel.matchedIds(scratch));
+        }
+    }
+
+    private List<String> kernelKeywords() {
+        List<String> keywords = new ArrayList<>(kernel.size());
+        for (int id = 0; id < kernel.size(); id++) {
+            keywords.add(kernel.keyword(id));
+        }
+        return keywords;
+    }
+
+    private static KeywordScoringKernel compile(Map<String, BigDecimal> rawKeywords) {
+        Map<String, BigDecimal> normalized = new LinkedHashMap<>();
+        rawKeywords.forEach((keyword, weight) ->
+                normalized.merge(MatchText.normalizeKeyword(keyword), weight, BigDecimal::max));
+        return KeywordScoringKernel.compile(normalized);
+    }
+
+    private static List<String> vocabulary() {
+        List<String> vocabulary = new ArrayList<>(SYLLABLES.length * SYLLABLES.length * SUFFIXES.length);
+        for (String first : SYLLABLES) {
+            for (String second : SYLLABLES) {
+                for (String suffix : SUFFIXES) {
+                    vocabulary.add(first + second + suffix);
+                }
+            }
+        }
+        return vocabulary;
+    }
+}
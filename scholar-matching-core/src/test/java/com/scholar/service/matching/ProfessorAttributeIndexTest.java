@@ -0,0 +1,69 @@
+package com.scholar.service.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares attribute filter selection against a plain per-professor check.
+ */
+public class ProfessorAttributeIndexTest {
+
+    private static final String[] COUNTRIES = {"Germany", "Nepal", "United States", "Japan"};
+    private static final String[] DEPARTMENTS = {"Computer Science", "Physics", "History", " computer science "};
+
+    @Test
+    public void selectionMatchesPerProfessorCheck() {
+        Random random = new Random(11);
+        List<ProfessorProfile> profiles = new ArrayList<>();
+        for (int u = 0; u < 60; u++) {
+            UUID university = new UUID(0, u);
+            String country = COUNTRIES[random.nextInt(COUNTRIES.length)];
+            Integer rank = random.nextInt(5) == 0 ? null : 1 + random.nextInt(500);
+            for (int p = random.nextInt(30); p > 0; p--) {
+                String department = random.nextInt(6) == 0 ? null : DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+                profiles.add(ProfessorProfile.of(new UUID(1, profiles.size()), university, "robotics", department,
+                        country, rank));
+            }
+        }
+        ProfessorCatalog catalog = ProfessorCatalog.build(1, profiles);
+
+        List<MatchFilter> filters = List.of(
+                MatchFilter.of(Set.of("nepal"), null, null, null),
+                MatchFilter.of(null, 10, 200, null),
+                MatchFilter.of(null, null, 100, Set.of("COMPUTER SCIENCE")),
+                MatchFilter.of(Set.of("Germany", "Japan "), 50, null, Set.of("physics", "history")),
+                MatchFilter.of(Set.of("Atlantis"), null, null, null));
+        for (MatchFilter filter : filters) {
+            BitSet expected = new BitSet();
+            for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+                if (admits(filter, catalog.get(ordinal))) {
+                    expected.set(ordinal);
+                }
+            }
+            assertEquals(expected, catalog.select(filter), filter.toString());
+        }
+        assertNull(catalog.select(MatchFilter.of(List.of(" "), null, null, null)));
+    }
+
+    private static boolean admits(MatchFilter filter, ProfessorProfile profile) {
+        if (!filter.getCountries().isEmpty() && !filter.getCountries().contains(profile.getCountry())) {
+            return false;
+        }
+        if (filter.hasRankRange()) {
+            Integer rank = profile.getRankGlobal();
+            if (rank == null || (filter.getMinRank() != null && rank < filter.getMinRank())
+                    || (filter.getMaxRank() != null && rank > filter.getMaxRank())) {
+                return false;
+            }
+        }
+        return filter.getDepartments().isEmpty() || filter.getDepartments().contains(profile.getDepartment());
+    }
+}
@@ -0,0 +1,118 @@
+package com.scholar.service.matching;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the term index never drops a professor the substring scorer would match, on the heap or mapped.
+ */
+public class ProfessorTermIndexTest {
+
+    private static final String[] VOCABULARY = {
+            "machine", "learning", "deep", "neural", "networks", "computer", "vision", "robotics",
+            "nlp", "ai", "data", "mining", "quantum", "computing", "bio-informatics", "graph", "theory"
+    };
+
+    @Test
+    public void candidatesCoverEverySubstringMatch() {
+        Random random = new Random(42);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder research = new StringBuilder();
+            int words = random.nextInt(6);
+            for (int w = 0; w < words; w++) {
+                research.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(random.nextBoolean() ? ", " : " ");
+            }
+            String department = random.nextInt(4) == 0 ? null : VOCABULARY[random.nextInt(VOCABULARY.length)];
+            texts.add(MatchText.professorText(research.toString(), department));
+        }
+        ProfessorTermIndex index = ProfessorTermIndex.build(texts);
+
+        List<String> keywords = List.of("machine learning", "learn", "ai", "vision", "graph theory",
+                "informatics", "zzz", "data mining", "g", "");
+        for (String keyword : keywords) {
+            BitSet candidates = index.candidates(List.of(keyword));
+            for (int ordinal = 0; ordinal < texts.size(); ordinal++) {
+                String text = texts.get(ordinal);
+                if (!text.isBlank() && text.contains(keyword)) {
+                    assertTrue(candidates.get(ordinal), "Missing candidate " + ordinal + " for '" + keyword + "'");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void mappedIndexFileAnswersLikeHeapIndex(@TempDir Path dir) throws IOException {
+        Random random = new Random(7);
+        List<ProfessorProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder research = new StringBuilder();
+            for (int w = random.nextInt(5); w > 0; w--) {
+                research.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(", ");
+            }
+            profiles.add(ProfessorProfile.of(new UUID(1, i), new UUID(0, i % 7), research.toString(),
+                    random.nextBoolean() ? "Informatik für Ärzte" : null));
+        }
+        ProfessorCatalog catalog = ProfessorCatalog.build(1, profiles);
+        Path file = dir.resolve("terms.idx");
+        ProfessorIndexFile.write(catalog.getTermIndex(), catalog.getFingerprint(), file);
+
+        ProfessorCatalog mapped = ProfessorCatalog.build(2, profiles, fingerprint -> {
+            try {
+                return ProfessorIndexFile.map(file, fingerprint, profiles.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertTrue(mapped.getTermIndex().isMapped());
+        assertEquals(catalog.getTermIndex().getTermCount(), mapped.getTermIndex().getTermCount());
+        for (String keyword : List.of("machine learning", "learn", "ai", "vision", "für ärzte", "zzz", "g", "")) {
+            assertEquals(catalog.getTermIndex().candidates(List.of(keyword)),
+                    mapped.getTermIndex().candidates(List.of(keyword)), keyword);
+        }
+
+        assertNull(ProfessorIndexFile.map(file, catalog.getFingerprint() + 1, profiles.size()));
+        profiles.remove(0);
+        assertFalse(ProfessorCatalog.build(3, profiles, fingerprint -> null).getTermIndex().isMapped());
+    }
+
+    @Test
+    public void unrelatedKeywordsProduceNoCandidates() {
+        ProfessorTermIndex index = ProfessorTermIndex.build(List.of(
+                MatchText.professorText("Machine Learning; Robotics", "Computer Science"),
+                MatchText.professorText(null, null)));
+
+        assertTrue(index.candidates(List.of("organic chemistry")).isEmpty());
+        assertEquals(1, index.candidates(List.of("machine learning")).cardinality());
+        assertFalse(index.candidates(List.of("")).get(1), "Blank professor text must never be a candidate");
+    }
+
+    @Test
+    public void storedTermProfileMatchesFreshNormalization() {
+        String research = "Machine Learning, machine   learning; Vision";
+        String department = "Computer Science";
+        ProfessorProfile fresh = ProfessorProfile.of(new UUID(0, 1), new UUID(0, 2), research, department);
+
+        String text = MatchText.professorText(research, department);
+        ProfessorProfile stored = ProfessorProfile.fromStored(new UUID(0, 1), new UUID(0, 2), text,
+                MatchText.professorTerms(text), MatchText.professorKeywordCount(research));
+
+        assertEquals(fresh.getText(), stored.getText());
+        assertEquals(fresh.getKeywordCount(), stored.getKeywordCount());
+        assertEquals(new LinkedHashSet<>(List.of(fresh.getTerms())), new LinkedHashSet<>(List.of(stored.getTerms())));
+        assertEquals(stored.getTerms().length, new LinkedHashSet<>(List.of(stored.getTerms())).size());
+        assertTrue(ProfessorProfile.fromStored(new UUID(0, 3), new UUID(0, 2), null, null, null).isBlank());
+    }
+}
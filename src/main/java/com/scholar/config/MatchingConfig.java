@@ -0,0 +1,72 @@
+package com.scholar.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pool configuration for the matching engine.
+ * Scoring runs on its own fork/join pool so it never competes with the async task executor queue.
+ */
+@Configuration
+public class MatchingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool matchingForkJoinPool(@Value("${scholar.matching.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("scholar-match-" + counter.incrementAndGet());
+            return thread;
+        };
+        return new ForkJoinPool(threads, factory, null, false);
+    }
+
+    /**
+     * Executor for tenant rematch jobs, kept apart from the request-driven async executor.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor rematchJobExecutor(@Value("${scholar.matching.rematch.concurrency:1}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("scholar-rematch-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Single thread draining the queue of changed professors to re-match, apart from the shared async executor.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor professorRematchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("scholar-professor-rematch-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Single background thread writing professor term index files, so writes never overlap.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor indexFileExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.setThreadNamePrefix("scholar-index-file-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
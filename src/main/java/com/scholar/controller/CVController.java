@@ -7,7 +7,9 @@ import com.scholar.domain.entity.UserProfile;
 import com.scholar.domain.repository.UserProfileRepository;
 import com.scholar.dto.response.ApiResponse;
 import com.scholar.dto.response.CVResponse;
+import com.scholar.dto.response.SimilarCvResponse;
 import com.scholar.service.cv.CVService;
+import com.scholar.service.matching.MatchFilter;
 import com.scholar.service.matching.MatchingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -90,6 +93,8 @@ public class CVController {
                 .parsedAt(cv.getParsedAt())
                 .uploadedAt(cv.getUploadedAt())
                 .keywordCount(keywordCount)
+                .duplicateOfCvId(cv.getDuplicateOfCvId())
+                .duplicateSimilarity(cv.getDuplicateSimilarity())
                 .build();
 
             return ResponseEntity.ok(ApiResponse.success(response));
@@ -135,14 +140,12 @@ public class CVController {
     ) {
         try {
             securityUtils.validateTenantOwnership(tenantId);
-            CV cv = cvService.getCV(cvId, tenantId);
-            
-            if (cv.getParsingStatus() == CV.ParsingStatus.IN_PROGRESS) {
-                return ResponseEntity.badRequest().body(ApiResponse.error("Parsing is already in progress"));
-            }
-            
+            cvService.getCV(cvId, tenantId);
+
+            // A parse already running for this CV is joined rather than started twice
+            boolean running = cvService.isParsing(cvId);
             cvService.parseAndExtractKeywords(cvId);
-            return ResponseEntity.ok(ApiResponse.success("CV parsing started"));
+            return ResponseEntity.ok(ApiResponse.success(running ? "CV parsing already in progress" : "CV parsing started"));
         } catch (Exception e) {
             log.error("Failed to start CV parsing", e);
             return ResponseEntity.badRequest()
@@ -151,10 +154,14 @@ public class CVController {
     }
 
     @PostMapping("/{cvId}/compute-matches")
-    @Operation(summary = "Compute matches", description = "Compute professor matches for a CV based on keywords")
+    @Operation(summary = "Compute matches", description = "Compute professor matches for a CV based on keywords, optionally only against professors with the given attributes")
     public ResponseEntity<ApiResponse<String>> computeMatches(
         @PathVariable UUID cvId,
-        @RequestParam UUID tenantId
+        @RequestParam UUID tenantId,
+        @RequestParam(required = false) List<String> country,
+        @RequestParam(required = false) Integer minRank,
+        @RequestParam(required = false) Integer maxRank,
+        @RequestParam(required = false) List<String> department
     ) {
         try {
             securityUtils.validateTenantOwnership(tenantId);
@@ -165,7 +172,7 @@ public class CVController {
                     .body(ApiResponse.error("CV must be in COMPLETED parsing status before computing matches. Current status: " + cv.getParsingStatus()));
             }
             
-            matchingService.computeMatches(cvId, tenantId);
+            matchingService.computeMatches(cvId, tenantId, MatchFilter.of(country, minRank, maxRank, department));
             return ResponseEntity.ok(ApiResponse.success("Match computation started"));
         } catch (Exception e) {
             log.error("Failed to compute matches", e);
@@ -174,6 +181,54 @@ public class CVController {
         }
     }
 
+    @GetMapping("/{cvId}/similar")
+    @Operation(summary = "Find similar CVs", description = "List CVs of the tenant with a similar keyword set (MinHash estimate)")
+    public ResponseEntity<ApiResponse<List<SimilarCvResponse>>> getSimilarCVs(
+        @PathVariable UUID cvId,
+        @RequestParam UUID tenantId,
+        @RequestParam(defaultValue = "0.5") double minSimilarity,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        try {
+            securityUtils.validateTenantOwnership(tenantId);
+            List<SimilarCvResponse> similar = cvService.getSimilarCVs(cvId, tenantId, minSimilarity, limit);
+            return ResponseEntity.ok(ApiResponse.success(similar));
+        } catch (Exception e) {
+            log.error("Failed to find similar CVs", e);
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Failed to find similar CVs: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{cvId}/reuse-matches")
+    @Operation(summary = "Reuse matches", description = "Reuse the matches of a near-duplicate CV instead of computing them from scratch")
+    public ResponseEntity<ApiResponse<String>> reuseMatches(
+        @PathVariable UUID cvId,
+        @RequestParam UUID tenantId,
+        @RequestParam(required = false) UUID sourceCvId
+    ) {
+        try {
+            securityUtils.validateTenantOwnership(tenantId);
+            CV cv = cvService.getCV(cvId, tenantId);
+            UUID source = sourceCvId != null ? sourceCvId : cv.getDuplicateOfCvId();
+            if (source == null) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("No near-duplicate CV is known for this CV; pass sourceCvId"));
+            }
+            if (cv.getParsingStatus() != CV.ParsingStatus.COMPLETED) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("CV must be in COMPLETED parsing status before reusing matches. Current status: " + cv.getParsingStatus()));
+            }
+
+            int copied = matchingService.reuseMatches(cvId, source, tenantId);
+            return ResponseEntity.ok(ApiResponse.success("Reused " + copied + " matches from CV " + source));
+        } catch (Exception e) {
+            log.error("Failed to reuse matches", e);
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Failed to reuse matches: " + e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{cvId}")
     @Operation(summary = "Delete CV", description = "Delete a CV and all associated data")
     public ResponseEntity<ApiResponse<String>> deleteCV(
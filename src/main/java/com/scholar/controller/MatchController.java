@@ -6,6 +6,9 @@ import com.scholar.domain.entity.MatchResult;
 import com.scholar.dto.response.ApiResponse;
 import com.scholar.dto.response.MatchResultResponse;
 import com.scholar.dto.response.EmailOptionResponse;
+import com.scholar.dto.response.RematchJobResponse;
+import com.scholar.service.job.RematchJobService;
+import com.scholar.service.matching.MatchFilter;
 import com.scholar.service.matching.MatchingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,18 +35,24 @@ import java.util.stream.Collectors;
 @Tag(name = "Match Results", description = "APIs for retrieving CV-Professor matches")
 public class MatchController {
     private final MatchingService matchingService;
+    private final RematchJobService rematchJobService;
     private final SecurityUtils securityUtils;
 
     @GetMapping("/cv/{cvId}")
-    @Operation(summary = "Get match results", description = "Retrieve all match results for a CV, ordered by score")
+    @Operation(summary = "Get match results", description = "Retrieve all match results for a CV, ordered by score, optionally restricted by professor attributes")
     public ResponseEntity<ApiResponse<Page<MatchResultResponse>>> getMatches(
         @PathVariable UUID cvId,
         @RequestParam UUID tenantId,
+        @RequestParam(required = false) List<String> country,
+        @RequestParam(required = false) Integer minRank,
+        @RequestParam(required = false) Integer maxRank,
+        @RequestParam(required = false) List<String> department,
         @Parameter(hidden = true) Pageable pageable
     ) {
         try {
             securityUtils.validateTenantOwnership(tenantId);
-            Page<MatchResultResponse> response = matchingService.getMatchResultsResponse(cvId, tenantId, pageable);
+            MatchFilter filter = MatchFilter.of(country, minRank, maxRank, department);
+            Page<MatchResultResponse> response = matchingService.getMatchResultsResponse(cvId, tenantId, filter, pageable);
             return ResponseEntity.ok(ApiResponse.success(response));
         } catch (Exception e) {
             log.error("Failed to get matches", e);
@@ -58,11 +67,16 @@ public class MatchController {
         @PathVariable UUID cvId,
         @RequestParam UUID tenantId,
         @RequestParam BigDecimal minScore,
+        @RequestParam(required = false) List<String> country,
+        @RequestParam(required = false) Integer minRank,
+        @RequestParam(required = false) Integer maxRank,
+        @RequestParam(required = false) List<String> department,
         @Parameter(hidden = true) Pageable pageable
     ) {
         try {
             securityUtils.validateTenantOwnership(tenantId);
-            Page<MatchResultResponse> response = matchingService.getMatchResultsAboveThresholdResponse(cvId, tenantId, minScore, pageable);
+            MatchFilter filter = MatchFilter.of(country, minRank, maxRank, department);
+            Page<MatchResultResponse> response = matchingService.getMatchResultsAboveThresholdResponse(cvId, tenantId, minScore, filter, pageable);
             return ResponseEntity.ok(ApiResponse.success(response));
         } catch (Exception e) {
             log.error("Failed to get matches", e);
@@ -72,14 +86,18 @@ public class MatchController {
     }
 
     @PostMapping("/cv/{cvId}/recompute")
-    @Operation(summary = "Recompute matches", description = "Recompute all matches for a CV (clears existing results)")
+    @Operation(summary = "Recompute matches", description = "Recompute all matches for a CV (clears existing results), or, with professor attributes, only its matches with the professors they admit")
     public ResponseEntity<ApiResponse<String>> recomputeMatches(
         @PathVariable UUID cvId,
-        @RequestParam UUID tenantId
+        @RequestParam UUID tenantId,
+        @RequestParam(required = false) List<String> country,
+        @RequestParam(required = false) Integer minRank,
+        @RequestParam(required = false) Integer maxRank,
+        @RequestParam(required = false) List<String> department
     ) {
         try {
             securityUtils.validateTenantOwnership(tenantId);
-            matchingService.recomputeMatches(cvId, tenantId);
+            matchingService.recomputeMatches(cvId, tenantId, MatchFilter.of(country, minRank, maxRank, department));
             return ResponseEntity.ok(ApiResponse.success("Match recomputation started"));
         } catch (Exception e) {
             log.error("Failed to recompute matches", e);
@@ -87,4 +105,69 @@ public class MatchController {
                 .body(ApiResponse.error("Failed to recompute matches: " + e.getMessage()));
         }
     }
+
+    @PostMapping("/tenant/rematch")
+    @Operation(summary = "Rematch tenant", description = "Start a checkpointed job that recomputes matches for every CV of the tenant")
+    public ResponseEntity<ApiResponse<RematchJobResponse>> startTenantRematch(
+        @RequestParam UUID tenantId,
+        @RequestParam(required = false) Integer batchSize
+    ) {
+        try {
+            securityUtils.validateTenantOwnership(tenantId);
+            RematchJobResponse response = rematchJobService.startTenantRematch(tenantId, batchSize);
+            return ResponseEntity.ok(ApiResponse.success("Rematch job started", response));
+        } catch (Exception e) {
+            log.error("Failed to start rematch job", e);
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Failed to start rematch job: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/rematch-jobs")
+    @Operation(summary = "List rematch jobs", description = "Retrieve the tenant's rematch jobs, newest first")
+    public ResponseEntity<ApiResponse<Page<RematchJobResponse>>> getRematchJobs(
+        @RequestParam UUID tenantId,
+        @Parameter(hidden = true) Pageable pageable
+    ) {
+        try {
+            securityUtils.validateTenantOwnership(tenantId);
+            return ResponseEntity.ok(ApiResponse.success(rematchJobService.getJobs(tenantId, pageable)));
+        } catch (Exception e) {
+            log.error("Failed to get rematch jobs", e);
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Failed to retrieve rematch jobs: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/rematch-jobs/{jobId}")
+    @Operation(summary = "Get rematch job", description = "Retrieve progress and throughput of a rematch job")
+    public ResponseEntity<ApiResponse<RematchJobResponse>> getRematchJob(
+        @PathVariable UUID jobId,
+        @RequestParam UUID tenantId
+    ) {
+        try {
+            securityUtils.validateTenantOwnership(tenantId);
+            return ResponseEntity.ok(ApiResponse.success(rematchJobService.getJob(jobId, tenantId)));
+        } catch (Exception e) {
+            log.error("Failed to get rematch job", e);
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Failed to retrieve rematch job: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/rematch-jobs/{jobId}/cancel")
+    @Operation(summary = "Cancel rematch job", description = "Stop a rematch job after its current batch")
+    public ResponseEntity<ApiResponse<RematchJobResponse>> cancelRematchJob(
+        @PathVariable UUID jobId,
+        @RequestParam UUID tenantId
+    ) {
+        try {
+            securityUtils.validateTenantOwnership(tenantId);
+            return ResponseEntity.ok(ApiResponse.success(rematchJobService.cancelJob(jobId, tenantId)));
+        } catch (Exception e) {
+            log.error("Failed to cancel rematch job", e);
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Failed to cancel rematch job: " + e.getMessage()));
+        }
+    }
 }
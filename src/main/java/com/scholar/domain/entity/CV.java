@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -64,6 +65,16 @@ public class CV {
     @Column(name = "parsed_at")
     private LocalDateTime parsedAt;
 
+    // MinHash signature of the normalized keyword set, see CvSimilarityService
+    @Column(name = "minhash_signature")
+    private byte[] minhashSignature;
+
+    @Column(name = "duplicate_of_cv_id")
+    private UUID duplicateOfCvId;
+
+    @Column(name = "duplicate_similarity", precision = 8, scale = 6)
+    private BigDecimal duplicateSimilarity;
+
     @CreationTimestamp
     @Column(name = "uploaded_at", nullable = false, updatable = false)
     private LocalDateTime uploadedAt;
@@ -3,6 +3,8 @@ package com.scholar.domain.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,7 +20,7 @@ import java.util.UUID;
         @Index(name = "idx_match_result_tenant", columnList = "tenant_id"),
         @Index(name = "idx_match_result_cv", columnList = "cv_id"),
         @Index(name = "idx_match_result_professor", columnList = "professor_id"),
-        @Index(name = "idx_match_result_score", columnList = "match_score"),
+        @Index(name = "idx_match_result_cv_score", columnList = "cv_id, match_score_micros"),
         @Index(name = "idx_match_result_computed_at", columnList = "computed_at")
     },
     uniqueConstraints = {
@@ -48,9 +50,21 @@ public class MatchResult {
     @JoinColumn(name = "professor_id", nullable = false)
     private Professor professor;
 
-    @Column(name = "match_score", nullable = false, precision = 8, scale = 6)
+    @Convert(converter = MatchScoreConverter.class)
+    @Column(name = "match_score_micros", nullable = false)
     private BigDecimal matchScore;
 
+    /**
+     * Matched keywords as ids into the CV's ordered keyword list; null for rows that carry
+     * {@link #matchedKeywords} text instead. Rendered by {@code MatchedKeywordResolver}.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "matched_keyword_ids", columnDefinition = "integer[]")
+    private int[] matchedKeywordIds;
+
+    /**
+     * Matched keywords as text, only for rows stored before keyword ids or whose CV keywords have changed since.
+     */
     @Column(name = "matched_keywords", columnDefinition = "TEXT")
     private String matchedKeywords;
 
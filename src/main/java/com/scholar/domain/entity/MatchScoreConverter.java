@@ -0,0 +1,31 @@
+package com.scholar.domain.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Stores a [0, 1] match score with six decimals as an integer number of millionths.
+ * Applied to query parameters compared with the attribute as well, so score filters keep using BigDecimal.
+ */
+@Converter
+public class MatchScoreConverter implements AttributeConverter<BigDecimal, Integer> {
+
+    public static final int SCALE = 6;
+
+    @Override
+    public Integer convertToDatabaseColumn(BigDecimal score) {
+        return score != null ? toMicros(score) : null;
+    }
+
+    @Override
+    public BigDecimal convertToEntityAttribute(Integer micros) {
+        return micros != null ? BigDecimal.valueOf(micros, SCALE) : null;
+    }
+
+    public static int toMicros(BigDecimal score) {
+        return score.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+    }
+}
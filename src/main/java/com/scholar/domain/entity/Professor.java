@@ -7,6 +7,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -57,6 +58,16 @@ public class Professor {
     @Column(name = "publications", columnDefinition = "TEXT")
     private String publications; // Comma or newline separated list of recent paper titles
 
+    // Normalized term profile, maintained by ProfessorEntityListener on every write
+    @Column(name = "match_text", columnDefinition = "TEXT")
+    private String matchText;
+
+    @Column(name = "match_terms", columnDefinition = "TEXT")
+    private String matchTerms; // Distinct terms of matchText, space separated
+
+    @Column(name = "match_keyword_count")
+    private Integer matchKeywordCount;
+
     @Column(name = "profile_url", length = 1000)
     private String profileUrl;
 
@@ -77,6 +88,10 @@ public class Professor {
     @Builder.Default
     private Set<MatchResult> matchResults = new HashSet<>();
 
+    // Values of the matching inputs when loaded or last written, kept by ProfessorEntityListener
+    @Transient
+    private List<Object> matchInputsAtLoad;
+
     public enum ProfessorStatus {
         ACTIVE, INACTIVE, DELETED
     }
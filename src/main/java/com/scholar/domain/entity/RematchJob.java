@@ -0,0 +1,103 @@
+package com.scholar.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * RematchJob entity representing a tenant-wide match recomputation.
+ * Stores the keyset checkpoint of the last completed batch so an interrupted job can resume.
+ * Updates only write changed columns, so a checkpoint save never overwrites a concurrent cancel.
+ * A job is run by the instance that claimed it, which keeps the claim alive with a heartbeat.
+ */
+@Entity
+@Table(name = "rematch_job",
+    indexes = {
+        @Index(name = "idx_rematch_job_tenant", columnList = "tenant_id"),
+        @Index(name = "idx_rematch_job_status", columnList = "status")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@DynamicUpdate
+public class RematchJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDING;
+
+    @Column(name = "batch_size", nullable = false)
+    private Integer batchSize;
+
+    @Column(name = "total_cvs", nullable = false)
+    @Builder.Default
+    private Integer totalCvs = 0;
+
+    @Column(name = "processed_cvs", nullable = false)
+    @Builder.Default
+    private Integer processedCvs = 0;
+
+    @Column(name = "match_count", nullable = false)
+    @Builder.Default
+    private Long matchCount = 0L;
+
+    @Column(name = "last_cv_id")
+    private UUID lastCvId;
+
+    @Column(name = "catalog_version")
+    private Long catalogVersion;
+
+    @Column(name = "elapsed_ms", nullable = false)
+    @Builder.Default
+    private Long elapsedMs = 0L;
+
+    @Column(name = "failed_cvs", nullable = false)
+    @Builder.Default
+    private Integer failedCvs = 0;
+
+    /** Instance that claimed the job; its heartbeat is written by claim and heartbeat queries only. */
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public boolean isActive() {
+        return status == JobStatus.PENDING || status == JobStatus.RUNNING;
+    }
+
+    public enum JobStatus {
+        PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+}
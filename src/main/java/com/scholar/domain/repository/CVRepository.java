@@ -34,4 +34,28 @@ public interface CVRepository extends JpaRepository<CV, UUID> {
 
     @Query("SELECT COUNT(c) FROM CV c WHERE c.tenant.id = :tenantId")
     long countByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * Keyset page of a tenant's CV ids in id order, starting after {@code afterId}.
+     */
+    @Query(value = "SELECT c.id FROM cv c WHERE c.tenant_id = :tenantId AND c.id > :afterId ORDER BY c.id LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findIdsByTenantIdAfter(@Param("tenantId") UUID tenantId, @Param("afterId") UUID afterId,
+                                      @Param("limit") int limit);
+
+    /**
+     * Ids and MinHash signatures of a tenant's CVs that have one.
+     */
+    @Query("SELECT c.id AS id, c.minhashSignature AS signature FROM CV c " +
+           "WHERE c.tenant.id = :tenantId AND c.minhashSignature IS NOT NULL")
+    List<SignatureView> findSignaturesByTenantId(@Param("tenantId") UUID tenantId);
+
+    /**
+     * MinHash signature projection of a CV.
+     */
+    interface SignatureView {
+        UUID getId();
+
+        byte[] getSignature();
+    }
 }
@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,7 +28,34 @@ public interface CvKeywordRepository extends JpaRepository<CvKeyword, UUID> {
     @Query("DELETE FROM CvKeyword k WHERE k.cv.id = :cvId")
     void deleteByCvId(@Param("cvId") UUID cvId);
 
+    @Query("SELECT DISTINCT k.normalizedKeyword FROM CvKeyword k")
+    List<String> findDistinctNormalizedKeywords();
+
+    /**
+     * Loads every keyword of the parsed CVs that contain at least one of the given keywords.
+     * The inner lookup is served by {@code idx_cv_keyword_normalized}.
+     */
+    @Query("SELECT k.cv.id AS cvId, k.tenant.id AS tenantId, k.normalizedKeyword AS normalizedKeyword, k.weight AS weight " +
+           "FROM CvKeyword k WHERE k.cv.parsingStatus = 'COMPLETED' " +
+           "AND k.cv.id IN (SELECT c.cv.id FROM CvKeyword c WHERE c.normalizedKeyword IN :keywords)")
+    List<KeywordView> findKeywordViewsOfCvsContaining(@Param("keywords") Collection<String> keywords);
+
+    @Query("SELECT k.cv.id AS cvId, k.tenant.id AS tenantId, k.normalizedKeyword AS normalizedKeyword, k.weight AS weight " +
+           "FROM CvKeyword k WHERE k.cv.id IN :cvIds AND k.tenant.id = :tenantId AND k.cv.parsingStatus = 'COMPLETED'")
+    List<KeywordView> findKeywordViewsByCvIdsAndTenantId(@Param("cvIds") Collection<UUID> cvIds,
+                                                         @Param("tenantId") UUID tenantId);
+
     void flush();
 
     <S extends CvKeyword> List<S> saveAllAndFlush(Iterable<S> entities);
+
+    /**
+     * Read-only projection of a CV keyword used by the matching engine.
+     */
+    interface KeywordView {
+        UUID getCvId();
+        UUID getTenantId();
+        String getNormalizedKeyword();
+        BigDecimal getWeight();
+    }
 }
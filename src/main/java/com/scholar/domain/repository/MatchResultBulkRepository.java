@@ -0,0 +1,105 @@
+package com.scholar.domain.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based write path for match results, bypassing per-entity Hibernate inserts and updates.
+ */
+public interface MatchResultBulkRepository {
+
+    /**
+     * Upserts the complete result set of a CV and deletes rows of professors that no longer match,
+     * keeping rows already referenced by an email log.
+     *
+     * @param cvId the CV identifier
+     * @param rows the current matches of the CV
+     * @return number of stale rows deleted
+     */
+    int replaceMatches(UUID cvId, List<MatchRow> rows);
+
+    /**
+     * Upserts the result set of a CV over some professors and deletes rows of those professors that
+     * no longer match, keeping rows already referenced by an email log. Rows of other professors are
+     * left as they are.
+     *
+     * @param cvId the CV identifier
+     * @param rows the current matches of the CV among the scoped professors
+     * @param scopeProfessorIds professors the rows were computed for
+     * @return number of stale rows deleted
+     */
+    int replaceMatches(UUID cvId, List<MatchRow> rows, Collection<UUID> scopeProfessorIds);
+
+    /**
+     * Inserts or updates match rows, which may belong to different CVs, without touching other rows.
+     *
+     * @param rows rows to insert or update
+     */
+    void upsertMatches(List<MatchRow> rows);
+
+    /**
+     * Deletes the rows of a professor for every CV not listed, keeping rows referenced by an email log.
+     *
+     * @param professorId the professor identifier
+     * @param keepCvIds CVs whose row for this professor must be kept
+     * @return number of rows deleted
+     */
+    int deleteProfessorMatchesExcept(UUID professorId, Collection<UUID> keepCvIds);
+
+    /**
+     * Deletes the rows of a CV for the listed professors. Rows referenced by an email log are kept
+     * with their matched keywords written back as text, like {@link #freezeMatchedKeywords}.
+     *
+     * @param cvId the CV identifier
+     * @param professorIds professors whose row is removed
+     * @param keywords the ordered keyword list the rows' ids point into
+     * @return number of rows deleted
+     */
+    int deleteMatches(UUID cvId, Collection<UUID> professorIds, List<String> keywords);
+
+    /**
+     * Replaces the matches of a CV with copies of another CV's matches, keeping rows of the target
+     * already referenced by an email log. Matched keyword ids are translated from the source's keyword
+     * list to the target's. Scores are copied unchanged, so this is only exact for identical keyword
+     * sets; rows stored as text or matching a keyword the target does not have are not copied.
+     *
+     * @param sourceCvId the CV whose matches are copied
+     * @param sourceKeywords ordered keyword list of the source CV
+     * @param targetCvId the CV receiving the copies
+     * @param targetKeywords ordered keyword list of the target CV
+     * @return number of rows copied
+     */
+    int copyMatches(UUID sourceCvId, List<String> sourceKeywords, UUID targetCvId, List<String> targetKeywords);
+
+    /**
+     * Writes the matched keywords of a CV's rows back as text, before the keyword list their ids
+     * point into is replaced. Rows recomputed later get ids into the new list again.
+     *
+     * @param cvId the CV identifier
+     * @param keywords the CV's current ordered keyword list
+     * @return number of rows rewritten
+     */
+    int freezeMatchedKeywords(UUID cvId, List<String> keywords);
+
+    /**
+     * One match row in its persisted form.
+     */
+    @Getter
+    @AllArgsConstructor
+    class MatchRow {
+        private final UUID tenantId;
+        private final UUID cvId;
+        private final UUID professorId;
+        private final BigDecimal matchScore;
+        /** Ascending ids into the CV's ordered keyword list. */
+        private final int[] matchedKeywordIds;
+        private final int totalCvKeywords;
+        private final int totalProfessorKeywords;
+        private final int totalMatchedKeywords;
+    }
+}
@@ -0,0 +1,242 @@
+package com.scholar.domain.repository;
+
+import com.scholar.domain.entity.MatchScoreConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL implementation of {@link MatchResultBulkRepository}.
+ * <p>
+ * Rows are shipped as column arrays and expanded server side with {@code unnest}, so each chunk is
+ * a single {@code INSERT ... ON CONFLICT (cv_id, professor_id) DO UPDATE} round trip backed by the
+ * {@code uq_match_result_cv_professor} constraint. Runs on the surrounding JPA transaction's connection.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class MatchResultBulkRepositoryImpl implements MatchResultBulkRepository {
+
+    private static final int CHUNK_SIZE = 5000;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO match_result (tenant_id, cv_id, professor_id, match_score_micros, matched_keyword_ids, " +
+            "matched_keywords, total_cv_keywords, total_professor_keywords, total_matched_keywords) " +
+            "SELECT u.tenant_id, u.cv_id, u.professor_id, u.score, u.keyword_ids::int[], NULL, u.cv_keywords, " +
+            "u.professor_keywords, u.matched_keywords " +
+            "FROM unnest(?::uuid[], ?::uuid[], ?::uuid[], ?::int[], ?::text[], ?::int[], ?::int[], ?::int[]) " +
+            "AS u(tenant_id, cv_id, professor_id, score, keyword_ids, cv_keywords, professor_keywords, matched_keywords) " +
+            "ON CONFLICT (cv_id, professor_id) DO UPDATE SET " +
+            "match_score_micros = EXCLUDED.match_score_micros, " +
+            "matched_keyword_ids = EXCLUDED.matched_keyword_ids, " +
+            "matched_keywords = NULL, " +
+            "total_cv_keywords = EXCLUDED.total_cv_keywords, " +
+            "total_professor_keywords = EXCLUDED.total_professor_keywords, " +
+            "total_matched_keywords = EXCLUDED.total_matched_keywords";
+
+    private static final String DELETE_STALE_FOR_CV_SQL =
+            "DELETE FROM match_result m WHERE m.cv_id = ? AND NOT (m.professor_id = ANY (?::uuid[])) " +
+            "AND NOT EXISTS (SELECT 1 FROM email_log e WHERE e.match_result_id = m.id)";
+
+    private static final String DELETE_STALE_IN_SCOPE_FOR_CV_SQL =
+            "DELETE FROM match_result m WHERE m.cv_id = ? AND m.professor_id = ANY (?::uuid[]) " +
+            "AND NOT (m.professor_id = ANY (?::uuid[])) " +
+            "AND NOT EXISTS (SELECT 1 FROM email_log e WHERE e.match_result_id = m.id)";
+
+    private static final String DELETE_STALE_FOR_PROFESSOR_SQL =
+            "DELETE FROM match_result m WHERE m.professor_id = ? AND NOT (m.cv_id = ANY (?::uuid[])) " +
+            "AND NOT EXISTS (SELECT 1 FROM email_log e WHERE e.match_result_id = m.id)";
+
+    // Keyword ids are translated by keyword: source id -> source keyword -> position in the target list.
+    // Rows stored as text or matching a keyword the target lacks are not copied; their score would be wrong.
+    private static final String COPY_SQL =
+            "WITH lists AS (SELECT ?::text[] AS source, ?::text[] AS target) " +
+            "INSERT INTO match_result (tenant_id, cv_id, professor_id, match_score_micros, matched_keyword_ids, " +
+            "matched_keywords, total_cv_keywords, total_professor_keywords, total_matched_keywords) " +
+            "SELECT s.tenant_id, ?, s.professor_id, s.match_score_micros, t.ids, NULL, " +
+            "cardinality(l.target), s.total_professor_keywords, cardinality(t.ids) " +
+            "FROM match_result s CROSS JOIN lists l " +
+            "CROSS JOIN LATERAL (SELECT ARRAY(" +
+            "    SELECT p.id - 1 FROM unnest(s.matched_keyword_ids) AS u(id), " +
+            "    LATERAL (SELECT array_position(l.target, l.source[u.id + 1]) AS id) p " +
+            "    WHERE p.id IS NOT NULL ORDER BY p.id) AS ids) t " +
+            "WHERE s.cv_id = ? AND s.matched_keyword_ids IS NOT NULL " +
+            "AND cardinality(t.ids) = cardinality(s.matched_keyword_ids) " +
+            "ON CONFLICT (cv_id, professor_id) DO UPDATE SET " +
+            "match_score_micros = EXCLUDED.match_score_micros, " +
+            "matched_keyword_ids = EXCLUDED.matched_keyword_ids, " +
+            "matched_keywords = NULL, " +
+            "total_cv_keywords = EXCLUDED.total_cv_keywords, " +
+            "total_professor_keywords = EXCLUDED.total_professor_keywords, " +
+            "total_matched_keywords = EXCLUDED.total_matched_keywords";
+
+    private static final String DELETE_UNREFERENCED_FOR_CV_SQL =
+            "DELETE FROM match_result m WHERE m.cv_id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM email_log e WHERE e.match_result_id = m.id)";
+
+    private static final String DELETE_PROFESSORS_FOR_CV_SQL =
+            "DELETE FROM match_result m WHERE m.cv_id = ? AND m.professor_id = ANY (?::uuid[]) " +
+            "AND NOT EXISTS (SELECT 1 FROM email_log e WHERE e.match_result_id = m.id)";
+
+    private static final String FREEZE_KEYWORDS_SQL =
+            "UPDATE match_result m SET matched_keywords = array_to_string(ARRAY(" +
+            "    SELECT (?::text[])[u.id + 1] FROM unnest(m.matched_keyword_ids) WITH ORDINALITY AS u(id, n) " +
+            "    ORDER BY u.n), ', '), matched_keyword_ids = NULL " +
+            "WHERE m.cv_id = ? AND m.matched_keyword_ids IS NOT NULL";
+
+    private static final String FREEZE_PROFESSOR_KEYWORDS_SQL =
+            FREEZE_KEYWORDS_SQL + " AND m.professor_id = ANY (?::uuid[])";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int replaceMatches(UUID cvId, List<MatchRow> rows) {
+        upsertMatches(rows);
+        UUID[] keep = rows.stream().map(MatchRow::getProfessorId).toArray(UUID[]::new);
+        return deleteExcept(DELETE_STALE_FOR_CV_SQL, cvId, keep);
+    }
+
+    @Override
+    public int replaceMatches(UUID cvId, List<MatchRow> rows, Collection<UUID> scopeProfessorIds) {
+        upsertMatches(rows);
+        UUID[] scope = scopeProfessorIds.toArray(new UUID[0]);
+        UUID[] keep = rows.stream().map(MatchRow::getProfessorId).toArray(UUID[]::new);
+        Integer deleted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(DELETE_STALE_IN_SCOPE_FOR_CV_SQL)) {
+                ps.setObject(1, cvId);
+                ps.setArray(2, connection.createArrayOf("uuid", scope));
+                ps.setArray(3, connection.createArrayOf("uuid", keep));
+                return ps.executeUpdate();
+            }
+        });
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public int deleteProfessorMatchesExcept(UUID professorId, Collection<UUID> keepCvIds) {
+        return deleteExcept(DELETE_STALE_FOR_PROFESSOR_SQL, professorId, keepCvIds.toArray(new UUID[0]));
+    }
+
+    @Override
+    public int copyMatches(UUID sourceCvId, List<String> sourceKeywords, UUID targetCvId, List<String> targetKeywords) {
+        // Clear the target first, so rows the copy skips cannot survive from an earlier result
+        int removed = jdbcTemplate.update(DELETE_UNREFERENCED_FOR_CV_SQL, targetCvId);
+        Integer copied = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(COPY_SQL)) {
+                ps.setArray(1, connection.createArrayOf("text", sourceKeywords.toArray()));
+                ps.setArray(2, connection.createArrayOf("text", targetKeywords.toArray()));
+                ps.setObject(3, targetCvId);
+                ps.setObject(4, sourceCvId);
+                return ps.executeUpdate();
+            }
+        });
+        log.debug("Copied {} match rows from CV {} to CV {}, removed {} earlier rows", copied, sourceCvId, targetCvId, removed);
+        return copied != null ? copied : 0;
+    }
+
+    @Override
+    public int deleteMatches(UUID cvId, Collection<UUID> professorIds, List<String> keywords) {
+        if (professorIds.isEmpty()) {
+            return 0;
+        }
+        UUID[] ids = professorIds.toArray(new UUID[0]);
+        Integer deleted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(DELETE_PROFESSORS_FOR_CV_SQL)) {
+                ps.setObject(1, cvId);
+                ps.setArray(2, connection.createArrayOf("uuid", ids));
+                return ps.executeUpdate();
+            }
+        });
+        // Whatever is left is referenced by an email log
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(FREEZE_PROFESSOR_KEYWORDS_SQL)) {
+                ps.setArray(1, connection.createArrayOf("text", keywords.toArray()));
+                ps.setObject(2, cvId);
+                ps.setArray(3, connection.createArrayOf("uuid", ids));
+                return ps.executeUpdate();
+            }
+        });
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public int freezeMatchedKeywords(UUID cvId, List<String> keywords) {
+        Integer frozen = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(FREEZE_KEYWORDS_SQL)) {
+                ps.setArray(1, connection.createArrayOf("text", keywords.toArray()));
+                ps.setObject(2, cvId);
+                return ps.executeUpdate();
+            }
+        });
+        return frozen != null ? frozen : 0;
+    }
+
+    @Override
+    public void upsertMatches(List<MatchRow> rows) {
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            List<MatchRow> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+            jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                int n = chunk.size();
+                UUID[] tenantIds = new UUID[n];
+                UUID[] cvIds = new UUID[n];
+                UUID[] professorIds = new UUID[n];
+                Integer[] scores = new Integer[n];
+                String[] keywordIds = new String[n];
+                Integer[] cvKeywords = new Integer[n];
+                Integer[] professorKeywords = new Integer[n];
+                Integer[] matchedKeywords = new Integer[n];
+                for (int i = 0; i < n; i++) {
+                    MatchRow row = chunk.get(i);
+                    tenantIds[i] = row.getTenantId();
+                    cvIds[i] = row.getCvId();
+                    professorIds[i] = row.getProfessorId();
+                    scores[i] = MatchScoreConverter.toMicros(row.getMatchScore());
+                    keywordIds[i] = toArrayLiteral(row.getMatchedKeywordIds());
+                    cvKeywords[i] = row.getTotalCvKeywords();
+                    professorKeywords[i] = row.getTotalProfessorKeywords();
+                    matchedKeywords[i] = row.getTotalMatchedKeywords();
+                }
+                try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL)) {
+                    ps.setArray(1, connection.createArrayOf("uuid", tenantIds));
+                    ps.setArray(2, connection.createArrayOf("uuid", cvIds));
+                    ps.setArray(3, connection.createArrayOf("uuid", professorIds));
+                    ps.setArray(4, connection.createArrayOf("int4", scores));
+                    ps.setArray(5, connection.createArrayOf("text", keywordIds));
+                    ps.setArray(6, connection.createArrayOf("int4", cvKeywords));
+                    ps.setArray(7, connection.createArrayOf("int4", professorKeywords));
+                    ps.setArray(8, connection.createArrayOf("int4", matchedKeywords));
+                    return ps.executeUpdate();
+                }
+            });
+        }
+        log.debug("Upserted {} match rows", rows.size());
+    }
+
+    // unnest flattens multi-dimensional arrays, so each row's ids travel as one text element
+    private static String toArrayLiteral(int[] ids) {
+        StringBuilder sb = new StringBuilder(ids.length * 4 + 2).append('{');
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(ids[i]);
+        }
+        return sb.append('}').toString();
+    }
+
+    private int deleteExcept(String sql, UUID ownerId, UUID[] keep) {
+        Integer deleted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setObject(1, ownerId);
+                ps.setArray(2, connection.createArrayOf("uuid", keep));
+                return ps.executeUpdate();
+            }
+        });
+        return deleted != null ? deleted : 0;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,7 +19,7 @@ import java.util.UUID;
  * Tenant-safe repository for MatchResult entity operations.
  */
 @Repository
-public interface MatchResultRepository extends JpaRepository<MatchResult, UUID> {
+public interface MatchResultRepository extends JpaRepository<MatchResult, UUID>, MatchResultBulkRepository {
     
     @Query("SELECT m FROM MatchResult m " +
            "JOIN FETCH m.professor p " +
@@ -48,16 +49,59 @@ public interface MatchResultRepository extends JpaRepository<MatchResult, UUID>
                                                         @Param("tenantId") UUID tenantId, 
                                                         @Param("minScore") BigDecimal minScore);
     
+    /**
+     * Match results of a CV restricted by professor attributes. Each attribute is skipped when its
+     * {@code any*} flag is set; countries and departments are expected trimmed and lowercased.
+     */
+    @Query("SELECT m FROM MatchResult m " +
+           "JOIN FETCH m.professor p " +
+           "JOIN FETCH p.university u " +
+           "WHERE m.tenant.id = :tenantId AND m.cv.id = :cvId AND m.matchScore >= :minScore " +
+           "AND (:anyCountry = true OR LOWER(TRIM(u.country)) IN :countries) " +
+           "AND (:anyRank = true OR u.rankGlobal BETWEEN :minRank AND :maxRank) " +
+           "AND (:anyDepartment = true OR LOWER(TRIM(p.department)) IN :departments) " +
+           "ORDER BY m.matchScore DESC")
+    Page<MatchResult> findByCvIdAndTenantIdAndFilter(@Param("cvId") UUID cvId,
+                                                     @Param("tenantId") UUID tenantId,
+                                                     @Param("minScore") BigDecimal minScore,
+                                                     @Param("anyCountry") boolean anyCountry,
+                                                     @Param("countries") Collection<String> countries,
+                                                     @Param("anyRank") boolean anyRank,
+                                                     @Param("minRank") int minRank,
+                                                     @Param("maxRank") int maxRank,
+                                                     @Param("anyDepartment") boolean anyDepartment,
+                                                     @Param("departments") Collection<String> departments,
+                                                     Pageable pageable);
+
     @Query("SELECT m FROM MatchResult m WHERE m.cv.id = :cvId AND m.professor.id = :professorId")
     Optional<MatchResult> findByCvIdAndProfessorId(@Param("cvId") UUID cvId, @Param("professorId") UUID professorId);
     
     @Query("SELECT m FROM MatchResult m WHERE m.cv.id = :cvId")
     List<MatchResult> findByCvId(@Param("cvId") UUID cvId);
 
+    @Query("SELECT m.professor.id AS professorId, m.matchScore AS matchScore, " +
+           "m.matchedKeywordIds AS matchedKeywordIds, m.totalCvKeywords AS totalCvKeywords, " +
+           "m.totalProfessorKeywords AS totalProfessorKeywords FROM MatchResult m WHERE m.cv.id = :cvId")
+    List<StoredMatchView> findStoredMatchesByCvId(@Param("cvId") UUID cvId);
+
     @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("DELETE FROM MatchResult m WHERE m.cv.id = :cvId")
     void deleteByCvId(@Param("cvId") UUID cvId);
 
     @Query("SELECT COUNT(m) FROM MatchResult m WHERE m.tenant.id = :tenantId")
     long countByTenantId(@Param("tenantId") UUID tenantId);
+
+    @Query("SELECT CASE WHEN COUNT(m) > 0 THEN true ELSE false END FROM MatchResult m WHERE m.cv.id = :cvId")
+    boolean existsByCvId(@Param("cvId") UUID cvId);
+
+    /**
+     * Read-only projection of a stored row's score and keyword columns.
+     */
+    interface StoredMatchView {
+        UUID getProfessorId();
+        BigDecimal getMatchScore();
+        int[] getMatchedKeywordIds();
+        Integer getTotalCvKeywords();
+        Integer getTotalProfessorKeywords();
+    }
 }
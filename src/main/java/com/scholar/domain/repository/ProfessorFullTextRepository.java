@@ -0,0 +1,35 @@
+package com.scholar.domain.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search over the generated {@code professor.search_vector} column.
+ */
+public interface ProfessorFullTextRepository {
+
+    /**
+     * Finds the ACTIVE professors matching any of the keywords, best {@code ts_rank} first.
+     *
+     * @param keywords normalized keywords; each one is matched as a phrase
+     * @param limit maximum number of professors returned
+     * @return the top professors with the positions of the keywords they matched, ascending
+     */
+    List<FullTextHit> searchActive(List<String> keywords, int limit);
+
+    /**
+     * One professor returned by a full-text search.
+     */
+    @Getter
+    @AllArgsConstructor
+    class FullTextHit {
+        private final UUID professorId;
+        private final int professorKeywordCount;
+        private final double rank;
+        /** Zero-based positions in the searched keyword list. */
+        private final int[] matchedKeywordIds;
+    }
+}
@@ -0,0 +1,73 @@
+package com.scholar.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL implementation of {@link ProfessorFullTextRepository}.
+ * <p>
+ * The keywords are turned server side into one OR-query of phrase queries, which the
+ * {@code idx_professor_search_vector} GIN index answers without reading non-matching professors.
+ * The phrase queries are already stemmed, so they are combined with the {@code simple}
+ * configuration to avoid stemming their lexemes twice.
+ * {@code ts_rank} normalization 32 maps the rank into [0, 1). Matched keywords are only computed
+ * for the returned top rows.
+ */
+@RequiredArgsConstructor
+public class ProfessorFullTextRepositoryImpl implements ProfessorFullTextRepository {
+
+    private static final String SEARCH_SQL =
+            "WITH k AS (SELECT u.keyword, u.ord, phraseto_tsquery('english', u.keyword) AS query " +
+            "           FROM unnest(?::text[]) WITH ORDINALITY AS u(keyword, ord)), " +
+            "q AS (SELECT to_tsquery('simple', string_agg('(' || k.query::text || ')', ' | ')) AS query " +
+            "      FROM k WHERE numnode(k.query) > 0), " +
+            "top AS (SELECT p.id, COALESCE(p.match_keyword_count, 0) AS keyword_count, p.search_vector, " +
+            "               ts_rank(p.search_vector, q.query, 32) AS rank " +
+            "        FROM professor p, q WHERE p.status = 'ACTIVE' AND p.search_vector @@ q.query " +
+            "        ORDER BY rank DESC, p.id LIMIT ?) " +
+            "SELECT top.id, top.keyword_count, top.rank, m.matched FROM top " +
+            "CROSS JOIN LATERAL (SELECT array_agg((k.ord - 1)::int ORDER BY k.ord) AS matched " +
+            "                    FROM k WHERE numnode(k.query) > 0 AND top.search_vector @@ k.query) m " +
+            "ORDER BY top.rank DESC, top.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<FullTextHit> searchActive(List<String> keywords, int limit) {
+        return jdbcTemplate.execute((ConnectionCallback<List<FullTextHit>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(SEARCH_SQL)) {
+                ps.setArray(1, connection.createArrayOf("text", keywords.toArray()));
+                ps.setInt(2, limit);
+                List<FullTextHit> hits = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        hits.add(new FullTextHit(rs.getObject(1, UUID.class), rs.getInt(2), rs.getDouble(3),
+                                toIds(rs.getArray(4))));
+                    }
+                }
+                return hits;
+            }
+        });
+    }
+
+    private static int[] toIds(Array array) throws SQLException {
+        if (array == null) {
+            return new int[0];
+        }
+        Integer[] values = (Integer[]) array.getArray();
+        int[] ids = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ids[i] = values[i];
+        }
+        return ids;
+    }
+}
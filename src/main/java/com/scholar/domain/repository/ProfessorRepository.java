@@ -1,22 +1,31 @@
 package com.scholar.domain.repository;
 
 import com.scholar.domain.entity.Professor;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository for Professor entity operations.
  */
 @Repository
-public interface ProfessorRepository extends JpaRepository<Professor, UUID> {
+public interface ProfessorRepository extends JpaRepository<Professor, UUID>, ProfessorFullTextRepository {
     
     Optional<Professor> findByEmail(String email);
     
@@ -28,4 +37,95 @@ public interface ProfessorRepository extends JpaRepository<Professor, UUID> {
     
     @Query("SELECT p FROM Professor p WHERE p.department = :department AND p.status = 'ACTIVE'")
     List<Professor> findActiveByDepartment(@Param("department") String department);
+
+    @Query("SELECT p.id AS id, u.id AS universityId, p.matchText AS matchText, p.matchTerms AS matchTerms, " +
+           "p.matchKeywordCount AS matchKeywordCount, p.department AS department, u.country AS country, " +
+           "u.rankGlobal AS rankGlobal FROM Professor p JOIN p.university u WHERE p.status = 'ACTIVE'")
+    List<CatalogView> findActiveMatchViews();
+
+    /**
+     * Forward-only cursor over the match projection of active professors, fetched from the server
+     * in batches. Must be consumed and closed inside a transaction, or the driver reads the whole result.
+     */
+    @Query("SELECT p.id AS id, p.university.id AS universityId, p.matchText AS matchText, p.matchTerms AS matchTerms, " +
+           "p.matchKeywordCount AS matchKeywordCount FROM Professor p WHERE p.status = 'ACTIVE'")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<MatchView> streamActiveMatchViews();
+
+    @Query("SELECT p.id AS id, p.university.id AS universityId, p.matchText AS matchText, p.matchTerms AS matchTerms, " +
+           "p.matchKeywordCount AS matchKeywordCount FROM Professor p WHERE p.id = :id AND p.status = 'ACTIVE'")
+    Optional<MatchView> findActiveMatchViewById(@Param("id") UUID id);
+
+    /**
+     * Professors whose term profile is missing, e.g. after writes made outside the application.
+     * Served by the partial index {@code idx_professor_match_text_missing}.
+     */
+    @Query("SELECT p.id AS id, p.researchArea AS researchArea, p.department AS department " +
+           "FROM Professor p WHERE p.matchText IS NULL")
+    List<SourceView> findMissingTermProfiles(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Professor p SET p.matchText = :matchText, p.matchTerms = :matchTerms, " +
+           "p.matchKeywordCount = :matchKeywordCount WHERE p.id = :id")
+    int updateTermProfile(@Param("id") UUID id, @Param("matchText") String matchText,
+                          @Param("matchTerms") String matchTerms, @Param("matchKeywordCount") int matchKeywordCount);
+
+    @Query("SELECT p.id AS id, p.researchArea AS researchArea, p.publications AS publications " +
+           "FROM Professor p WHERE p.status = 'ACTIVE'")
+    List<CorpusView> findActiveCorpusViews();
+
+    @Query("SELECT p.id AS id, p.researchArea AS researchArea, p.publications AS publications " +
+           "FROM Professor p WHERE p.id IN :ids AND p.status = 'ACTIVE'")
+    List<CorpusView> findActiveCorpusViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT SUM(CASE WHEN p.status = 'ACTIVE' THEN 1 ELSE 0 END) AS activeCount, " +
+           "COUNT(p) AS totalCount, MAX(p.updatedAt) AS lastUpdatedAt FROM Professor p")
+    CatalogStamp findCatalogStamp();
+
+    /**
+     * Read-only projection of the professor columns used by the matching engine.
+     */
+    interface MatchView {
+        UUID getId();
+        UUID getUniversityId();
+        String getMatchText();
+        String getMatchTerms();
+        Integer getMatchKeywordCount();
+    }
+
+    /**
+     * Match projection extended with the attributes catalog snapshots index for match filters.
+     */
+    interface CatalogView extends MatchView {
+        String getDepartment();
+        String getCountry();
+        Integer getRankGlobal();
+    }
+
+    /**
+     * Read-only projection of the professor columns a term profile is derived from.
+     */
+    interface SourceView {
+        UUID getId();
+        String getResearchArea();
+        String getDepartment();
+    }
+
+    /**
+     * Read-only projection of the professor columns that make up a document for corpus statistics.
+     */
+    interface CorpusView {
+        UUID getId();
+        String getResearchArea();
+        String getPublications();
+    }
+
+    /**
+     * Cheap fingerprint of the professor table used to detect catalog changes made outside the application.
+     */
+    interface CatalogStamp {
+        Long getActiveCount();
+        Long getTotalCount();
+        LocalDateTime getLastUpdatedAt();
+    }
 }
@@ -0,0 +1,65 @@
+package com.scholar.domain.repository;
+
+import com.scholar.domain.entity.RematchJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Tenant-safe repository for RematchJob entity operations.
+ */
+@Repository
+public interface RematchJobRepository extends JpaRepository<RematchJob, UUID> {
+
+    @Query("SELECT j FROM RematchJob j WHERE j.tenant.id = :tenantId ORDER BY j.createdAt DESC")
+    Page<RematchJob> findAllByTenantId(@Param("tenantId") UUID tenantId, Pageable pageable);
+
+    @Query("SELECT j FROM RematchJob j WHERE j.tenant.id = :tenantId AND j.id = :id")
+    Optional<RematchJob> findByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT CASE WHEN COUNT(j) > 0 THEN true ELSE false END FROM RematchJob j WHERE j.tenant.id = :tenantId AND j.status IN ('PENDING', 'RUNNING')")
+    boolean existsActiveByTenantId(@Param("tenantId") UUID tenantId);
+
+    @Query("SELECT j.id FROM RematchJob j WHERE j.status IN ('PENDING', 'RUNNING') ORDER BY j.createdAt")
+    List<UUID> findActiveIds();
+
+    /**
+     * Claims an active job for an instance if it is unowned or its owner's heartbeat is older than the timeout.
+     * A live instance never re-claims its own jobs, which are already queued or running there.
+     *
+     * @return 1 if the job was claimed, 0 otherwise
+     */
+    @Modifying
+    @Query(value = "UPDATE rematch_job SET owner = :owner, heartbeat_at = now() WHERE id = :id "
+            + "AND status IN ('PENDING', 'RUNNING') AND (owner IS NULL OR (owner <> :owner "
+            + "AND (heartbeat_at IS NULL OR heartbeat_at < now() - :timeoutSeconds * interval '1 second')))",
+           nativeQuery = true)
+    int claim(@Param("id") UUID id, @Param("owner") String owner, @Param("timeoutSeconds") long timeoutSeconds);
+
+    /**
+     * Refreshes the heartbeat of a job still owned by the given instance.
+     *
+     * @return 1 if the instance still owns the job, 0 if another instance took it over
+     */
+    @Modifying
+    @Query(value = "UPDATE rematch_job SET heartbeat_at = now() WHERE id = :id AND owner = :owner", nativeQuery = true)
+    int heartbeat(@Param("id") UUID id, @Param("owner") String owner);
+
+    /**
+     * Records a CV the job could not match; a CV is recorded once per job.
+     *
+     * @return 1 if the failure was recorded, 0 if it already was
+     */
+    @Modifying
+    @Query(value = "INSERT INTO rematch_job_failure (job_id, cv_id, error_message) VALUES (:jobId, :cvId, :errorMessage) "
+            + "ON CONFLICT (job_id, cv_id) DO NOTHING", nativeQuery = true)
+    int insertFailure(@Param("jobId") UUID jobId, @Param("cvId") UUID cvId, @Param("errorMessage") String errorMessage);
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -21,4 +22,6 @@ public class CVResponse {
     private LocalDateTime parsedAt;
     private LocalDateTime uploadedAt;
     private Integer keywordCount;
+    private UUID duplicateOfCvId;
+    private BigDecimal duplicateSimilarity;
 }
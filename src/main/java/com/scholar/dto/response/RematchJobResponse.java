@@ -0,0 +1,31 @@
+package com.scholar.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RematchJobResponse {
+    private UUID id;
+    private UUID tenantId;
+    private String status;
+    private Integer batchSize;
+    private Integer totalCvs;
+    private Integer processedCvs;
+    private Integer failedCvs;
+    private Long matchCount;
+    private Double percentComplete;
+    private Double cvsPerSecond;
+    private Long catalogVersion;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime updatedAt;
+}
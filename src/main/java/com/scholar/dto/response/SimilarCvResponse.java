@@ -0,0 +1,22 @@
+package com.scholar.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarCvResponse {
+    private UUID id;
+    private String originalFilename;
+    private String parsingStatus;
+    private LocalDateTime uploadedAt;
+    private BigDecimal similarity;
+}
@@ -9,15 +9,21 @@ import com.scholar.domain.repository.CVRepository;
 import com.scholar.domain.repository.CvKeywordRepository;
 import com.scholar.domain.repository.EmailCampaignRepository;
 import com.scholar.domain.repository.MatchResultRepository;
+import com.scholar.dto.response.SimilarCvResponse;
+import com.scholar.service.job.CvJobCoordinator;
+import com.scholar.service.matching.CvKeywordsChangedEvent;
+import com.scholar.service.matching.IncrementalMatchService;
+import com.scholar.service.matching.MatchText;
+import com.scholar.service.matching.MatchedKeywordResolver;
 import com.scholar.service.matching.MatchingService;
 import com.scholar.service.storage.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
@@ -28,7 +34,10 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -47,6 +56,11 @@ public class CVService {
     private final DocumentTextExtractor textExtractor;
     private final OpenRouterService openRouterService;
     private final MatchingService matchingService;
+    private final IncrementalMatchService incrementalMatchService;
+    private final CvSimilarityService cvSimilarityService;
+    private final CvJobCoordinator cvJobCoordinator;
+    private final MatchedKeywordResolver matchedKeywordResolver;
+    private final ApplicationEventPublisher eventPublisher;
     private final CVService self;
 
     public CVService(CVRepository cvRepository, 
@@ -57,6 +71,11 @@ public class CVService {
                      DocumentTextExtractor textExtractor,
                      OpenRouterService openRouterService,
                      MatchingService matchingService,
+                     IncrementalMatchService incrementalMatchService,
+                     CvSimilarityService cvSimilarityService,
+                     CvJobCoordinator cvJobCoordinator,
+                     MatchedKeywordResolver matchedKeywordResolver,
+                     ApplicationEventPublisher eventPublisher,
                      @Lazy CVService self) {
         this.cvRepository = cvRepository;
         this.cvKeywordRepository = cvKeywordRepository;
@@ -66,6 +85,11 @@ public class CVService {
         this.textExtractor = textExtractor;
         this.openRouterService = openRouterService;
         this.matchingService = matchingService;
+        this.incrementalMatchService = incrementalMatchService;
+        this.cvSimilarityService = cvSimilarityService;
+        this.cvJobCoordinator = cvJobCoordinator;
+        this.matchedKeywordResolver = matchedKeywordResolver;
+        this.eventPublisher = eventPublisher;
         this.self = self;
     }
 
@@ -75,6 +99,9 @@ public class CVService {
     @Value("${scholar.cv.max-size-mb}")
     private long maxSizeMb;
 
+    @Value("${scholar.cv.duplicate.match-reuse:offer}")
+    private String matchReuse;
+
     /**
      * Uploads and stores a CV file.
      * 
@@ -127,13 +154,33 @@ public class CVService {
     }
 
     /**
-     * Asynchronously parses CV text and extracts keywords.
+     * Asynchronously parses CV text and extracts keywords. A request for a CV that is already
+     * being parsed joins the running parse instead of starting another extraction.
      * 
      * @param cvId the CV identifier
      */
-    @Async
-    @Transactional
     public void parseAndExtractKeywords(UUID cvId) {
+        cvJobCoordinator.submit(cvId, CvJobCoordinator.Operation.PARSE, () -> self.runParseAndExtractKeywords(cvId));
+    }
+
+    /**
+     * Returns whether a parse of the CV is currently running.
+     * 
+     * @param cvId the CV identifier
+     * @return true if a parse is running
+     */
+    public boolean isParsing(UUID cvId) {
+        return cvJobCoordinator.isRunning(cvId, CvJobCoordinator.Operation.PARSE);
+    }
+
+    /**
+     * Parses CV text and extracts keywords on the calling thread.
+     * Use {@link #parseAndExtractKeywords(UUID)} to run it coalesced in the background.
+     * 
+     * @param cvId the CV identifier
+     */
+    @Transactional
+    public void runParseAndExtractKeywords(UUID cvId) {
         log.info("Starting asynchronous parsing for CV ID: {}", cvId);
         try {
             CV cv = cvRepository.findById(cvId)
@@ -162,18 +209,12 @@ public class CVService {
             List<String> aiKeywords = new ArrayList<>(new java.util.LinkedHashSet<>(aiKeywordsRaw));
             log.debug("Deduplicated to {} unique technical keywords", aiKeywords.size());
 
-            // Clear existing keywords for this CV to avoid unique constraint violations
-            log.debug("Clearing existing keywords for CV ID: {}", cvId);
-            cvKeywordRepository.deleteByCvId(cvId);
-            // Flush to ensure deletions are executed before subsequent insertions
-            cvKeywordRepository.flush();
-
             // Assign weights based on position (rank-based weighting)
             log.debug("Applying weight assignment to {} keywords", aiKeywords.size());
             List<CvKeyword> keywords = new ArrayList<>();
             for (int i = 0; i < aiKeywords.size(); i++) {
                 String kw = aiKeywords.get(i);
-                String normalized = kw.toLowerCase().trim();
+                String normalized = MatchText.normalizeKeyword(kw);
                 
                 // Simple rank-based weight: first keywords (most significant) get higher weight
                 // From 1.0 (rank 1) down to 0.1 (rank N)
@@ -189,8 +230,36 @@ public class CVService {
                     .build());
             }
 
+            // Apply only the keyword diff to the existing matches where possible. Otherwise a full
+            // run follows; existing matches store keyword ids into the old keyword list, so keep
+            // their keywords as text until then
+            UUID tenantId = cv.getTenant().getId();
+            boolean matchesUpdated = incrementalMatchService.rematchKeywordChanges(cvId, tenantId,
+                keywordWeights(cvKeywordRepository.findByCvId(cvId)), keywordWeights(keywords));
+            if (!matchesUpdated) {
+                matchResultRepository.freezeMatchedKeywords(cvId, matchedKeywordResolver.keywordList(cvId));
+            }
+
+            // Clear existing keywords for this CV to avoid unique constraint violations
+            log.debug("Clearing existing keywords for CV ID: {}", cvId);
+            cvKeywordRepository.deleteByCvId(cvId);
+            // Flush to ensure deletions are executed before subsequent insertions
+            cvKeywordRepository.flush();
+
             log.debug("Saving {} technical keywords to database", keywords.size());
             cvKeywordRepository.saveAllAndFlush(keywords);
+            eventPublisher.publishEvent(new CvKeywordsChangedEvent(this, cvId, cv.getTenant().getId()));
+
+            // Fingerprint the keyword set and look for a near-duplicate CV of the same tenant
+            int[] signature = MinHash.signature(keywords.stream().map(CvKeyword::getNormalizedKeyword).toList());
+            cv.setMinhashSignature(signature != null ? MinHash.toBytes(signature) : null);
+            Optional<CvSimilarityService.SimilarCv> duplicate = signature == null || "off".equals(matchReuse)
+                ? Optional.empty()
+                : cvSimilarityService.findNearDuplicate(cvId, tenantId, signature);
+            cv.setDuplicateOfCvId(duplicate.map(CvSimilarityService.SimilarCv::getCvId).orElse(null));
+            cv.setDuplicateSimilarity(duplicate
+                .map(d -> BigDecimal.valueOf(d.getSimilarity()).setScale(6, RoundingMode.HALF_UP))
+                .orElse(null));
 
             // Update CV status
             cv.setParsingStatus(CV.ParsingStatus.COMPLETED);
@@ -199,18 +268,36 @@ public class CVService {
 
             log.info("CV parsing completed successfully: {}. Total keywords saved: {}", cvId, keywords.size());
 
-            // Automatically trigger match computation after successful parsing, ensuring transaction commit first
-            log.info("Triggering automatic match computation for CV: {}", cvId);
-            
+            Runnable matchStep;
+            if (duplicate.isPresent() && "offer".equals(matchReuse)) {
+                // Leave the choice between reusing and computing to the user
+                log.info("CV {} is a near-duplicate of CV {} ({}). Offering match reuse instead of computing.",
+                    cvId, duplicate.get().getCvId(), cv.getDuplicateSimilarity());
+                return;
+            } else if (duplicate.isPresent()) {
+                // Copied as is only for an identical keyword set, otherwise rescored for the differences
+                log.info("CV {} is a near-duplicate of CV {} ({}). Reusing its matches.",
+                    cvId, duplicate.get().getCvId(), cv.getDuplicateSimilarity());
+                matchStep = () -> cvJobCoordinator.submit(cvId, CvJobCoordinator.Operation.MATCH,
+                    () -> matchingService.reuseMatches(cvId, duplicate.get().getCvId(), tenantId));
+            } else if (matchesUpdated) {
+                log.info("Matches of CV {} were updated for its keyword changes", cvId);
+                return;
+            } else {
+                // Automatically trigger match computation after successful parsing, ensuring transaction commit first
+                log.info("Triggering automatic match computation for CV: {}", cvId);
+                matchStep = () -> matchingService.computeMatches(cvId, tenantId);
+            }
+
             if (TransactionSynchronizationManager.isActualTransactionActive()) {
                 TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                     @Override
                     public void afterCommit() {
-                        matchingService.computeMatches(cvId, cv.getTenant().getId());
+                        matchStep.run();
                     }
                 });
             } else {
-                matchingService.computeMatches(cvId, cv.getTenant().getId());
+                matchStep.run();
             }
         } catch (Exception e) {
             log.error("CV parsing failed for ID: {}. Error: {}", cvId, e.getMessage(), e);
@@ -266,6 +353,31 @@ public class CVService {
         return cvRepository.findByUserProfileIdAndTenantId(userProfileId, tenantId, pageable);
     }
 
+    /**
+     * Retrieves the CVs of a tenant whose keyword sets are similar to a CV's.
+     * 
+     * @param cvId the CV identifier
+     * @param tenantId the tenant identifier
+     * @param minSimilarity minimum estimated Jaccard similarity of the keyword sets
+     * @param limit maximum number of results
+     * @return similar CVs, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarCvResponse> getSimilarCVs(UUID cvId, UUID tenantId, double minSimilarity, int limit) {
+        getCV(cvId, tenantId);
+        List<SimilarCvResponse> similar = new ArrayList<>();
+        for (CvSimilarityService.SimilarCv match : cvSimilarityService.findSimilar(cvId, tenantId, minSimilarity, limit)) {
+            cvRepository.findByIdAndTenantId(match.getCvId(), tenantId).ifPresent(cv -> similar.add(SimilarCvResponse.builder()
+                .id(cv.getId())
+                .originalFilename(cv.getOriginalFilename())
+                .parsingStatus(cv.getParsingStatus().name())
+                .uploadedAt(cv.getUploadedAt())
+                .similarity(BigDecimal.valueOf(match.getSimilarity()).setScale(6, RoundingMode.HALF_UP))
+                .build()));
+        }
+        return similar;
+    }
+
     /**
      * Retrieves keywords for a CV.
      * 
@@ -328,6 +440,7 @@ public class CVService {
         cvKeywordRepository.deleteByCvId(cvId);
         
         cvRepository.delete(cv);
+        cvSimilarityService.remove(cvId, tenantId);
         log.info("CV ID: {} successfully deleted from database", cvId);
     }
 
@@ -348,4 +461,15 @@ public class CVService {
             throw new IllegalArgumentException("File size exceeds maximum allowed: " + maxSizeMb + "MB");
         }
     }
+
+    /**
+     * Collapses CV keywords into the normalized keyword to weight map the scorers see.
+     */
+    private static Map<String, BigDecimal> keywordWeights(List<CvKeyword> keywords) {
+        Map<String, BigDecimal> weights = new HashMap<>();
+        for (CvKeyword keyword : keywords) {
+            weights.merge(keyword.getNormalizedKeyword(), keyword.getWeight(), BigDecimal::max);
+        }
+        return weights;
+    }
 }
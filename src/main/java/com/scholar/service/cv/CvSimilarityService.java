@@ -0,0 +1,180 @@
+package com.scholar.service.cv;
+
+import com.scholar.domain.entity.CV;
+import com.scholar.domain.repository.CVRepository;
+import com.scholar.domain.repository.MatchResultRepository;
+import com.scholar.service.matching.CvKeywordsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds similar and near-duplicate CVs of a tenant from the MinHash signatures of their keyword sets.
+ * <p>
+ * Signatures are stored on the CV row when keywords are extracted. One {@link LshIndex} per tenant
+ * is loaded from those rows on first use and then kept current from {@link CvKeywordsChangedEvent}
+ * and CV deletions, so a lookup only compares the signatures of LSH candidates.
+ */
+@Service
+@Slf4j
+public class CvSimilarityService {
+
+    private final CVRepository cvRepository;
+    private final MatchResultRepository matchResultRepository;
+    private final double duplicateThreshold;
+
+    private final Map<UUID, LshIndex> tenantIndexes = new ConcurrentHashMap<>();
+
+    public CvSimilarityService(CVRepository cvRepository,
+                               MatchResultRepository matchResultRepository,
+                               @Value("${scholar.cv.duplicate.threshold:0.9}") double duplicateThreshold) {
+        this.cvRepository = cvRepository;
+        this.matchResultRepository = matchResultRepository;
+        this.duplicateThreshold = duplicateThreshold;
+    }
+
+    /**
+     * Returns the tenant's CVs whose keyword sets are estimated to be at least {@code minSimilarity}
+     * similar to the given CV's, most similar first.
+     *
+     * @param cvId the CV identifier
+     * @param tenantId the tenant identifier
+     * @param minSimilarity minimum estimated Jaccard similarity
+     * @param limit maximum number of results
+     * @return similar CVs, excluding the CV itself
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarCv> findSimilar(UUID cvId, UUID tenantId, double minSimilarity, int limit) {
+        LshIndex index = index(tenantId);
+        int[] signature;
+        synchronized (index) {
+            signature = index.signature(cvId);
+        }
+        if (signature == null) {
+            return List.of();
+        }
+        return findSimilar(index, cvId, signature, minSimilarity, limit);
+    }
+
+    /**
+     * Finds the most similar parsed CV of the tenant whose matches can be reused for a new signature.
+     *
+     * @param cvId the CV the signature belongs to, excluded from the result
+     * @param tenantId the tenant identifier
+     * @param signature MinHash signature of the CV's keyword set
+     * @return the near-duplicate with computed matches, if any reaches the duplicate threshold
+     */
+    @Transactional(readOnly = true)
+    public Optional<SimilarCv> findNearDuplicate(UUID cvId, UUID tenantId, int[] signature) {
+        for (SimilarCv similar : findSimilar(index(tenantId), cvId, signature, duplicateThreshold, 10)) {
+            Optional<CV> source = cvRepository.findByIdAndTenantId(similar.getCvId(), tenantId);
+            if (source.isPresent() && source.get().getParsingStatus() == CV.ParsingStatus.COMPLETED
+                    && matchResultRepository.existsByCvId(similar.getCvId())) {
+                return Optional.of(similar);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Indexes the new signature of a CV once its keywords are committed.
+     *
+     * @param event the CV keywords changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCvKeywordsChanged(CvKeywordsChangedEvent event) {
+        LshIndex index = tenantIndexes.get(event.getTenantId());
+        if (index == null) {
+            // Not loaded yet; the first lookup reads every signature including this one
+            return;
+        }
+        int[] signature = cvRepository.findById(event.getCvId())
+                .map(cv -> MinHash.fromBytes(cv.getMinhashSignature()))
+                .orElse(null);
+        synchronized (index) {
+            if (signature != null) {
+                index.put(event.getCvId(), signature);
+            } else {
+                index.remove(event.getCvId());
+            }
+        }
+    }
+
+    /**
+     * Drops a deleted CV from its tenant's index.
+     */
+    public void remove(UUID cvId, UUID tenantId) {
+        LshIndex index = tenantIndexes.get(tenantId);
+        if (index != null) {
+            synchronized (index) {
+                index.remove(cvId);
+            }
+        }
+    }
+
+    private List<SimilarCv> findSimilar(LshIndex index, UUID cvId, int[] signature, double minSimilarity, int limit) {
+        List<SimilarCv> similar = new ArrayList<>();
+        synchronized (index) {
+            for (UUID candidate : index.candidates(signature)) {
+                if (candidate.equals(cvId)) {
+                    continue;
+                }
+                double similarity = MinHash.similarity(signature, index.signature(candidate));
+                if (similarity >= minSimilarity) {
+                    similar.add(new SimilarCv(candidate, similarity));
+                }
+            }
+        }
+        similar.sort(Comparator.comparingDouble(SimilarCv::getSimilarity).reversed()
+                .thenComparing(SimilarCv::getCvId));
+        return similar.size() > limit ? new ArrayList<>(similar.subList(0, limit)) : similar;
+    }
+
+    private LshIndex index(UUID tenantId) {
+        return tenantIndexes.computeIfAbsent(tenantId, id -> {
+            long started = System.currentTimeMillis();
+            LshIndex index = new LshIndex();
+            for (CVRepository.SignatureView view : cvRepository.findSignaturesByTenantId(id)) {
+                int[] signature = MinHash.fromBytes(view.getSignature());
+                if (signature != null) {
+                    index.put(view.getId(), signature);
+                }
+            }
+            log.info("Loaded LSH index for tenant {}: {} CV signatures in {} ms",
+                    id, index.size(), System.currentTimeMillis() - started);
+            return index;
+        });
+    }
+
+    /**
+     * A CV with its estimated keyword-set similarity to another CV.
+     */
+    public static final class SimilarCv {
+        private final UUID cvId;
+        private final double similarity;
+
+        public SimilarCv(UUID cvId, double similarity) {
+            this.cvId = cvId;
+            this.similarity = similarity;
+        }
+
+        public UUID getCvId() {
+            return cvId;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+}
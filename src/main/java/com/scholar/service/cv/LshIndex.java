@@ -0,0 +1,84 @@
+package com.scholar.service.cv;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Locality-sensitive hashing index over the MinHash signatures of one tenant's CVs.
+ * <p>
+ * A signature is cut into {@link #BANDS} bands of {@link #ROWS} slots; two CVs become candidates
+ * when any band is identical. With 32 bands of 4 rows, pairs at Jaccard 0.5 are found with about
+ * 87% probability and pairs at 0.8 almost always, while dissimilar CVs rarely collide. Candidates
+ * are then ranked by their full signature similarity. Not thread-safe; callers synchronize.
+ */
+public final class LshIndex {
+
+    static final int BANDS = 32;
+    static final int ROWS = MinHash.SIZE / BANDS;
+
+    private final Map<Long, List<UUID>> buckets = new HashMap<>();
+    private final Map<UUID, int[]> signatures = new HashMap<>();
+
+    /**
+     * Adds or replaces the signature of a CV.
+     */
+    public void put(UUID cvId, int[] signature) {
+        remove(cvId);
+        signatures.put(cvId, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(2)).add(cvId);
+        }
+    }
+
+    public void remove(UUID cvId) {
+        int[] signature = signatures.remove(cvId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            List<UUID> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(cvId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    public int[] signature(UUID cvId) {
+        return signatures.get(cvId);
+    }
+
+    /**
+     * Returns the CVs sharing at least one band with a signature.
+     */
+    public Set<UUID> candidates(int[] signature) {
+        Set<UUID> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<UUID> bucket = buckets.get(bandKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        return candidates;
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x100000001b3L + signature[i];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,97 @@
+package com.scholar.service.cv;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * MinHash signatures of keyword sets.
+ * <p>
+ * Each of the {@link #SIZE} slots keeps the minimum of one hash function over the set, so the
+ * fraction of equal slots between two signatures is an unbiased estimate of the Jaccard
+ * similarity of the sets. The hash functions are derived from one 64-bit keyword hash by
+ * double hashing, so a keyword is hashed once regardless of the signature size.
+ */
+public final class MinHash {
+
+    public static final int SIZE = 128;
+
+    private MinHash() {
+    }
+
+    /**
+     * Computes the signature of a set of normalized keywords.
+     *
+     * @param keywords the keyword set; duplicates do not change the result
+     * @return the signature, or null for an empty set
+     */
+    public static int[] signature(Collection<String> keywords) {
+        if (keywords.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String keyword : keywords) {
+            long h1 = hash64(keyword);
+            long h2 = mix64(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+            for (int i = 0; i < SIZE; i++) {
+                int h = (int) (mix64(h1 + i * h2) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the sets behind two signatures.
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a stored signature.
+     *
+     * @return the signature, or null if the bytes are missing or of another signature size
+     */
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SIZE * Integer.BYTES) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    // FNV-1a over UTF-8 bytes, finalized with mix64 for avalanche
+    private static long hash64(String keyword) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : keyword.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
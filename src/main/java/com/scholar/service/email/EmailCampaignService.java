@@ -5,6 +5,7 @@ import com.scholar.domain.entity.*;
 import com.scholar.domain.repository.*;
 import com.scholar.dto.response.EmailLogResponse;
 import com.scholar.service.cv.OpenRouterService;
+import com.scholar.service.matching.MatchedKeywordResolver;
 import com.scholar.service.storage.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +46,7 @@ public class EmailCampaignService {
     private final OpenRouterService openRouterService;
     private final FileStorageService fileStorageService;
     private final EmailOptionRepository emailOptionRepository;
+    private final MatchedKeywordResolver matchedKeywordResolver;
     private final EmailCampaignService self;
 
     public EmailCampaignService(EmailCampaignRepository campaignRepository,
@@ -57,6 +59,7 @@ public class EmailCampaignService {
                                OpenRouterService openRouterService,
                                FileStorageService fileStorageService,
                                EmailOptionRepository emailOptionRepository,
+                               MatchedKeywordResolver matchedKeywordResolver,
                                @Lazy EmailCampaignService self) {
         this.campaignRepository = campaignRepository;
         this.emailLogRepository = emailLogRepository;
@@ -68,6 +71,7 @@ public class EmailCampaignService {
         this.openRouterService = openRouterService;
         this.fileStorageService = fileStorageService;
         this.emailOptionRepository = emailOptionRepository;
+        this.matchedKeywordResolver = matchedKeywordResolver;
         this.self = self;
     }
 
@@ -212,6 +216,7 @@ public class EmailCampaignService {
             EmailCampaign campaign = campaignRepository.findById(campaignId).orElseThrow();
             List<CvKeyword> studentKeywords = cvKeywordRepository.findByCvId(campaign.getCv().getId());
             String keywordsStr = studentKeywords.stream().map(CvKeyword::getKeyword).collect(Collectors.joining(", "));
+            List<String> keywordList = matchedKeywordResolver.keywordList(campaign.getCv().getId());
 
             for (UUID logId : emailLogIds) {
                 try {
@@ -228,7 +233,7 @@ public class EmailCampaignService {
                         keywordsStr,
                         professor.getFirstName() + " " + professor.getLastName(),
                         professor.getUniversity().getName(),
-                        emailLog.getMatchResult().getMatchedKeywords(),
+                        MatchedKeywordResolver.render(emailLog.getMatchResult(), keywordList),
                         professor.getPublications() // Pass publications here!
                     );
 
@@ -315,7 +320,8 @@ public class EmailCampaignService {
                     
                     bodyToSend = openRouterService.generateOutreachEmail(keywordsStr, 
                         logEntry.getProfessor().getFirstName() + " " + logEntry.getProfessor().getLastName(),
-                        logEntry.getProfessor().getUniversity().getName(), logEntry.getMatchResult().getMatchedKeywords());
+                        logEntry.getProfessor().getUniversity().getName(),
+                        matchedKeywordResolver.render(logEntry.getMatchResult()));
                 }
 
                 boolean success = self.sendAndUpdateLog(emailLogId, bodyToSend, attachment, fileName, mailSender, smtpAccount);
@@ -378,6 +384,7 @@ public class EmailCampaignService {
     private List<UUID> initializeEmailLogsInternal(EmailCampaign campaign, List<MatchResult> matches) {
         List<EmailLog> logsToSave = new ArrayList<>();
         Set<UUID> processedProfessorIds = new HashSet<>();
+        List<String> keywordList = matchedKeywordResolver.keywordList(campaign.getCv().getId());
 
         for (MatchResult match : matches) {
             Professor professor = match.getProfessor();
@@ -389,7 +396,7 @@ public class EmailCampaignService {
             // 2. Check existence in DB to avoid unique constraint violation
             boolean exists = emailLogRepository.existsByEmailCampaignIdAndProfessorId(campaign.getId(), professor.getId());
             if (!exists) {
-                logsToSave.add(createEmailLog(campaign, match));
+                logsToSave.add(createEmailLog(campaign, match, keywordList));
                 processedProfessorIds.add(professor.getId());
             }
         }
@@ -410,18 +417,19 @@ public class EmailCampaignService {
         });
     }
 
-    private EmailLog createEmailLog(EmailCampaign campaign, MatchResult match) {
+    private EmailLog createEmailLog(EmailCampaign campaign, MatchResult match, List<String> keywordList) {
         return EmailLog.builder()
             .tenant(campaign.getTenant()).emailCampaign(campaign).professor(match.getProfessor())
             .matchResult(match).recipientEmail(match.getProfessor().getEmail()).subject(campaign.getSubject())
-            .body(substituteTemplate(campaign.getBodyTemplate(), match.getProfessor(), match))
+            .body(substituteTemplate(campaign.getBodyTemplate(), match.getProfessor(),
+                    MatchedKeywordResolver.render(match, keywordList)))
             .status(EmailLog.EmailStatus.PENDING).build();
     }
 
-    private String substituteTemplate(String t, Professor p, MatchResult m) {
+    private String substituteTemplate(String t, Professor p, String matchedKeywords) {
         return t.replace("{{professor_name}}", p.getFirstName() + " " + p.getLastName())
                 .replace("{{university}}", p.getUniversity().getName())
-                .replace("{{matched_keywords}}", m.getMatchedKeywords());
+                .replace("{{matched_keywords}}", matchedKeywords);
     }
 
     private JavaMailSender createMailSender(SmtpAccount s) {
@@ -511,7 +519,7 @@ public class EmailCampaignService {
             keywordsStr,
             professor.getFirstName() + " " + professor.getLastName(),
             professor.getUniversity().getName(),
-            emailLog.getMatchResult().getMatchedKeywords(),
+            matchedKeywordResolver.render(emailLog.getMatchResult()),
             professor.getPublications()
         );
 
@@ -0,0 +1,136 @@
+package com.scholar.service.job;
+
+import com.scholar.service.matching.MatchFilter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces concurrent parse and match requests per CV.
+ * <p>
+ * Upload hooks, the parse and compute-matches buttons and recompute requests can all fire for the
+ * same CV at once. Parsing joins a running parse (the file does not change, so a second LLM call
+ * would only repeat it). Matching queues at most one follow-up run, because the running one may
+ * have read keywords or professors that changed since it started.
+ * <p>
+ * Match requests of one CV share that follow-up whether or not they are filtered. A full run
+ * supersedes a filtered one, since it writes the matches of every professor the filter admits,
+ * and two different filters are merged into a full run, the only run that covers both.
+ */
+@Component
+public class CvJobCoordinator {
+
+    /**
+     * The coalesced per-CV operations.
+     */
+    public enum Operation {
+        PARSE, MATCH
+    }
+
+    private final SingleFlight<Key, Run> singleFlight;
+
+    public CvJobCoordinator(@Qualifier("cvJobExecutor") Executor cvJobExecutor) {
+        this.singleFlight = new SingleFlight<>(cvJobExecutor);
+    }
+
+    /**
+     * Runs an operation for a CV in the background, coalescing it with a running one.
+     *
+     * @param cvId the CV identifier
+     * @param operation the operation
+     * @param task the work, run on the CV job executor
+     * @return completes when the run this request joined has finished
+     */
+    public CompletableFuture<Void> submit(UUID cvId, Operation operation, Runnable task) {
+        Run run = new Run(MatchFilter.NONE, filter -> task.run());
+        return operation == Operation.MATCH
+                ? singleFlight.submit(new Key(cvId, operation), run, CvJobCoordinator::mergeMatchRuns)
+                : singleFlight.submit(new Key(cvId, operation), run, false);
+    }
+
+    /**
+     * Runs a match of a CV against the professors a filter admits in the background, coalescing it
+     * with the CV's running match.
+     *
+     * @param cvId the CV identifier
+     * @param filter professor attributes to restrict matching to
+     * @param task the work, given the filter of the run it ends up in
+     * @return completes when the run this request joined has finished
+     */
+    public CompletableFuture<Void> submitMatch(UUID cvId, MatchFilter filter, Consumer<MatchFilter> task) {
+        return singleFlight.submit(new Key(cvId, Operation.MATCH), new Run(filter, task),
+                CvJobCoordinator::mergeMatchRuns);
+    }
+
+    /**
+     * Returns whether an operation is running (or queued) for a CV.
+     */
+    public boolean isRunning(UUID cvId, Operation operation) {
+        return singleFlight.isRunning(new Key(cvId, operation));
+    }
+
+    private static Run mergeMatchRuns(Run queued, Run submitted) {
+        if (submitted.filter.isEmpty() || submitted.filter.equals(queued.filter)) {
+            return submitted;
+        }
+        if (queued.filter.isEmpty()) {
+            return queued;
+        }
+        return new Run(MatchFilter.NONE, submitted.task);
+    }
+
+    /**
+     * A queued operation with the professors it matches against.
+     */
+    private static final class Run implements Runnable {
+        private final MatchFilter filter;
+        private final Consumer<MatchFilter> task;
+
+        private Run(MatchFilter filter, Consumer<MatchFilter> task) {
+            this.filter = filter;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.accept(filter);
+        }
+    }
+
+    private static final class Key {
+        private final UUID cvId;
+        private final Operation operation;
+
+        private Key(UUID cvId, Operation operation) {
+            this.cvId = cvId;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return cvId.equals(key.cvId) && operation == key.operation;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cvId, operation);
+        }
+
+        @Override
+        public String toString() {
+            return operation + " " + cvId;
+        }
+    }
+}
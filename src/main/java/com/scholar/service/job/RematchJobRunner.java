@@ -0,0 +1,78 @@
+package com.scholar.service.job;
+
+import com.scholar.service.matching.ProfessorCatalog;
+import com.scholar.service.matching.ProfessorCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drives rematch jobs on the dedicated rematch executor, one batch transaction at a time.
+ * <p>
+ * CVs are matched synchronously on the job thread instead of being queued on the shared async
+ * executor, and the professor catalog snapshot is loaded once per run and pinned for all batches.
+ * A batch that fails is retried CV by CV, so a CV that cannot be matched is recorded and skipped
+ * while the rest of the batch is still matched.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RematchJobRunner {
+
+    private final RematchJobService rematchJobService;
+    private final ProfessorCatalogService professorCatalogService;
+
+    /**
+     * Runs a job from its last checkpoint until it completes, fails, is cancelled or is taken over.
+     *
+     * @param jobId the job identifier
+     */
+    @Async("rematchJobExecutor")
+    public void run(UUID jobId) {
+        try {
+            ProfessorCatalog catalog = professorCatalogService.current();
+            if (!rematchJobService.markRunning(jobId, catalog.getVersion())) {
+                log.debug("Rematch job {} is no longer active, skipping", jobId);
+                return;
+            }
+            log.info("Rematch job {} running against catalog v{}", jobId, catalog.getVersion());
+            int batches = 0;
+            int processed;
+            while ((processed = processNextBatch(jobId, catalog)) > 0) {
+                batches++;
+                log.debug("Rematch job {}: batch {} committed ({} CVs)", jobId, batches, processed);
+            }
+            log.info("Rematch job {} stopped after {} batches in this run", jobId, batches);
+        } catch (Exception e) {
+            log.error("Rematch job {} failed: {}", jobId, e.getMessage(), e);
+            rematchJobService.markFailed(jobId, e.getMessage());
+        }
+    }
+
+    private int processNextBatch(UUID jobId, ProfessorCatalog catalog) {
+        try {
+            return rematchJobService.processNextBatch(jobId, catalog);
+        } catch (RuntimeException e) {
+            log.warn("Rematch job {}: batch failed ({}), matching its CVs one at a time", jobId, e.getMessage());
+        }
+        List<UUID> cvIds = rematchJobService.nextBatchIds(jobId);
+        if (cvIds.isEmpty()) {
+            return rematchJobService.processNextBatch(jobId, catalog);
+        }
+        for (UUID cvId : cvIds) {
+            try {
+                if (rematchJobService.processCv(jobId, cvId, catalog) == 0) {
+                    return 0;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Rematch job {}: CV {} failed and is skipped: {}", jobId, cvId, e.getMessage());
+                rematchJobService.recordFailure(jobId, cvId, e.getMessage());
+            }
+        }
+        return cvIds.size();
+    }
+}
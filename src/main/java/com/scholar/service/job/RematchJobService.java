@@ -0,0 +1,320 @@
+package com.scholar.service.job;
+
+import com.scholar.domain.entity.RematchJob;
+import com.scholar.domain.entity.Tenant;
+import com.scholar.domain.repository.CVRepository;
+import com.scholar.domain.repository.RematchJobRepository;
+import com.scholar.domain.repository.TenantRepository;
+import com.scholar.dto.response.RematchJobResponse;
+import com.scholar.service.matching.MatchingService;
+import com.scholar.service.matching.ProfessorCatalog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for tenant-wide rematch jobs.
+ * <p>
+ * A job walks the tenant's CVs in id order in bounded batches. Each batch is scored in a single
+ * pass over the catalog, and its matches and checkpoint (last CV id, counters, elapsed time) are
+ * saved in one transaction, so a job interrupted by a restart resumes after the last committed
+ * batch without repeating or skipping CVs.
+ * <p>
+ * Instances share the job table, so a job is only run by the instance that claimed it. The owner
+ * refreshes a heartbeat with every batch; a job whose heartbeat is older than the claim timeout is
+ * taken over by the next instance that looks for interrupted jobs. A CV that fails to match is
+ * recorded against the job and skipped.
+ */
+@Service
+@Slf4j
+public class RematchJobService {
+
+    private static final UUID FIRST_CV = new UUID(0L, 0L);
+
+    private final RematchJobRepository rematchJobRepository;
+    private final TenantRepository tenantRepository;
+    private final CVRepository cvRepository;
+    private final MatchingService matchingService;
+    private final RematchJobRunner rematchJobRunner;
+    private final int defaultBatchSize;
+    private final long claimTimeoutSeconds;
+    private final String owner = UUID.randomUUID().toString();
+
+    public RematchJobService(RematchJobRepository rematchJobRepository,
+                             TenantRepository tenantRepository,
+                             CVRepository cvRepository,
+                             MatchingService matchingService,
+                             @Lazy RematchJobRunner rematchJobRunner,
+                             @Value("${scholar.matching.rematch.batch-size:100}") int defaultBatchSize,
+                             @Value("${scholar.matching.rematch.claim-timeout-seconds:300}") long claimTimeoutSeconds) {
+        this.rematchJobRepository = rematchJobRepository;
+        this.tenantRepository = tenantRepository;
+        this.cvRepository = cvRepository;
+        this.matchingService = matchingService;
+        this.rematchJobRunner = rematchJobRunner;
+        this.defaultBatchSize = defaultBatchSize;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+    }
+
+    /**
+     * Creates a rematch job for all CVs of a tenant and starts it once the job row is committed.
+     *
+     * @param tenantId the tenant identifier
+     * @param batchSize CVs per batch, or null for the configured default
+     * @return the created job
+     */
+    @Transactional
+    public RematchJobResponse startTenantRematch(UUID tenantId, Integer batchSize) {
+        int size = batchSize != null ? batchSize : defaultBatchSize;
+        if (size < 1 || size > 1000) {
+            throw new IllegalArgumentException("Batch size must be between 1 and 1000");
+        }
+        if (rematchJobRepository.existsActiveByTenantId(tenantId)) {
+            throw new IllegalStateException("A rematch job is already running for this tenant");
+        }
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("Tenant not found: " + tenantId));
+
+        RematchJob job = rematchJobRepository.saveAndFlush(RematchJob.builder()
+                .tenant(tenant)
+                .batchSize(size)
+                .totalCvs((int) cvRepository.countByTenantId(tenantId))
+                .owner(owner)
+                .build());
+        rematchJobRepository.heartbeat(job.getId(), owner);
+        log.info("Created rematch job {} for tenant {}: {} CVs in batches of {}",
+                job.getId(), tenantId, job.getTotalCvs(), size);
+
+        runAfterCommit(job.getId());
+        return toResponse(job);
+    }
+
+    /**
+     * Resumes jobs that were pending or running when their instance stopped. Each job is claimed
+     * first, so of several instances looking at the same job only one runs it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${scholar.matching.rematch.claim-timeout-seconds:300}",
+               initialDelayString = "${scholar.matching.rematch.claim-timeout-seconds:300}",
+               timeUnit = TimeUnit.SECONDS)
+    @Transactional
+    public void resumeInterruptedJobs() {
+        for (UUID jobId : rematchJobRepository.findActiveIds()) {
+            if (rematchJobRepository.claim(jobId, owner, claimTimeoutSeconds) == 1) {
+                log.info("Resuming interrupted rematch job {}", jobId);
+                runAfterCommit(jobId);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public RematchJobResponse getJob(UUID jobId, UUID tenantId) {
+        return toResponse(findJob(jobId, tenantId));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<RematchJobResponse> getJobs(UUID tenantId, Pageable pageable) {
+        return rematchJobRepository.findAllByTenantId(tenantId, pageable).map(this::toResponse);
+    }
+
+    /**
+     * Cancels an active job; the runner stops before its next batch.
+     */
+    @Transactional
+    public RematchJobResponse cancelJob(UUID jobId, UUID tenantId) {
+        RematchJob job = findJob(jobId, tenantId);
+        if (!job.isActive()) {
+            throw new IllegalStateException("Job is not active: " + job.getStatus());
+        }
+        job.setStatus(RematchJob.JobStatus.CANCELLED);
+        job.setCompletedAt(LocalDateTime.now());
+        return toResponse(rematchJobRepository.save(job));
+    }
+
+    /**
+     * Marks a job as running against the given catalog snapshot.
+     *
+     * @return false if the job is no longer active
+     */
+    @Transactional
+    public boolean markRunning(UUID jobId, long catalogVersion) {
+        if (rematchJobRepository.heartbeat(jobId, owner) == 0) {
+            return false;
+        }
+        RematchJob job = rematchJobRepository.findById(jobId).orElse(null);
+        if (job == null || !job.isActive()) {
+            return false;
+        }
+        job.setStatus(RematchJob.JobStatus.RUNNING);
+        job.setCatalogVersion(catalogVersion);
+        if (job.getStartedAt() == null) {
+            job.setStartedAt(LocalDateTime.now());
+        }
+        rematchJobRepository.save(job);
+        return true;
+    }
+
+    /**
+     * Matches the next batch of CVs after the job's checkpoint and advances the checkpoint,
+     * all in one transaction.
+     *
+     * @return the number of CVs processed; 0 once the job is finished, no longer running or owned by another instance
+     */
+    @Transactional
+    public int processNextBatch(UUID jobId, ProfessorCatalog catalog) {
+        long started = System.currentTimeMillis();
+        RematchJob job = runningJob(jobId);
+        if (job == null) {
+            return 0;
+        }
+        UUID tenantId = job.getTenant().getId();
+        List<UUID> cvIds = nextCvIds(job);
+        if (cvIds.isEmpty()) {
+            job.setStatus(RematchJob.JobStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            rematchJobRepository.save(job);
+            return 0;
+        }
+
+        long matches = matchingService.computeMatchesBatch(cvIds, tenantId, catalog);
+        advance(job, cvIds.get(cvIds.size() - 1), cvIds.size(), matches, started);
+        return cvIds.size();
+    }
+
+    /**
+     * Returns the CVs of the job's next batch without matching them, for retrying a failed batch CV by CV.
+     *
+     * @return the CV ids, empty once the job is finished or no longer running
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> nextBatchIds(UUID jobId) {
+        RematchJob job = rematchJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != RematchJob.JobStatus.RUNNING) {
+            return List.of();
+        }
+        return nextCvIds(job);
+    }
+
+    /**
+     * Matches a single CV of the job's next batch and moves the checkpoint past it.
+     *
+     * @return 1 if the CV was processed, 0 if the job is no longer running or owned by another instance
+     */
+    @Transactional
+    public int processCv(UUID jobId, UUID cvId, ProfessorCatalog catalog) {
+        long started = System.currentTimeMillis();
+        RematchJob job = runningJob(jobId);
+        if (job == null) {
+            return 0;
+        }
+        long matches = matchingService.computeMatchesBatch(List.of(cvId), job.getTenant().getId(), catalog);
+        advance(job, cvId, 1, matches, started);
+        return 1;
+    }
+
+    /**
+     * Records a CV that could not be matched and moves the checkpoint past it, so the job continues.
+     */
+    @Transactional
+    public void recordFailure(UUID jobId, UUID cvId, String errorMessage) {
+        RematchJob job = runningJob(jobId);
+        if (job == null) {
+            return;
+        }
+        if (rematchJobRepository.insertFailure(jobId, cvId, errorMessage) == 1) {
+            job.setFailedCvs(job.getFailedCvs() + 1);
+        }
+        advance(job, cvId, 1, 0, System.currentTimeMillis());
+    }
+
+    /**
+     * Records a job failure; the checkpoint of the last committed batch is kept.
+     */
+    @Transactional
+    public void markFailed(UUID jobId, String errorMessage) {
+        rematchJobRepository.findById(jobId).filter(RematchJob::isActive).ifPresent(job -> {
+            job.setStatus(RematchJob.JobStatus.FAILED);
+            job.setErrorMessage(errorMessage);
+            job.setCompletedAt(LocalDateTime.now());
+            rematchJobRepository.save(job);
+        });
+    }
+
+    private void runAfterCommit(UUID jobId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rematchJobRunner.run(jobId);
+            }
+        });
+    }
+
+    /**
+     * Loads a running job owned by this instance and refreshes its heartbeat.
+     */
+    private RematchJob runningJob(UUID jobId) {
+        if (rematchJobRepository.heartbeat(jobId, owner) == 0) {
+            log.info("Rematch job {} is owned by another instance", jobId);
+            return null;
+        }
+        RematchJob job = rematchJobRepository.findById(jobId).orElse(null);
+        return job != null && job.getStatus() == RematchJob.JobStatus.RUNNING ? job : null;
+    }
+
+    private List<UUID> nextCvIds(RematchJob job) {
+        UUID after = job.getLastCvId() != null ? job.getLastCvId() : FIRST_CV;
+        return cvRepository.findIdsByTenantIdAfter(job.getTenant().getId(), after, job.getBatchSize());
+    }
+
+    private void advance(RematchJob job, UUID lastCvId, int cvs, long matches, long started) {
+        job.setLastCvId(lastCvId);
+        job.setProcessedCvs(job.getProcessedCvs() + cvs);
+        job.setTotalCvs(Math.max(job.getTotalCvs(), job.getProcessedCvs()));
+        job.setMatchCount(job.getMatchCount() + matches);
+        job.setElapsedMs(job.getElapsedMs() + System.currentTimeMillis() - started);
+        rematchJobRepository.save(job);
+    }
+
+    private RematchJob findJob(UUID jobId, UUID tenantId) {
+        return rematchJobRepository.findByIdAndTenantId(jobId, tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("Rematch job not found or access denied"));
+    }
+
+    private RematchJobResponse toResponse(RematchJob job) {
+        int total = job.getTotalCvs();
+        int processed = job.getProcessedCvs();
+        long elapsedMs = job.getElapsedMs();
+        return RematchJobResponse.builder()
+                .id(job.getId())
+                .tenantId(job.getTenant().getId())
+                .status(job.getStatus().name())
+                .batchSize(job.getBatchSize())
+                .totalCvs(total)
+                .processedCvs(processed)
+                .failedCvs(job.getFailedCvs())
+                .matchCount(job.getMatchCount())
+                .percentComplete(total > 0 ? Math.min(100.0, processed * 100.0 / total)
+                        : (job.getStatus() == RematchJob.JobStatus.COMPLETED ? 100.0 : 0.0))
+                .cvsPerSecond(elapsedMs > 0 ? processed * 1000.0 / elapsedMs : 0.0)
+                .catalogVersion(job.getCatalogVersion())
+                .errorMessage(job.getErrorMessage())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.scholar.service.job;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BinaryOperator;
+
+/**
+ * Keyed single-flight execution: at most one task per key runs at a time.
+ * <p>
+ * A submission for an idle key starts a run. A submission while that key is running either joins
+ * the running task, or (when it asks for a follow-up) joins the single follow-up run queued behind
+ * it; further submissions during the same run join that follow-up too, and the most recent task
+ * is the one executed unless the submitter merges it with the queued one. A burst of N requests
+ * therefore costs at most two runs.
+ *
+ * @param <K> the key type
+ * @param <T> the task type
+ */
+@Slf4j
+public final class SingleFlight<K, T extends Runnable> {
+
+    private final Executor executor;
+    private final Map<K, Flight<T>> flights = new HashMap<>();
+
+    public SingleFlight(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs a task for a key unless one is already running.
+     *
+     * @param key the coalescing key
+     * @param task the work
+     * @param followUp whether a submission during a run must be followed by one more run
+     *                 (because the running task may have read stale input) instead of joining it
+     * @return completes when the run this submission joined has finished
+     */
+    public CompletableFuture<Void> submit(K key, T task, boolean followUp) {
+        return submit(key, task, followUp ? (queued, submitted) -> submitted : null);
+    }
+
+    /**
+     * Runs a task for a key unless one is already running, in which case it is merged into the
+     * single follow-up run queued behind the running one.
+     *
+     * @param key the coalescing key
+     * @param task the work
+     * @param merge picks the follow-up's task from the queued one and this one; null to join the
+     *              running task instead of queuing a follow-up
+     * @return completes when the run this submission joined has finished
+     */
+    public CompletableFuture<Void> submit(K key, T task, BinaryOperator<T> merge) {
+        Flight<T> flight;
+        CompletableFuture<Void> future;
+        synchronized (flights) {
+            flight = flights.get(key);
+            if (flight != null) {
+                if (merge == null) {
+                    log.debug("Joining running task for {}", key);
+                    return flight.running;
+                }
+                if (flight.followUp == null) {
+                    flight.followUp = new CompletableFuture<>();
+                    flight.followUpTask = task;
+                    log.debug("Queued follow-up run for {}", key);
+                } else {
+                    flight.followUpTask = merge.apply(flight.followUpTask, task);
+                    log.debug("Joining queued follow-up run for {}", key);
+                }
+                return flight.followUp;
+            }
+            flight = new Flight<>();
+            future = new CompletableFuture<>();
+            flight.running = future;
+            flights.put(key, flight);
+        }
+        start(key, flight, task, future);
+        return future;
+    }
+
+    /**
+     * Returns whether a task is running for a key.
+     */
+    public boolean isRunning(K key) {
+        synchronized (flights) {
+            return flights.containsKey(key);
+        }
+    }
+
+    private void start(K key, Flight<T> flight, T task, CompletableFuture<Void> future) {
+        try {
+            executor.execute(() -> {
+                Throwable failure = null;
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    failure = t;
+                }
+                finish(key, flight, future, failure);
+            });
+        } catch (RuntimeException e) {
+            // Rejected by the executor: fail this run and give a queued follow-up its chance
+            finish(key, flight, future, e);
+        }
+    }
+
+    /**
+     * Retires the key or hands it to the queued follow-up before completing the finished run, so
+     * whoever that completion wakes already sees the key idle or its follow-up running.
+     */
+    private void finish(K key, Flight<T> flight, CompletableFuture<Void> future, Throwable failure) {
+        T task = null;
+        CompletableFuture<Void> next = null;
+        synchronized (flights) {
+            if (flight.followUp == null) {
+                flights.remove(key);
+            } else {
+                task = flight.followUpTask;
+                next = flight.followUp;
+                flight.running = next;
+                flight.followUp = null;
+                flight.followUpTask = null;
+            }
+        }
+        if (failure == null) {
+            future.complete(null);
+        } else {
+            future.completeExceptionally(failure);
+        }
+        if (next != null) {
+            log.debug("Starting follow-up run for {}", key);
+            start(key, flight, task, next);
+        }
+    }
+
+    private static final class Flight<T> {
+        private CompletableFuture<Void> running;
+        private CompletableFuture<Void> followUp;
+        private T followUpTask;
+    }
+}
@@ -0,0 +1,67 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keyword scoring restricted to approximate nearest neighbours.
+ * <p>
+ * The CV keywords are feature-hashed into a query vector and the HNSW graph of
+ * {@link ProfessorAnnIndexService} returns the {@code scholar.matching.hnsw.candidates} most
+ * similar professors in sub-linear time. Only those candidates (intersected with the term index
+ * candidates) are scored exactly with the keyword kernel, so scores equal those of the
+ * {@code keyword} scorer, but professors the graph does not return are not matched.
+ */
+@Component
+@Slf4j
+public class AnnKeywordMatchScorer implements MatchScorer {
+
+    public static final String NAME = "keyword-ann";
+
+    private final ProfessorAnnIndexService annIndexService;
+    private final MatchEngine matchEngine;
+    private final int candidateCount;
+    private final int efSearch;
+
+    public AnnKeywordMatchScorer(ProfessorAnnIndexService annIndexService,
+                                 MatchEngine matchEngine,
+                                 @Value("${scholar.matching.hnsw.candidates:2000}") int candidateCount,
+                                 @Value("${scholar.matching.hnsw.ef-search:2000}") int efSearch) {
+        this.annIndexService = annIndexService;
+        this.matchEngine = matchEngine;
+        this.candidateCount = candidateCount;
+        this.efSearch = efSearch;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MatchRow> score(UUID tenantId, UUID cvId, Map<String, BigDecimal> cvKeywordMap,
+                                ProfessorCatalog catalog, BitSet eligible, MatchRetention retention) {
+        float[] query = new float[annIndexService.getHasher().getDimensions()];
+        if (!annIndexService.getHasher().hashKeywords(cvKeywordMap, query)) {
+            return List.of();
+        }
+        BitSet candidates = annIndexService.candidates(catalog, query, candidateCount, efSearch);
+        candidates.and(catalog.getTermIndex().candidates(cvKeywordMap.keySet()));
+        if (eligible != null) {
+            candidates.and(eligible);
+        }
+        log.debug("HNSW search narrowed {} professors down to {} candidates", catalog.size(), candidates.cardinality());
+
+        KeywordScoringKernel kernel = KeywordScoringKernel.compile(cvKeywordMap);
+        List<ScoredProfessor> scored = matchEngine.score(catalog, candidates, kernel, retention);
+        return MatchRows.of(tenantId, cvId, kernel, scored);
+    }
+}
@@ -0,0 +1,226 @@
+package com.scholar.service.matching;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Inverted BM25 index over one catalog snapshot and one corpus statistics snapshot.
+ * <p>
+ * Postings are stored per term id as catalog ordinals with the term frequency and length of the
+ * document. The saturated, length-normalized term frequency
+ * {@code tf * (k1 + 1) / (tf + k1 * (1 - b + b * dl / avgdl))} and the idf are computed from them
+ * while scoring, so a change to the corpus statistics only touches the postings of the changed
+ * documents' terms: {@link #update} copies those posting lists and shares every other one.
+ * There is no tokenization of professor text at query time.
+ */
+public final class Bm25Index {
+
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final ProfessorCatalog catalog;
+    private final Map<UUID, Integer> ordinals;
+    private final CorpusStatistics.Snapshot statistics;
+    private final double k1;
+    private final double b;
+    private final double averageLength;
+    // Postings of term t: postingOrdinals[t][i] with postingFrequencies[t][i] and postingLengths[t][i]
+    private final int[][] postingOrdinals;
+    private final int[][] postingFrequencies;
+    private final int[][] postingLengths;
+
+    private Bm25Index(ProfessorCatalog catalog, Map<UUID, Integer> ordinals, CorpusStatistics.Snapshot statistics,
+                      double k1, double b, int[][] postingOrdinals, int[][] postingFrequencies, int[][] postingLengths) {
+        this.catalog = catalog;
+        this.ordinals = ordinals;
+        this.statistics = statistics;
+        this.k1 = k1;
+        this.b = b;
+        this.averageLength = Math.max(1.0, statistics.getAverageDocumentLength());
+        this.postingOrdinals = postingOrdinals;
+        this.postingFrequencies = postingFrequencies;
+        this.postingLengths = postingLengths;
+    }
+
+    /**
+     * Builds the index for the professors of a catalog, using their documents in the statistics.
+     *
+     * @param catalog the catalog snapshot; its ordinals become document ordinals
+     * @param statistics the corpus statistics snapshot
+     * @param k1 term frequency saturation
+     * @param b length normalization strength
+     * @return the index
+     */
+    public static Bm25Index build(ProfessorCatalog catalog, CorpusStatistics.Snapshot statistics, double k1, double b) {
+        int termCount = statistics.getTermCount();
+        Map<UUID, Integer> ordinals = new HashMap<>(catalog.size() * 2);
+        int[] counts = new int[termCount];
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            ordinals.put(catalog.get(ordinal).getId(), ordinal);
+            SparseTermVector document = statistics.document(catalog.get(ordinal).getId());
+            for (int i = 0; i < document.size(); i++) {
+                counts[document.termId(i)]++;
+            }
+        }
+
+        int[][] postingOrdinals = new int[termCount][];
+        int[][] postingFrequencies = new int[termCount][];
+        int[][] postingLengths = new int[termCount][];
+        for (int t = 0; t < termCount; t++) {
+            postingOrdinals[t] = counts[t] == 0 ? NO_POSTINGS : new int[counts[t]];
+            postingFrequencies[t] = counts[t] == 0 ? NO_POSTINGS : new int[counts[t]];
+            postingLengths[t] = counts[t] == 0 ? NO_POSTINGS : new int[counts[t]];
+        }
+        int[] fill = new int[termCount];
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            SparseTermVector document = statistics.document(catalog.get(ordinal).getId());
+            for (int i = 0; i < document.size(); i++) {
+                int t = document.termId(i);
+                int slot = fill[t]++;
+                postingOrdinals[t][slot] = ordinal;
+                postingFrequencies[t][slot] = document.frequency(i);
+                postingLengths[t][slot] = document.getLength();
+            }
+        }
+        return new Bm25Index(catalog, ordinals, statistics, k1, b, postingOrdinals, postingFrequencies, postingLengths);
+    }
+
+    /**
+     * Moves the index to newer statistics of the same catalog by replacing the postings of changed documents.
+     * Posting lists of terms no changed document contains, old or new, are shared with this index.
+     *
+     * @param newer the newer statistics snapshot
+     * @param changedDocuments professors whose documents changed between the two snapshots
+     * @return the updated index
+     */
+    public Bm25Index update(CorpusStatistics.Snapshot newer, Collection<UUID> changedDocuments) {
+        int termCount = newer.getTermCount();
+        int[][] ordinalsByTerm = Arrays.copyOf(postingOrdinals, termCount);
+        int[][] frequenciesByTerm = Arrays.copyOf(postingFrequencies, termCount);
+        int[][] lengthsByTerm = Arrays.copyOf(postingLengths, termCount);
+        for (int t = postingOrdinals.length; t < termCount; t++) {
+            ordinalsByTerm[t] = NO_POSTINGS;
+            frequenciesByTerm[t] = NO_POSTINGS;
+            lengthsByTerm[t] = NO_POSTINGS;
+        }
+
+        BitSet changedOrdinals = new BitSet(catalog.size());
+        BitSet changedTerms = new BitSet(termCount);
+        for (UUID id : changedDocuments) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                continue;
+            }
+            changedOrdinals.set(ordinal);
+            SparseTermVector before = statistics.document(id);
+            SparseTermVector after = newer.document(id);
+            for (int i = 0; i < before.size(); i++) {
+                changedTerms.set(before.termId(i));
+            }
+            for (int i = 0; i < after.size(); i++) {
+                changedTerms.set(after.termId(i));
+            }
+        }
+
+        int changedCount = changedOrdinals.cardinality();
+        for (int t = changedTerms.nextSetBit(0); t >= 0; t = changedTerms.nextSetBit(t + 1)) {
+            // Keep the postings of unchanged documents, then add the new ones, in ordinal order
+            int[] oldOrdinals = ordinalsByTerm[t];
+            IntList kept = new IntList(oldOrdinals.length + changedCount);
+            IntList frequencies = new IntList(oldOrdinals.length + changedCount);
+            IntList lengths = new IntList(oldOrdinals.length + changedCount);
+            for (int i = 0; i < oldOrdinals.length; i++) {
+                if (!changedOrdinals.get(oldOrdinals[i])) {
+                    kept.add(oldOrdinals[i]);
+                    frequencies.add(frequenciesByTerm[t][i]);
+                    lengths.add(lengthsByTerm[t][i]);
+                }
+            }
+            for (int ordinal = changedOrdinals.nextSetBit(0); ordinal >= 0; ordinal = changedOrdinals.nextSetBit(ordinal + 1)) {
+                SparseTermVector document = newer.document(catalog.get(ordinal).getId());
+                int index = document.indexOf(t);
+                if (index >= 0) {
+                    kept.add(ordinal);
+                    frequencies.add(document.frequency(index));
+                    lengths.add(document.getLength());
+                }
+            }
+            sortByOrdinal(kept, frequencies, lengths);
+            ordinalsByTerm[t] = kept.toArray();
+            frequenciesByTerm[t] = frequencies.toArray();
+            lengthsByTerm[t] = lengths.toArray();
+        }
+        return new Bm25Index(catalog, ordinals, newer, k1, b, ordinalsByTerm, frequenciesByTerm, lengthsByTerm);
+    }
+
+    /**
+     * Adds {@code queryWeight * idf(term) * tf-part} to the accumulator of every document containing the term.
+     *
+     * @param termId the query term
+     * @param queryWeight weight of the term in the query
+     * @param accumulators score per catalog ordinal
+     * @param touched receives the ordinal of every document containing the term
+     */
+    void accumulate(int termId, double queryWeight, double[] accumulators, BitSet touched) {
+        double weight = queryWeight * idf(termId) * (k1 + 1);
+        int[] ordinalsOfTerm = postingOrdinals[termId];
+        int[] frequencies = postingFrequencies[termId];
+        int[] lengths = postingLengths[termId];
+        for (int p = 0; p < ordinalsOfTerm.length; p++) {
+            int tf = frequencies[p];
+            double lengthNorm = k1 * (1 - b + b * lengths[p] / averageLength);
+            touched.set(ordinalsOfTerm[p]);
+            accumulators[ordinalsOfTerm[p]] += weight * tf / (tf + lengthNorm);
+        }
+    }
+
+    /**
+     * Upper bound of a query term's contribution: {@code queryWeight * idf(term) * (k1 + 1)}.
+     */
+    double maxContribution(int termId, double queryWeight) {
+        return queryWeight * idf(termId) * (k1 + 1);
+    }
+
+    private double idf(int termId) {
+        int df = statistics.documentFrequency(termId);
+        return Math.log(1.0 + (statistics.getDocumentCount() - df + 0.5) / (df + 0.5));
+    }
+
+    private static void sortByOrdinal(IntList ordinals, IntList frequencies, IntList lengths) {
+        // Changed documents are appended after the kept postings; insertion sort moves them into place
+        for (int i = 1; i < ordinals.size(); i++) {
+            int ordinal = ordinals.get(i);
+            int frequency = frequencies.get(i);
+            int length = lengths.get(i);
+            int j = i - 1;
+            while (j >= 0 && ordinals.get(j) > ordinal) {
+                ordinals.set(j + 1, ordinals.get(j));
+                frequencies.set(j + 1, frequencies.get(j));
+                lengths.set(j + 1, lengths.get(j));
+                j--;
+            }
+            ordinals.set(j + 1, ordinal);
+            frequencies.set(j + 1, frequency);
+            lengths.set(j + 1, length);
+        }
+    }
+
+    public int termId(String term) {
+        return statistics.termId(term);
+    }
+
+    public SparseTermVector document(int ordinal) {
+        return statistics.document(catalog.get(ordinal).getId());
+    }
+
+    public long getCatalogVersion() {
+        return catalog.getVersion();
+    }
+
+    public long getStatisticsVersion() {
+        return statistics.getVersion();
+    }
+}
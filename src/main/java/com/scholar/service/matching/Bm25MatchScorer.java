@@ -0,0 +1,188 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * BM25 scorer over professor research area and publications.
+ * <p>
+ * CV keywords are split into terms; each term is weighted by the highest weight of a keyword
+ * containing it. A professor's score is the BM25 sum over those terms, normalized by the CV's
+ * upper bound {@code sum(queryWeight * idf * (k1 + 1))} so it stays in [0, 1]. Rare terms
+ * therefore count for more than terms most professors share. The reported matched keywords
+ * are the CV keywords with at least one term present in the professor's document.
+ */
+@Component
+@Slf4j
+public class Bm25MatchScorer implements MatchScorer {
+
+    public static final String NAME = "bm25";
+
+    private final CorpusStatisticsService corpusStatisticsService;
+    private final double k1;
+    private final double b;
+    private final AtomicReference<Bm25Index> index = new AtomicReference<>();
+
+    public Bm25MatchScorer(CorpusStatisticsService corpusStatisticsService,
+                           @Value("${scholar.matching.bm25.k1:1.2}") double k1,
+                           @Value("${scholar.matching.bm25.b:0.75}") double b) {
+        this.corpusStatisticsService = corpusStatisticsService;
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MatchRow> score(UUID tenantId, UUID cvId, Map<String, BigDecimal> cvKeywordMap,
+                                ProfessorCatalog catalog, BitSet eligible, MatchRetention retention) {
+        return score(index(catalog), catalog, tenantId, cvId, cvKeywordMap, eligible, retention);
+    }
+
+    /**
+     * Scores a CV against a prebuilt index.
+     */
+    static List<MatchRow> score(Bm25Index index, ProfessorCatalog catalog, UUID tenantId, UUID cvId,
+                                Map<String, BigDecimal> cvKeywordMap, BitSet eligible, MatchRetention retention) {
+        // Keyword ids follow the keyword kernel order, so stored matched keyword ids mean the same for every scorer
+        List<Map.Entry<String, BigDecimal>> keywords = KeywordScoringKernel.order(cvKeywordMap);
+
+        int[][] keywordTerms = new int[keywords.size()][];
+        Map<Integer, Double> queryWeights = new HashMap<>();
+        for (int k = 0; k < keywords.size(); k++) {
+            List<String> terms = MatchText.terms(keywords.get(k).getKey());
+            IntList ids = new IntList(terms.size());
+            for (String term : terms) {
+                int termId = index.termId(term);
+                if (termId >= 0) {
+                    ids.add(termId);
+                    queryWeights.merge(termId, keywords.get(k).getValue().doubleValue(), Math::max);
+                }
+            }
+            keywordTerms[k] = ids.toArray();
+        }
+
+        double maxScore = 0;
+        for (Map.Entry<Integer, Double> term : queryWeights.entrySet()) {
+            maxScore += index.maxContribution(term.getKey(), term.getValue());
+        }
+        if (maxScore <= 0) {
+            return List.of();
+        }
+
+        double[] accumulators = new double[catalog.size()];
+        // A zero query weight adds nothing, so an accumulator still at zero does not mean an untouched ordinal
+        BitSet touched = new BitSet(catalog.size());
+        queryWeights.forEach((termId, weight) -> index.accumulate(termId, weight, accumulators, touched));
+        if (eligible != null) {
+            touched.and(eligible);
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (int ordinal = touched.nextSetBit(0); ordinal >= 0; ordinal = touched.nextSetBit(ordinal + 1)) {
+            BigDecimal score = BigDecimal.valueOf(accumulators[ordinal] / maxScore)
+                    .setScale(KeywordScoringKernel.SCORE_SCALE, RoundingMode.HALF_UP);
+            if (score.signum() > 0 && score.compareTo(retention.getMinScore()) >= 0) {
+                hits.add(new Hit(ordinal, score));
+            }
+        }
+        if (retention.isTopK() && hits.size() > retention.getMaxResults()) {
+            hits.sort(Comparator.comparing(Hit::score).reversed().thenComparingInt(Hit::ordinal));
+            hits = new ArrayList<>(hits.subList(0, retention.getMaxResults()));
+        }
+        hits.sort(Comparator.comparingInt(Hit::ordinal));
+
+        List<MatchRow> rows = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            SparseTermVector document = index.document(hit.ordinal());
+            IntList matched = new IntList();
+            for (int k = 0; k < keywordTerms.length; k++) {
+                if (containsAny(document, keywordTerms[k])) {
+                    matched.add(k);
+                }
+            }
+            ProfessorProfile profile = catalog.get(hit.ordinal());
+            rows.add(new MatchRow(tenantId, cvId, profile.getId(), hit.score(), matched.toArray(),
+                    keywords.size(), profile.getKeywordCount(), matched.size()));
+        }
+        return rows;
+    }
+
+    private Bm25Index index(ProfessorCatalog catalog) {
+        CorpusStatistics.Snapshot statistics = corpusStatisticsService.current();
+        Bm25Index built = index.get();
+        if (built != null && built.getCatalogVersion() == catalog.getVersion()
+                && built.getStatisticsVersion() == statistics.getVersion()) {
+            return built;
+        }
+        synchronized (this) {
+            built = index.get();
+            if (built != null && built.getCatalogVersion() == catalog.getVersion()
+                    && built.getStatisticsVersion() == statistics.getVersion()) {
+                return built;
+            }
+            long started = System.currentTimeMillis();
+            Set<UUID> changed = built != null && built.getCatalogVersion() == catalog.getVersion()
+                    && built.getStatisticsVersion() < statistics.getVersion()
+                    ? corpusStatisticsService.changedBetween(built.getStatisticsVersion(), statistics.getVersion())
+                    : null;
+            if (changed != null) {
+                built = built.update(statistics, changed);
+                log.debug("Updated BM25 index of catalog v{} to statistics v{} ({} changed documents) in {} ms",
+                        catalog.getVersion(), statistics.getVersion(), changed.size(),
+                        System.currentTimeMillis() - started);
+            } else {
+                built = Bm25Index.build(catalog, statistics, k1, b);
+                log.info("Built BM25 index for catalog v{} / statistics v{} ({} terms) in {} ms",
+                        catalog.getVersion(), statistics.getVersion(), statistics.getTermCount(),
+                        System.currentTimeMillis() - started);
+            }
+            index.set(built);
+            return built;
+        }
+    }
+
+    private static boolean containsAny(SparseTermVector document, int[] termIds) {
+        for (int termId : termIds) {
+            if (document.contains(termId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Hit {
+        private final int ordinal;
+        private final BigDecimal score;
+
+        private Hit(int ordinal, BigDecimal score) {
+            this.ordinal = ordinal;
+            this.score = score;
+        }
+
+        private int ordinal() {
+            return ordinal;
+        }
+
+        private BigDecimal score() {
+            return score;
+        }
+    }
+}
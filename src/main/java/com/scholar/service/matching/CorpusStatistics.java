@@ -0,0 +1,288 @@
+package com.scholar.service.matching;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incrementally maintained term statistics over the professor corpus.
+ * <p>
+ * Each professor document is stored once as a {@link SparseTermVector}; adding, replacing or
+ * removing a document adjusts document frequencies and the total corpus length by the difference
+ * between its old and new vectors, so a professor edit costs O(document terms). Term ids and
+ * document slots are assigned on first sight and never reused.
+ * <p>
+ * Document frequencies and document vectors live in fixed-size chunks that snapshots share with
+ * the live statistics. Taking a snapshot copies only the chunk directories; the first write to a
+ * chunk after a snapshot copies that chunk. A bounded log of changed documents lets index holders
+ * apply the changes since their snapshot instead of rebuilding. All methods are thread-safe.
+ */
+public final class CorpusStatistics {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_LOGGED_CHANGES = 8192;
+
+    // Append-only, so snapshots read them directly and only honor ids below their own counts
+    private Map<String, Integer> termIds = new ConcurrentHashMap<>();
+    private Map<UUID, Integer> documentSlots = new ConcurrentHashMap<>();
+
+    private int[][] documentFrequency = new int[0][];
+    private boolean[] sharedFrequencyChunks = new boolean[0];
+    private SparseTermVector[][] documents = new SparseTermVector[0][];
+    private boolean[] sharedDocumentChunks = new boolean[0];
+    private int documentCount;
+    private long totalLength;
+    private long version;
+
+    // Versions and ids of recent document changes, oldest first
+    private final ArrayDeque<Change> changes = new ArrayDeque<>();
+    private long loggedSince;
+
+    /**
+     * Adds or replaces a document; a blank text removes it.
+     *
+     * @param documentId the professor identifier
+     * @param text text produced by {@link MatchText#corpusText}
+     */
+    public synchronized void put(UUID documentId, String text) {
+        List<String> terms = MatchText.terms(text);
+        if (terms.isEmpty()) {
+            remove(documentId);
+            return;
+        }
+        int[] sequence = new int[terms.size()];
+        for (int i = 0; i < sequence.length; i++) {
+            sequence[i] = termId(terms.get(i));
+        }
+        SparseTermVector vector = SparseTermVector.of(sequence);
+        Integer slot = documentSlots.get(documentId);
+        if (slot == null) {
+            slot = documentSlots.size();
+            documentSlots.put(documentId, slot);
+        }
+        SparseTermVector previous = setDocument(slot, vector);
+        if (previous != null) {
+            subtract(previous);
+        } else {
+            documentCount++;
+        }
+        for (int i = 0; i < vector.size(); i++) {
+            addFrequency(vector.termId(i), 1);
+        }
+        totalLength += vector.getLength();
+        logChange(documentId);
+    }
+
+    /**
+     * Removes a document if present.
+     */
+    public synchronized void remove(UUID documentId) {
+        Integer slot = documentSlots.get(documentId);
+        SparseTermVector previous = slot != null ? setDocument(slot, null) : null;
+        if (previous != null) {
+            subtract(previous);
+            documentCount--;
+            logChange(documentId);
+        }
+    }
+
+    /**
+     * Drops all documents and terms.
+     */
+    public synchronized void clear() {
+        // Snapshots keep reading the maps they were taken with
+        termIds = new ConcurrentHashMap<>();
+        documentSlots = new ConcurrentHashMap<>();
+        documentFrequency = new int[0][];
+        sharedFrequencyChunks = new boolean[0];
+        documents = new SparseTermVector[0][];
+        sharedDocumentChunks = new boolean[0];
+        documentCount = 0;
+        totalLength = 0;
+        version++;
+        changes.clear();
+        loggedSince = version;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized int getDocumentCount() {
+        return documentCount;
+    }
+
+    /**
+     * Returns the documents changed after one version up to and including another.
+     *
+     * @param fromVersion version the caller's view reflects
+     * @param toVersion version the caller moves to
+     * @return the changed document ids, or null if the log no longer reaches back to {@code fromVersion}
+     */
+    public synchronized Set<UUID> changedBetween(long fromVersion, long toVersion) {
+        if (fromVersion < loggedSince) {
+            return null;
+        }
+        Set<UUID> changed = new HashSet<>();
+        for (Change change : changes) {
+            if (change.version > fromVersion && change.version <= toVersion) {
+                changed.add(change.documentId);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns an immutable view of the current statistics; later changes copy the chunks they touch.
+     */
+    public synchronized Snapshot snapshot() {
+        Arrays.fill(sharedFrequencyChunks, true);
+        Arrays.fill(sharedDocumentChunks, true);
+        return new Snapshot(version, termIds, termIds.size(), documentFrequency.clone(), documentSlots,
+                documentSlots.size(), documents.clone(), documentCount, totalLength);
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = termIds.size();
+            termIds.put(term, id);
+        }
+        return id;
+    }
+
+    private void addFrequency(int termId, int delta) {
+        int chunk = termId >>> CHUNK_BITS;
+        if (chunk >= documentFrequency.length) {
+            int chunks = Math.max(chunk + 1, documentFrequency.length * 2);
+            documentFrequency = Arrays.copyOf(documentFrequency, chunks);
+            sharedFrequencyChunks = Arrays.copyOf(sharedFrequencyChunks, chunks);
+        }
+        if (documentFrequency[chunk] == null) {
+            documentFrequency[chunk] = new int[CHUNK_SIZE];
+        } else if (sharedFrequencyChunks[chunk]) {
+            documentFrequency[chunk] = documentFrequency[chunk].clone();
+            sharedFrequencyChunks[chunk] = false;
+        }
+        documentFrequency[chunk][termId & CHUNK_MASK] += delta;
+    }
+
+    private SparseTermVector setDocument(int slot, SparseTermVector vector) {
+        int chunk = slot >>> CHUNK_BITS;
+        if (chunk >= documents.length) {
+            int chunks = Math.max(chunk + 1, documents.length * 2);
+            documents = Arrays.copyOf(documents, chunks);
+            sharedDocumentChunks = Arrays.copyOf(sharedDocumentChunks, chunks);
+        }
+        if (documents[chunk] == null) {
+            documents[chunk] = new SparseTermVector[CHUNK_SIZE];
+        } else if (sharedDocumentChunks[chunk]) {
+            documents[chunk] = documents[chunk].clone();
+            sharedDocumentChunks[chunk] = false;
+        }
+        SparseTermVector previous = documents[chunk][slot & CHUNK_MASK];
+        documents[chunk][slot & CHUNK_MASK] = vector;
+        return previous;
+    }
+
+    private void subtract(SparseTermVector vector) {
+        for (int i = 0; i < vector.size(); i++) {
+            addFrequency(vector.termId(i), -1);
+        }
+        totalLength -= vector.getLength();
+    }
+
+    private void logChange(UUID documentId) {
+        version++;
+        changes.addLast(new Change(version, documentId));
+        if (changes.size() > MAX_LOGGED_CHANGES) {
+            loggedSince = changes.removeFirst().version;
+        }
+    }
+
+    private static final class Change {
+        private final long version;
+        private final UUID documentId;
+
+        private Change(long version, UUID documentId) {
+            this.version = version;
+            this.documentId = documentId;
+        }
+    }
+
+    /**
+     * Consistent, immutable view of the statistics at one version.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final Map<String, Integer> termIds;
+        private final int termCount;
+        private final int[][] documentFrequency;
+        private final Map<UUID, Integer> documentSlots;
+        private final int slotCount;
+        private final SparseTermVector[][] documents;
+        private final int documentCount;
+        private final long totalLength;
+
+        private Snapshot(long version, Map<String, Integer> termIds, int termCount, int[][] documentFrequency,
+                         Map<UUID, Integer> documentSlots, int slotCount, SparseTermVector[][] documents,
+                         int documentCount, long totalLength) {
+            this.version = version;
+            this.termIds = termIds;
+            this.termCount = termCount;
+            this.documentFrequency = documentFrequency;
+            this.documentSlots = documentSlots;
+            this.slotCount = slotCount;
+            this.documents = documents;
+            this.documentCount = documentCount;
+            this.totalLength = totalLength;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Returns the id of a term, or -1 if the corpus had not seen it at this version.
+         */
+        public int termId(String term) {
+            Integer id = termIds.get(term);
+            return id != null && id < termCount ? id : -1;
+        }
+
+        public int getTermCount() {
+            return termCount;
+        }
+
+        public int documentFrequency(int termId) {
+            int chunk = termId >>> CHUNK_BITS;
+            int[] frequencies = chunk < documentFrequency.length ? documentFrequency[chunk] : null;
+            return frequencies != null ? frequencies[termId & CHUNK_MASK] : 0;
+        }
+
+        public int getDocumentCount() {
+            return documentCount;
+        }
+
+        public double getAverageDocumentLength() {
+            return documentCount == 0 ? 0 : (double) totalLength / documentCount;
+        }
+
+        public SparseTermVector document(UUID documentId) {
+            Integer slot = documentSlots.get(documentId);
+            if (slot == null || slot >= slotCount) {
+                return SparseTermVector.EMPTY;
+            }
+            SparseTermVector[] chunk = documents[slot >>> CHUNK_BITS];
+            SparseTermVector vector = chunk != null ? chunk[slot & CHUNK_MASK] : null;
+            return vector != null ? vector : SparseTermVector.EMPTY;
+        }
+    }
+}
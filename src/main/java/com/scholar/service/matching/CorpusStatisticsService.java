@@ -0,0 +1,144 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.ProfessorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maintains {@link CorpusStatistics} over the ACTIVE professors' research area and publications.
+ * <p>
+ * The corpus is loaded once; afterwards each committed professor change only queues the professor
+ * id, and the next reader reloads just the queued professors and applies them as deltas. A full
+ * reload happens only when the professor table changes outside the application. Snapshots share
+ * unchanged statistics with the live corpus, and the changes between two versions stay available
+ * for indexes that update in place.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CorpusStatisticsService {
+
+    private final ProfessorRepository professorRepository;
+
+    private final CorpusStatistics statistics = new CorpusStatistics();
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<CorpusStatistics.Snapshot> snapshot = new AtomicReference<>();
+    private volatile boolean loaded;
+    private volatile ProfessorRepository.CatalogStamp lastStamp;
+
+    /**
+     * Returns the current statistics, applying queued professor changes first.
+     *
+     * @return an immutable statistics snapshot
+     */
+    public CorpusStatistics.Snapshot current() {
+        synchronized (this) {
+            if (!loaded) {
+                reload();
+            } else if (!pending.isEmpty()) {
+                applyPending();
+            }
+            CorpusStatistics.Snapshot cached = snapshot.get();
+            if (cached == null || cached.getVersion() != statistics.getVersion()) {
+                cached = statistics.snapshot();
+                snapshot.set(cached);
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Returns the professors whose documents changed between two statistics versions.
+     *
+     * @return the professor ids, or null if the changes are no longer known and indexes must be rebuilt
+     */
+    public Set<UUID> changedBetween(long fromVersion, long toVersion) {
+        return statistics.changedBetween(fromVersion, toVersion);
+    }
+
+    /**
+     * Queues a professor for a delta update once its change has been committed.
+     *
+     * @param event the professor changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProfessorChanged(ProfessorChangedEvent event) {
+        if (loaded) {
+            pending.add(event.getProfessorId());
+        }
+    }
+
+    /**
+     * Detects professor changes made outside the application and schedules a full reload.
+     */
+    @Scheduled(fixedDelayString = "${scholar.matching.catalog.refresh-check-ms:60000}")
+    public void checkForExternalChanges() {
+        if (!loaded) {
+            return;
+        }
+        ProfessorRepository.CatalogStamp stamp = professorRepository.findCatalogStamp();
+        if (!sameStamp(stamp, lastStamp)) {
+            synchronized (this) {
+                // Changes made through the application also move the stamp; only reload for unexplained ones
+                if (pending.isEmpty() && !sameStamp(stamp, lastStamp)) {
+                    log.info("Professor table changed outside the application. Reloading corpus statistics.");
+                    loaded = false;
+                }
+            }
+        }
+    }
+
+    private void reload() {
+        long started = System.currentTimeMillis();
+        ProfessorRepository.CatalogStamp stamp = professorRepository.findCatalogStamp();
+        pending.clear();
+        statistics.clear();
+        for (ProfessorRepository.CorpusView view : professorRepository.findActiveCorpusViews()) {
+            statistics.put(view.getId(), MatchText.corpusText(view.getResearchArea(), view.getPublications()));
+        }
+        lastStamp = stamp;
+        loaded = true;
+        log.info("Loaded corpus statistics: {} documents in {} ms", statistics.getDocumentCount(),
+                System.currentTimeMillis() - started);
+    }
+
+    private void applyPending() {
+        List<UUID> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        ProfessorRepository.CatalogStamp stamp = professorRepository.findCatalogStamp();
+        Set<UUID> active = new HashSet<>();
+        for (ProfessorRepository.CorpusView view : professorRepository.findActiveCorpusViewsByIdIn(ids)) {
+            statistics.put(view.getId(), MatchText.corpusText(view.getResearchArea(), view.getPublications()));
+            active.add(view.getId());
+        }
+        for (UUID id : ids) {
+            if (!active.contains(id)) {
+                statistics.remove(id);
+            }
+        }
+        lastStamp = stamp;
+        log.debug("Applied {} professor changes to corpus statistics", ids.size());
+    }
+
+    private static boolean sameStamp(ProfessorRepository.CatalogStamp a, ProfessorRepository.CatalogStamp b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Objects.equals(a.getActiveCount(), b.getActiveCount())
+                && Objects.equals(a.getTotalCount(), b.getTotalCount())
+                && Objects.equals(a.getLastUpdatedAt(), b.getLastUpdatedAt());
+    }
+}
@@ -0,0 +1,81 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.CvKeywordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Automaton over every distinct normalized CV keyword in the system.
+ * <p>
+ * Scanning a professor text once yields exactly the keywords that text contains, which turns
+ * "which CVs can match this professor" into an equality lookup on {@code idx_cv_keyword_normalized}.
+ * The dictionary is loaded with an index-only scan and rebuilt lazily after CV keywords change;
+ * keywords of deleted CVs may linger until then, which only widens the lookup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CvKeywordDictionary {
+
+    private final CvKeywordRepository cvKeywordRepository;
+
+    private final AtomicReference<KeywordAutomaton> current = new AtomicReference<>();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long builtAtChange = -1;
+
+    /**
+     * Returns the distinct CV keywords contained in a professor text.
+     *
+     * @param professorText text produced by {@link MatchText#professorText}
+     * @return contained keywords, possibly empty
+     */
+    public List<String> keywordsIn(String professorText) {
+        KeywordAutomaton automaton = current();
+        boolean[] seen = new boolean[automaton.size()];
+        int[] matched = new int[automaton.size()];
+        int count = automaton.scan(professorText, seen, matched);
+        String[] keywords = new String[count];
+        for (int i = 0; i < count; i++) {
+            keywords[i] = automaton.keyword(matched[i]);
+        }
+        return List.of(keywords);
+    }
+
+    /**
+     * Marks the dictionary stale once new CV keywords have been committed.
+     *
+     * @param event the CV keywords changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCvKeywordsChanged(CvKeywordsChangedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    private KeywordAutomaton current() {
+        KeywordAutomaton automaton = current.get();
+        if (automaton != null && builtAtChange == changes.get()) {
+            return automaton;
+        }
+        synchronized (this) {
+            automaton = current.get();
+            if (automaton != null && builtAtChange == changes.get()) {
+                return automaton;
+            }
+            long started = System.currentTimeMillis();
+            long changeMark = changes.get();
+            automaton = KeywordAutomaton.compile(cvKeywordRepository.findDistinctNormalizedKeywords());
+            current.set(automaton);
+            builtAtChange = changeMark;
+            log.info("Built CV keyword dictionary: {} keywords in {} ms", automaton.size(),
+                    System.currentTimeMillis() - started);
+            return automaton;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.scholar.service.matching;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Event published when the keyword set of a CV has been replaced.
+ */
+@Getter
+public class CvKeywordsChangedEvent extends ApplicationEvent {
+    private final UUID cvId;
+    private final UUID tenantId;
+
+    public CvKeywordsChangedEvent(Object source, UUID cvId, UUID tenantId) {
+        super(source);
+        this.cvId = cvId;
+        this.tenantId = tenantId;
+    }
+}
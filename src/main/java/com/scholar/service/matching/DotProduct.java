@@ -0,0 +1,74 @@
+package com.scholar.service.matching;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dot product of a query vector with a row of a contiguous float matrix.
+ * <p>
+ * {@link #best()} returns the SIMD implementation backed by {@code jdk.incubator.vector} when that
+ * module is present in the running JVM ({@code --add-modules jdk.incubator.vector}), and a scalar
+ * loop otherwise. The SIMD class is only loaded after the module check, so a JVM started without
+ * the flag never touches it.
+ */
+public interface DotProduct {
+
+    /**
+     * Computes {@code sum(query[i] * matrix[offset + i])} for {@code i < length}.
+     */
+    float dot(float[] query, float[] matrix, int offset, int length);
+
+    /**
+     * Returns the fastest implementation available in this JVM.
+     */
+    static DotProduct best() {
+        return Holder.BEST;
+    }
+
+    /**
+     * Plain loop, unrolled by four; used when the Vector API is unavailable.
+     */
+    final class Scalar implements DotProduct {
+        @Override
+        public float dot(float[] query, float[] matrix, int offset, int length) {
+            float s0 = 0;
+            float s1 = 0;
+            float s2 = 0;
+            float s3 = 0;
+            int i = 0;
+            for (; i + 3 < length; i += 4) {
+                s0 += query[i] * matrix[offset + i];
+                s1 += query[i + 1] * matrix[offset + i + 1];
+                s2 += query[i + 2] * matrix[offset + i + 2];
+                s3 += query[i + 3] * matrix[offset + i + 3];
+            }
+            for (; i < length; i++) {
+                s0 += query[i] * matrix[offset + i];
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+    }
+
+    @Slf4j
+    final class Holder {
+        private static final DotProduct BEST = select();
+
+        private Holder() {
+        }
+
+        private static DotProduct select() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    DotProduct simd = (DotProduct) Class.forName("com.scholar.service.matching.VectorApiDotProduct")
+                            .getDeclaredConstructor().newInstance();
+                    log.info("Using Vector API dot products ({})", simd);
+                    return simd;
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    log.warn("Vector API present but unusable, falling back to scalar dot products: {}", e.toString());
+                }
+            } else {
+                log.info("jdk.incubator.vector not enabled; using scalar dot products");
+            }
+            return new Scalar();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.scholar.service.matching;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signed feature hashing of terms into a fixed-width float vector.
+ * <p>
+ * A term adds its weight to bucket {@code hash & (dimensions - 1)} with a sign taken from another
+ * hash bit, so collisions cancel out in expectation instead of always inflating similarity.
+ * Vectors are L2-normalized, which turns a dot product into a cosine similarity.
+ */
+public final class FeatureHasher {
+
+    private final int dimensions;
+
+    public FeatureHasher(int dimensions) {
+        if (dimensions < 8 || Integer.bitCount(dimensions) != 1) {
+            throw new IllegalArgumentException("Hashed vector dimensions must be a power of two >= 8: " + dimensions);
+        }
+        this.dimensions = dimensions;
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Hashes terms into {@code target[offset .. offset + dimensions)} and normalizes that range.
+     *
+     * @return false if no term was hashed (the range stays zero)
+     */
+    public boolean hash(List<String> terms, float weight, float[] target, int offset) {
+        for (String term : terms) {
+            add(term, weight, target, offset);
+        }
+        return normalize(target, offset);
+    }
+
+    /**
+     * Hashes every term of weighted CV keywords into {@code target[0 .. dimensions)} and normalizes it.
+     * Keywords are added in a fixed order so the float sums do not depend on map iteration order.
+     *
+     * @return false if no term was hashed
+     */
+    public boolean hashKeywords(Map<String, BigDecimal> keywordWeights, float[] target) {
+        List<Map.Entry<String, BigDecimal>> keywords = new ArrayList<>(keywordWeights.entrySet());
+        keywords.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+        for (Map.Entry<String, BigDecimal> keyword : keywords) {
+            for (String term : MatchText.terms(keyword.getKey())) {
+                add(term, keyword.getValue().floatValue(), target, 0);
+            }
+        }
+        return normalize(target, 0);
+    }
+
+    /**
+     * Adds one weighted term to {@code target[offset .. offset + dimensions)} without normalizing.
+     */
+    public void add(String term, float weight, float[] target, int offset) {
+        int h = mix(term.hashCode());
+        target[offset + (h & (dimensions - 1))] += (h & 0x80000000) == 0 ? weight : -weight;
+    }
+
+    /**
+     * L2-normalizes {@code target[offset .. offset + dimensions)}.
+     *
+     * @return false if the range is all zeros
+     */
+    public boolean normalize(float[] target, int offset) {
+        double norm = 0;
+        for (int i = 0; i < dimensions; i++) {
+            norm += (double) target[offset + i] * target[offset + i];
+        }
+        if (norm == 0) {
+            return false;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < dimensions; i++) {
+            target[offset + i] *= scale;
+        }
+        return true;
+    }
+
+    // Murmur3 finalizer: spreads String.hashCode over all bits, including the sign bit
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
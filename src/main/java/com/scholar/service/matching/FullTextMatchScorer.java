@@ -0,0 +1,75 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import com.scholar.domain.repository.ProfessorFullTextRepository.FullTextHit;
+import com.scholar.domain.repository.ProfessorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pushes keyword matching down to PostgreSQL full-text search.
+ * <p>
+ * The CV keywords become one OR-query against the GIN-indexed {@code professor.search_vector}
+ * (research area, department and publications), and only the top professors by {@code ts_rank}
+ * come back to the JVM, so this scorer never needs the in-memory catalog. Matching is stemmed and
+ * word-based rather than substring-based, and the score is the normalized {@code ts_rank}, so
+ * results are not comparable one-to-one with the {@code keyword} scorer.
+ */
+@Component
+@Slf4j
+public class FullTextMatchScorer implements MatchScorer {
+
+    public static final String NAME = "fts";
+
+    private final ProfessorRepository professorRepository;
+    private final int maxCandidates;
+
+    public FullTextMatchScorer(ProfessorRepository professorRepository,
+                               @Value("${scholar.matching.fts.max-candidates:2000}") int maxCandidates) {
+        this.professorRepository = professorRepository;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean usesCatalog() {
+        return false;
+    }
+
+    @Override
+    public List<MatchRow> score(UUID tenantId, UUID cvId, Map<String, BigDecimal> cvKeywordMap,
+                                ProfessorCatalog catalog, BitSet eligible, MatchRetention retention) {
+        // Keyword positions are the keyword ids of the keyword kernel order
+        List<String> keywords = KeywordScoringKernel.order(cvKeywordMap).stream().map(Map.Entry::getKey).toList();
+
+        int limit = retention.isTopK() ? Math.min(retention.getMaxResults(), maxCandidates) : maxCandidates;
+        long started = System.currentTimeMillis();
+        List<FullTextHit> hits = professorRepository.searchActive(keywords, limit);
+        log.debug("Full-text search returned {} professors for {} keywords in {} ms",
+                hits.size(), keywords.size(), System.currentTimeMillis() - started);
+
+        List<MatchRow> rows = new ArrayList<>(hits.size());
+        for (FullTextHit hit : hits) {
+            BigDecimal score = BigDecimal.valueOf(hit.getRank()).setScale(KeywordScoringKernel.SCORE_SCALE, RoundingMode.HALF_UP);
+            if (score.signum() == 0 || score.compareTo(retention.getMinScore()) < 0) {
+                continue;
+            }
+            rows.add(new MatchRow(tenantId, cvId, hit.getProfessorId(), score, hit.getMatchedKeywordIds(),
+                    keywords.size(), hit.getProfessorKeywordCount(), hit.getMatchedKeywordIds().length));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,121 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cosine similarity between feature-hashed CV keyword and professor term vectors.
+ * <p>
+ * Each term of a CV keyword is hashed with the keyword's weight; professor rows come from a
+ * {@link HashedVectorIndex} built once per catalog version. Scoring is a full-catalog scan with
+ * {@link DotProduct#best()}. Similarities below {@code scholar.matching.hashed.min-similarity}
+ * are treated as no match, which also absorbs small values caused by hash collisions. The
+ * reported matched keywords are the CV keywords contained in the professor text.
+ */
+@Component
+@Slf4j
+public class HashedCosineMatchScorer implements MatchScorer {
+
+    public static final String NAME = "hashed-cosine";
+
+    private final FeatureHasher hasher;
+    private final float minSimilarity;
+    private final DotProduct dotProduct = DotProduct.best();
+    private final AtomicReference<HashedVectorIndex> index = new AtomicReference<>();
+
+    public HashedCosineMatchScorer(@Value("${scholar.matching.hashed.dimensions:256}") int dimensions,
+                                   @Value("${scholar.matching.hashed.min-similarity:0.1}") float minSimilarity) {
+        this.hasher = new FeatureHasher(dimensions);
+        this.minSimilarity = minSimilarity;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MatchRow> score(UUID tenantId, UUID cvId, Map<String, BigDecimal> cvKeywordMap,
+                                ProfessorCatalog catalog, BitSet eligible, MatchRetention retention) {
+        return score(index(catalog), catalog, hasher, dotProduct, minSimilarity, tenantId, cvId, cvKeywordMap,
+                eligible, retention);
+    }
+
+    /**
+     * Scores a CV against a prebuilt index.
+     */
+    static List<MatchRow> score(HashedVectorIndex index, ProfessorCatalog catalog, FeatureHasher hasher,
+                                DotProduct dotProduct, float minSimilarity, UUID tenantId, UUID cvId,
+                                Map<String, BigDecimal> cvKeywordMap, BitSet eligible, MatchRetention retention) {
+        List<Map.Entry<String, BigDecimal>> keywords = KeywordScoringKernel.order(cvKeywordMap);
+
+        float[] query = new float[hasher.getDimensions()];
+        if (!hasher.hashKeywords(cvKeywordMap, query)) {
+            return List.of();
+        }
+
+        float[] similarities = new float[index.size()];
+        index.scan(query, dotProduct, similarities);
+
+        List<Integer> ordinals = new ArrayList<>();
+        for (int ordinal = 0; ordinal < similarities.length; ordinal++) {
+            if ((eligible == null || eligible.get(ordinal)) && similarities[ordinal] >= minSimilarity
+                    && toScore(similarities[ordinal]).compareTo(retention.getMinScore()) >= 0) {
+                ordinals.add(ordinal);
+            }
+        }
+        if (retention.isTopK() && ordinals.size() > retention.getMaxResults()) {
+            ordinals.sort(Comparator.comparingDouble((Integer o) -> similarities[o]).reversed()
+                    .thenComparingInt(o -> o));
+            ordinals = new ArrayList<>(ordinals.subList(0, retention.getMaxResults()));
+            ordinals.sort(Comparator.naturalOrder());
+        }
+        List<MatchRow> rows = new ArrayList<>(ordinals.size());
+        for (int ordinal : ordinals) {
+            ProfessorProfile profile = catalog.get(ordinal);
+            IntList matched = new IntList();
+            for (int k = 0; k < keywords.size(); k++) {
+                if (profile.getText().contains(keywords.get(k).getKey())) {
+                    matched.add(k);
+                }
+            }
+            rows.add(new MatchRow(tenantId, cvId, profile.getId(), toScore(similarities[ordinal]), matched.toArray(),
+                    keywords.size(), profile.getKeywordCount(), matched.size()));
+        }
+        return rows;
+    }
+
+    private static BigDecimal toScore(float similarity) {
+        return BigDecimal.valueOf(Math.min(1f, similarity)).setScale(KeywordScoringKernel.SCORE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private HashedVectorIndex index(ProfessorCatalog catalog) {
+        HashedVectorIndex built = index.get();
+        if (built != null && built.getCatalogVersion() == catalog.getVersion()) {
+            return built;
+        }
+        synchronized (this) {
+            built = index.get();
+            if (built == null || built.getCatalogVersion() != catalog.getVersion()) {
+                long started = System.currentTimeMillis();
+                built = HashedVectorIndex.build(catalog, hasher);
+                index.set(built);
+                log.info("Built hashed vector index for catalog v{}: {} professors x {} dimensions in {} ms",
+                        catalog.getVersion(), built.size(), built.getDimensions(), System.currentTimeMillis() - started);
+            }
+            return built;
+        }
+    }
+}
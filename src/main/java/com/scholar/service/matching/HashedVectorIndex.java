@@ -0,0 +1,62 @@
+package com.scholar.service.matching;
+
+/**
+ * L2-normalized feature-hashed vectors of every professor of a catalog snapshot, stored row-major
+ * in one contiguous float array ({@code ordinal * dimensions}).
+ * <p>
+ * Built once per catalog version, so the vectors are computed after professor writes rather than
+ * per query; a full-catalog scan is then a sequential dot-product loop over one array.
+ */
+public final class HashedVectorIndex {
+
+    private final long catalogVersion;
+    private final int dimensions;
+    private final float[] vectors;
+
+    private HashedVectorIndex(long catalogVersion, int dimensions, float[] vectors) {
+        this.catalogVersion = catalogVersion;
+        this.dimensions = dimensions;
+        this.vectors = vectors;
+    }
+
+    /**
+     * Hashes the terms of every professor text of a catalog; blank professors keep a zero row.
+     */
+    public static HashedVectorIndex build(ProfessorCatalog catalog, FeatureHasher hasher) {
+        int dimensions = hasher.getDimensions();
+        float[] vectors = new float[Math.multiplyExact(catalog.size(), dimensions)];
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            ProfessorProfile profile = catalog.get(ordinal);
+            if (!profile.isBlank()) {
+                hasher.hash(MatchText.terms(profile.getText()), 1f, vectors, ordinal * dimensions);
+            }
+        }
+        return new HashedVectorIndex(catalog.getVersion(), dimensions, vectors);
+    }
+
+    /**
+     * Computes the cosine similarity of a normalized query with every professor.
+     *
+     * @param query normalized query vector of {@link #getDimensions()} floats
+     * @param dotProduct the dot product implementation
+     * @param similarities receives one similarity per ordinal
+     */
+    public void scan(float[] query, DotProduct dotProduct, float[] similarities) {
+        int rows = vectors.length / dimensions;
+        for (int ordinal = 0, offset = 0; ordinal < rows; ordinal++, offset += dimensions) {
+            similarities[ordinal] = dotProduct.dot(query, vectors, offset, dimensions);
+        }
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public int size() {
+        return vectors.length / dimensions;
+    }
+}
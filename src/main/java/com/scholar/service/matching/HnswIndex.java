@@ -0,0 +1,509 @@
+package com.scholar.service.matching;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical navigable small world graph over L2-normalized vectors, keyed by professor id.
+ * <p>
+ * Similarity is the dot product (cosine for normalized vectors). Searches take a shared lock and
+ * may run concurrently; inserts and deletes take an exclusive lock. A delete only tombstones its
+ * node: the node keeps routing searches but is never returned, and re-inserting an id tombstones
+ * the old node first. {@link #getDeletedCount()} lets the owner decide when to rebuild.
+ * The graph round-trips through {@link #writeTo} / {@link #readFrom} so it survives restarts.
+ */
+public final class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357;
+    private static final int FORMAT_VERSION = 1;
+
+    private final int dimensions;
+    private final int m;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final DotProduct dotProduct;
+    private final Random random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Visited> visited = ThreadLocal.withInitial(Visited::new);
+
+    private float[] vectors;
+    private UUID[] ids;
+    private int[] textHashes;
+    // links[node][level] = {count, neighbour...}
+    private int[][][] links;
+    private final BitSet deleted = new BitSet();
+    private final Map<UUID, Integer> liveNodes = new HashMap<>();
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions, int m, int efConstruction, DotProduct dotProduct) {
+        this(dimensions, m, efConstruction, dotProduct, 16);
+    }
+
+    private HnswIndex(int dimensions, int m, int efConstruction, DotProduct dotProduct, int capacity) {
+        if (m < 2) {
+            throw new IllegalArgumentException("HNSW m must be at least 2");
+        }
+        this.dimensions = dimensions;
+        this.m = m;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelFactor = 1.0 / Math.log(m);
+        this.dotProduct = dotProduct;
+        this.random = new Random(42);
+        this.vectors = new float[capacity * dimensions];
+        this.ids = new UUID[capacity];
+        this.textHashes = new int[capacity];
+        this.links = new int[capacity][][];
+    }
+
+    /**
+     * Inserts a vector for an id, replacing any live node of the same id.
+     *
+     * @param id the professor identifier
+     * @param textHash hash of the text the vector was computed from, used to detect changes
+     * @param vector L2-normalized vector of {@link #getDimensions()} floats
+     */
+    public void insert(UUID id, int textHash, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = liveNodes.remove(id);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            int node = allocate(id, textHash, vector);
+            int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelFactor);
+            links[node] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                links[node][l] = new int[maxLinks(l) + 1];
+            }
+            liveNodes.put(id, node);
+
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return;
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                current = greedyClosest(vector, current, l);
+            }
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<Candidate> nearest = searchLayer(vector, current, efConstruction, l);
+                int max = maxLinks(l);
+                for (int i = 0; i < Math.min(max, nearest.size()); i++) {
+                    int neighbour = nearest.get(i).node;
+                    addLink(node, l, neighbour);
+                    addLink(neighbour, l, node);
+                }
+                current = nearest.get(0).node;
+            }
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tombstones the live node of an id.
+     *
+     * @return true if the id was present
+     */
+    public boolean delete(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = liveNodes.remove(id);
+            if (node == null) {
+                return false;
+            }
+            deleted.set(node);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the approximately {@code k} most similar live vectors, best first.
+     *
+     * @param query L2-normalized query vector
+     * @param k number of results
+     * @param ef size of the dynamic candidate list; larger is slower and more accurate
+     * @return result ids with their similarity, best first
+     */
+    public List<Neighbour> search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || liveNodes.isEmpty()) {
+                return List.of();
+            }
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedyClosest(query, current, l);
+            }
+            List<Candidate> nearest = searchLayer(query, current, Math.max(ef, k), 0);
+            List<Neighbour> results = new ArrayList<>(Math.min(k, nearest.size()));
+            for (Candidate candidate : nearest) {
+                if (!deleted.get(candidate.node)) {
+                    results.add(new Neighbour(ids[candidate.node], candidate.similarity));
+                    if (results.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the text hash stored for a live id, or null if the id is not indexed.
+     */
+    public Integer textHash(UUID id) {
+        lock.readLock().lock();
+        try {
+            Integer node = liveNodes.get(id);
+            return node != null ? textHashes[node] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of the live ids.
+     */
+    public Set<UUID> liveIds() {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(liveNodes.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the live vector of an id into {@code target}.
+     *
+     * @return false if the id is not indexed
+     */
+    public boolean copyVector(UUID id, float[] target) {
+        lock.readLock().lock();
+        try {
+            Integer node = liveNodes.get(id);
+            if (node == null) {
+                return false;
+            }
+            System.arraycopy(vectors, node * dimensions, target, 0, dimensions);
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public int getEfConstruction() {
+        return efConstruction;
+    }
+
+    public int getLiveCount() {
+        lock.readLock().lock();
+        try {
+            return liveNodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDeletedCount() {
+        lock.readLock().lock();
+        try {
+            return size - liveNodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serializes the graph, including tombstoned nodes.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(dimensions);
+            out.writeInt(m);
+            out.writeInt(efConstruction);
+            out.writeInt(size);
+            out.writeInt(entryPoint);
+            out.writeInt(maxLevel);
+            for (int node = 0; node < size; node++) {
+                out.writeLong(ids[node].getMostSignificantBits());
+                out.writeLong(ids[node].getLeastSignificantBits());
+                out.writeInt(textHashes[node]);
+                out.writeBoolean(deleted.get(node));
+                for (int i = 0; i < dimensions; i++) {
+                    out.writeFloat(vectors[node * dimensions + i]);
+                }
+                out.writeInt(links[node].length);
+                for (int[] levelLinks : links[node]) {
+                    out.writeInt(levelLinks[0]);
+                    for (int i = 1; i <= levelLinks[0]; i++) {
+                        out.writeInt(levelLinks[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads a graph written by {@link #writeTo}.
+     *
+     * @throws IOException if the stream is not a compatible index
+     */
+    public static HnswIndex readFrom(DataInputStream in, DotProduct dotProduct) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Not a compatible HNSW index file");
+        }
+        int dimensions = in.readInt();
+        int m = in.readInt();
+        int efConstruction = in.readInt();
+        int size = in.readInt();
+        HnswIndex index = new HnswIndex(dimensions, m, efConstruction, dotProduct, Math.max(16, size));
+        index.entryPoint = in.readInt();
+        index.maxLevel = in.readInt();
+        for (int node = 0; node < size; node++) {
+            index.ids[node] = new UUID(in.readLong(), in.readLong());
+            index.textHashes[node] = in.readInt();
+            if (in.readBoolean()) {
+                index.deleted.set(node);
+            } else {
+                index.liveNodes.put(index.ids[node], node);
+            }
+            for (int i = 0; i < dimensions; i++) {
+                index.vectors[node * dimensions + i] = in.readFloat();
+            }
+            int levels = in.readInt();
+            index.links[node] = new int[levels][];
+            for (int l = 0; l < levels; l++) {
+                int count = in.readInt();
+                int[] levelLinks = new int[index.maxLinks(l) + 1];
+                levelLinks[0] = count;
+                for (int i = 1; i <= count; i++) {
+                    levelLinks[i] = in.readInt();
+                }
+                index.links[node][l] = levelLinks;
+            }
+        }
+        index.size = size;
+        return index;
+    }
+
+    private int maxLinks(int level) {
+        return level == 0 ? 2 * m : m;
+    }
+
+    private int allocate(UUID id, int textHash, float[] vector) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            vectors = Arrays.copyOf(vectors, capacity * dimensions);
+            ids = Arrays.copyOf(ids, capacity);
+            textHashes = Arrays.copyOf(textHashes, capacity);
+            links = Arrays.copyOf(links, capacity);
+        }
+        int node = size++;
+        System.arraycopy(vector, 0, vectors, node * dimensions, dimensions);
+        ids[node] = id;
+        textHashes[node] = textHash;
+        return node;
+    }
+
+    private float similarity(float[] query, int node) {
+        return dotProduct.dot(query, vectors, node * dimensions, dimensions);
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] levelLinks = links[current][level];
+            for (int i = 1; i <= levelLinks[0]; i++) {
+                float s = similarity(query, levelLinks[i]);
+                if (s > best) {
+                    best = s;
+                    current = levelLinks[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one level.
+     *
+     * @return up to {@code ef} nodes, most similar first
+     */
+    private List<Candidate> searchLayer(float[] query, int start, int ef, int level) {
+        Visited seen = visited.get();
+        seen.reset(size);
+        PriorityQueue<Candidate> toVisit = new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.similarity).reversed());
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.similarity));
+        Candidate first = new Candidate(start, similarity(query, start));
+        seen.mark(start);
+        toVisit.add(first);
+        nearest.add(first);
+
+        while (!toVisit.isEmpty()) {
+            Candidate current = toVisit.poll();
+            if (nearest.size() >= ef && current.similarity < nearest.peek().similarity) {
+                break;
+            }
+            if (level >= links[current.node].length) {
+                continue;
+            }
+            int[] levelLinks = links[current.node][level];
+            for (int i = 1; i <= levelLinks[0]; i++) {
+                int neighbour = levelLinks[i];
+                if (!seen.mark(neighbour)) {
+                    continue;
+                }
+                float s = similarity(query, neighbour);
+                if (nearest.size() < ef || s > nearest.peek().similarity) {
+                    Candidate candidate = new Candidate(neighbour, s);
+                    toVisit.add(candidate);
+                    nearest.add(candidate);
+                    if (nearest.size() > ef) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+        List<Candidate> result = new ArrayList<>(nearest);
+        result.sort(Comparator.comparingDouble((Candidate c) -> c.similarity).reversed());
+        return result;
+    }
+
+    private void addLink(int node, int level, int neighbour) {
+        int[] levelLinks = links[node][level];
+        int count = levelLinks[0];
+        if (count < levelLinks.length - 1) {
+            levelLinks[++count] = neighbour;
+            levelLinks[0] = count;
+            return;
+        }
+        // Full: replace the least similar neighbour if the new one is closer
+        int nodeOffset = node * dimensions;
+        int worst = -1;
+        float worstSimilarity = dot(nodeOffset, neighbour * dimensions);
+        for (int i = 1; i <= count; i++) {
+            float s = dot(nodeOffset, levelLinks[i] * dimensions);
+            if (s < worstSimilarity) {
+                worstSimilarity = s;
+                worst = i;
+            }
+        }
+        if (worst > 0) {
+            levelLinks[worst] = neighbour;
+        }
+    }
+
+    private float dot(int offsetA, int offsetB) {
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vectors[offsetA + i] * vectors[offsetB + i];
+        }
+        return sum;
+    }
+
+    /**
+     * A search result.
+     */
+    public static final class Neighbour {
+        private final UUID id;
+        private final float similarity;
+
+        Neighbour(UUID id, float similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public float getSimilarity() {
+            return similarity;
+        }
+    }
+
+    private static final class Candidate {
+        private final int node;
+        private final float similarity;
+
+        private Candidate(int node, float similarity) {
+            this.node = node;
+            this.similarity = similarity;
+        }
+    }
+
+    /**
+     * Generation-stamped visited set, reused per thread to avoid clearing an array per search.
+     */
+    private static final class Visited {
+        private int[] marks = new int[0];
+        private int generation;
+
+        private void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[Math.max(size, marks.length * 2)];
+                generation = 0;
+            }
+            generation++;
+            if (generation == 0) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        /**
+         * @return true if the node was not visited yet
+         */
+        private boolean mark(int node) {
+            if (marks[node] == generation) {
+                return false;
+            }
+            marks[node] = generation;
+            return true;
+        }
+    }
+}
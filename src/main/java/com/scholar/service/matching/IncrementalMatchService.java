@@ -0,0 +1,250 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.CvKeywordRepository;
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import com.scholar.domain.repository.MatchResultRepository;
+import com.scholar.domain.repository.ProfessorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps match results current when a single professor or a CV's keyword set changes, without
+ * rescanning the catalog.
+ * <p>
+ * The professor text is scanned once against the {@link CvKeywordDictionary}; only CVs holding one
+ * of the contained keywords can match, and they are found through {@code idx_cv_keyword_normalized}.
+ * The professor is then rescored against each of those CVs with the regular kernel, its rows are
+ * upserted, and its rows for any other CV are deleted. The cost is proportional to the affected CVs.
+ * <p>
+ * The configured score floor is applied; a top-K limit is not, since enforcing it would require
+ * rescoring the whole catalog for every affected CV. The next full run of a CV trims it again.
+ * Only keyword scoring is maintained incrementally: corpus-statistics scorers change every CV's
+ * scores when one professor changes, so they rely on rematch jobs instead.
+ * <p>
+ * Changed professors are queued by id and re-matched one at a time on the dedicated
+ * {@code professorRematchExecutor}, so a bulk import neither floods the shared async executor nor
+ * re-matches a professor that changed several times while queued more than once.
+ * <p>
+ * A re-parsed CV is updated through its {@link KeywordDelta}: only professors holding an added or
+ * removed keyword are rescored, and the CV's other rows are only renumbered and rescored from the
+ * new keyword weights where that changes them.
+ */
+@Service
+@Slf4j
+public class IncrementalMatchService {
+
+    private final ProfessorRepository professorRepository;
+    private final CvKeywordRepository cvKeywordRepository;
+    private final MatchResultRepository matchResultRepository;
+    private final CvKeywordDictionary cvKeywordDictionary;
+    private final MatchEngine matchEngine;
+    private final ProfessorCatalogService professorCatalogService;
+    private final Executor professorRematchExecutor;
+    private final IncrementalMatchService self;
+    private final String scorerName;
+    private final double maxChangedFraction;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public IncrementalMatchService(ProfessorRepository professorRepository,
+                                   CvKeywordRepository cvKeywordRepository,
+                                   MatchResultRepository matchResultRepository,
+                                   CvKeywordDictionary cvKeywordDictionary,
+                                   MatchEngine matchEngine,
+                                   ProfessorCatalogService professorCatalogService,
+                                   @Qualifier("professorRematchExecutor") Executor professorRematchExecutor,
+                                   @Lazy IncrementalMatchService self,
+                                   @Value("${scholar.matching.scorer:keyword}") String scorerName,
+                                   @Value("${scholar.matching.delta.max-changed-fraction:0.5}") double maxChangedFraction) {
+        this.professorRepository = professorRepository;
+        this.cvKeywordRepository = cvKeywordRepository;
+        this.matchResultRepository = matchResultRepository;
+        this.cvKeywordDictionary = cvKeywordDictionary;
+        this.matchEngine = matchEngine;
+        this.professorCatalogService = professorCatalogService;
+        this.professorRematchExecutor = professorRematchExecutor;
+        this.self = self;
+        this.scorerName = scorerName;
+        this.maxChangedFraction = maxChangedFraction;
+    }
+
+    /**
+     * Queues a professor for re-matching once its change has been committed.
+     *
+     * @param event the professor changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProfessorChanged(ProfessorChangedEvent event) {
+        if (!KeywordMatchScorer.NAME.equals(scorerName) && !StreamingKeywordMatchScorer.NAME.equals(scorerName)) {
+            return;
+        }
+        pending.add(event.getProfessorId());
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            professorRematchExecutor.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            draining.set(false);
+            log.warn("Professor re-match executor rejected work; {} professors stay queued until the next change",
+                    pending.size());
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!pending.isEmpty()) {
+                UUID professorId = pending.iterator().next();
+                pending.remove(professorId);
+                try {
+                    self.rematchProfessor(professorId);
+                } catch (Exception e) {
+                    log.error("Incremental re-match failed for professor {}: {}", professorId, e.getMessage(), e);
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A professor queued after the loop ended but before the flag was cleared still needs a drain
+        if (!pending.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Rescores one professor against every CV that can match it and rewrites its match rows.
+     * An inactive or missing professor loses all rows that are not referenced by an email log.
+     *
+     * @param professorId the professor identifier
+     */
+    @Transactional
+    public void rematchProfessor(UUID professorId) {
+        long started = System.currentTimeMillis();
+        ProfessorProfile profile = professorRepository.findActiveMatchViewById(professorId)
+                .map(v -> ProfessorProfile.fromStored(v.getId(), v.getUniversityId(), v.getMatchText(),
+                        v.getMatchTerms(), v.getMatchKeywordCount()))
+                .orElse(null);
+
+        List<MatchRow> rows = new ArrayList<>();
+        int candidateCvs = 0;
+        if (profile != null && !profile.isBlank()) {
+            List<String> contained = cvKeywordDictionary.keywordsIn(profile.getText());
+            if (!contained.isEmpty()) {
+                Map<UUID, CvKeywords> cvs = groupByCv(cvKeywordRepository.findKeywordViewsOfCvsContaining(contained));
+                candidateCvs = cvs.size();
+                for (Map.Entry<UUID, CvKeywords> entry : cvs.entrySet()) {
+                    MatchRow row = score(entry.getKey(), entry.getValue(), profile);
+                    if (row != null) {
+                        rows.add(row);
+                    }
+                }
+            }
+        }
+
+        matchResultRepository.upsertMatches(rows);
+        int removed = matchResultRepository.deleteProfessorMatchesExcept(professorId,
+                rows.stream().map(MatchRow::getCvId).toList());
+        log.info("Incremental re-match of professor {}: {} candidate CVs, {} matches written, {} stale rows removed in {} ms",
+                professorId, candidateCvs, rows.size(), removed, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Applies a change of a CV's keyword set to its stored match rows. Runs in the caller's
+     * transaction, which must also replace the CV's keywords, so rows and keywords change together.
+     * Returns false without writing anything when the change needs a full run instead: another
+     * scorer is configured, the CV has no rows with keyword ids, too many keywords changed, or the
+     * retention policy cannot be maintained incrementally.
+     *
+     * @param cvId the CV identifier
+     * @param tenantId tenant of the CV
+     * @param oldKeywords normalized keyword to weight before the change
+     * @param newKeywords normalized keyword to weight after the change
+     * @return true if the rows were updated
+     */
+    public boolean rematchKeywordChanges(UUID cvId, UUID tenantId, Map<String, BigDecimal> oldKeywords,
+                                         Map<String, BigDecimal> newKeywords) {
+        if (!KeywordMatchScorer.NAME.equals(scorerName)) {
+            return false;
+        }
+        long started = System.currentTimeMillis();
+        List<MatchRow> stored = new ArrayList<>();
+        for (MatchResultRepository.StoredMatchView view : matchResultRepository.findStoredMatchesByCvId(cvId)) {
+            if (view.getMatchedKeywordIds() == null) {
+                return false;
+            }
+            stored.add(new MatchRow(tenantId, cvId, view.getProfessorId(), view.getMatchScore(),
+                    view.getMatchedKeywordIds(), view.getTotalCvKeywords(), view.getTotalProfessorKeywords(),
+                    view.getMatchedKeywordIds().length));
+        }
+        if (stored.isEmpty()) {
+            return false;
+        }
+        KeywordDelta delta = KeywordDelta.plan(tenantId, cvId, oldKeywords, newKeywords, stored,
+                professorCatalogService.current(), matchEngine, matchEngine.getDefaultRetention(), maxChangedFraction);
+        if (delta == null) {
+            return false;
+        }
+
+        matchResultRepository.upsertMatches(delta.getUpserts());
+        List<String> oldOrder = KeywordScoringKernel.order(oldKeywords).stream().map(Map.Entry::getKey).toList();
+        int removed = matchResultRepository.deleteMatches(cvId, delta.getDropped(), oldOrder);
+        log.info("Delta re-match of CV {}: {} changed keywords, {} affected professors, {} rows written, "
+                        + "{} removed, {} untouched in {} ms",
+                cvId, delta.getChangedKeywords(), delta.getAffectedProfessors(), delta.getUpserts().size(),
+                removed, delta.getUntouched(), System.currentTimeMillis() - started);
+        return true;
+    }
+
+    private MatchRow score(UUID cvId, CvKeywords cv, ProfessorProfile profile) {
+        KeywordScoringKernel kernel = KeywordScoringKernel.compile(cv.weights);
+        KeywordScoringKernel.Scratch scratch = kernel.scratch();
+        long units = kernel.score(profile.getText(), scratch);
+        long minUnits = kernel.minUnitsFor(matchEngine.getDefaultRetention().getMinScore());
+        if (scratch.getMatchedCount() == 0 || units < minUnits) {
+            return null;
+        }
+        ScoredProfessor match = new ScoredProfessor(0, profile.getId(), units, kernel.matchedIds(scratch),
+                profile.getKeywordCount());
+        return MatchRows.of(cv.tenantId, cvId, kernel, match);
+    }
+
+    private static Map<UUID, CvKeywords> groupByCv(List<CvKeywordRepository.KeywordView> views) {
+        Map<UUID, CvKeywords> cvs = new LinkedHashMap<>();
+        for (CvKeywordRepository.KeywordView view : views) {
+            CvKeywords cv = cvs.computeIfAbsent(view.getCvId(), id -> new CvKeywords(view.getTenantId()));
+            cv.weights.merge(view.getNormalizedKeyword(), view.getWeight(), BigDecimal::max);
+        }
+        return cvs;
+    }
+
+    private static final class CvKeywords {
+        private final UUID tenantId;
+        private final Map<String, BigDecimal> weights = new LinkedHashMap<>();
+
+        private CvKeywords(UUID tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The match row changes caused by a change of a CV's keyword set, computed from its stored rows.
+ * <p>
+ * Only professors containing an added or removed keyword can gain or lose matched keywords; they are
+ * found through the term index postings of those keywords and rescored. Every other stored row keeps
+ * its matched keywords, so it only needs its keyword ids translated into the new keyword order and its
+ * score recomputed from the new weights; rows for which that changes nothing are left out. Keyword
+ * weights follow the rank of a keyword among all of the CV's keywords, so a re-parse reweights most
+ * keywords even when it adds or removes only a few; reweighted keywords are therefore not rescored
+ * through their postings, unless a score floor could lift professors without a stored row over it.
+ * Rows of professors no longer in the catalog are dropped, as a full run would not produce them.
+ * The result equals a full run unless top-K retention is configured or a lower total weight could
+ * raise professors without a stored row over the score floor, which {@link #plan} rejects.
+ */
+final class KeywordDelta {
+
+    private final List<MatchRow> upserts;
+    private final List<UUID> dropped;
+    private final int changedKeywords;
+    private final int affectedProfessors;
+    private final int untouched;
+
+    private KeywordDelta(List<MatchRow> upserts, List<UUID> dropped, int changedKeywords, int affectedProfessors,
+                         int untouched) {
+        this.upserts = upserts;
+        this.dropped = dropped;
+        this.changedKeywords = changedKeywords;
+        this.affectedProfessors = affectedProfessors;
+        this.untouched = untouched;
+    }
+
+    /**
+     * Computes the row changes for a keyword set change.
+     *
+     * @param tenantId tenant of the CV
+     * @param cvId the CV identifier
+     * @param oldKeywords normalized keyword to weight the stored rows were computed with
+     * @param newKeywords normalized keyword to weight replacing them
+     * @param stored the CV's stored rows, with keyword ids into the old keyword order
+     * @param catalog the catalog snapshot
+     * @param engine the match engine
+     * @param retention the retention policy of regular runs
+     * @param maxChangedFraction largest share of added, removed and, under a score floor, reweighted
+     *                           keywords worth a delta instead of a full run
+     * @return the row changes, or null if a full run is needed
+     */
+    static KeywordDelta plan(UUID tenantId, UUID cvId, Map<String, BigDecimal> oldKeywords,
+                             Map<String, BigDecimal> newKeywords, List<MatchRow> stored, ProfessorCatalog catalog,
+                             MatchEngine engine, MatchRetention retention, double maxChangedFraction) {
+        if (oldKeywords.isEmpty() || newKeywords.isEmpty() || retention.isTopK()) {
+            return null;
+        }
+        List<String> oldOrder = new ArrayList<>(oldKeywords.size());
+        long oldMaxUnits = 0;
+        for (Map.Entry<String, BigDecimal> entry : KeywordScoringKernel.order(oldKeywords)) {
+            oldOrder.add(entry.getKey());
+            oldMaxUnits += KeywordScoringKernel.toUnits(entry.getValue());
+        }
+        // Without a floor, a reweight changes the score of rows that exist but cannot create or drop one
+        boolean floor = retention.getMinScore().signum() > 0;
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, BigDecimal> entry : newKeywords.entrySet()) {
+            BigDecimal old = oldKeywords.get(entry.getKey());
+            if (old == null || floor
+                    && KeywordScoringKernel.toUnits(old) != KeywordScoringKernel.toUnits(entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String keyword : oldKeywords.keySet()) {
+            if (!newKeywords.containsKey(keyword)) {
+                changed.add(keyword);
+            }
+        }
+        if (changed.size() > maxChangedFraction * newKeywords.size()) {
+            return null;
+        }
+
+        KeywordScoringKernel kernel = KeywordScoringKernel.compile(newKeywords);
+        // A lower total weight raises every score, which could lift professors without a row over the floor
+        if (floor && kernel.getMaxUnits() < oldMaxUnits) {
+            return null;
+        }
+        long minUnits = kernel.minUnitsFor(retention.getMinScore());
+        Map<String, Integer> newIds = new HashMap<>();
+        List<String> newOrder = kernel.keywords();
+        for (int id = 0; id < newOrder.size(); id++) {
+            newIds.put(newOrder.get(id), id);
+        }
+
+        BitSet affected = changed.isEmpty()
+                ? new BitSet()
+                : catalog.getTermIndex().keywordCandidates(new ArrayList<>(changed)).union();
+        Set<UUID> affectedIds = new HashSet<>();
+        for (int ordinal = affected.nextSetBit(0); ordinal >= 0; ordinal = affected.nextSetBit(ordinal + 1)) {
+            affectedIds.add(catalog.get(ordinal).getId());
+        }
+        List<ScoredProfessor> rescored = affected.isEmpty()
+                ? List.of()
+                : engine.score(catalog, affected, kernel, retention);
+        List<MatchRow> upserts = new ArrayList<>(MatchRows.of(tenantId, cvId, kernel, rescored));
+        Set<UUID> matched = new HashSet<>();
+        rescored.forEach(match -> matched.add(match.getProfessorId()));
+
+        Set<UUID> catalogIds = new HashSet<>(catalog.size() * 2);
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            catalogIds.add(catalog.get(ordinal).getId());
+        }
+
+        List<UUID> dropped = new ArrayList<>();
+        int untouched = 0;
+        for (MatchRow row : stored) {
+            if (!catalogIds.contains(row.getProfessorId())) {
+                dropped.add(row.getProfessorId());
+                continue;
+            }
+            if (affectedIds.contains(row.getProfessorId())) {
+                if (!matched.contains(row.getProfessorId())) {
+                    dropped.add(row.getProfessorId());
+                }
+                continue;
+            }
+            int[] ids = new int[row.getMatchedKeywordIds().length];
+            long units = 0;
+            for (int i = 0; i < ids.length; i++) {
+                int oldId = row.getMatchedKeywordIds()[i];
+                Integer id = oldId >= 0 && oldId < oldOrder.size() ? newIds.get(oldOrder.get(oldId)) : null;
+                if (id == null) {
+                    // Only rows containing a removed keyword lose keywords, and those are rescored
+                    return null;
+                }
+                ids[i] = id;
+                units += kernel.weightUnits(id);
+            }
+            if (units < minUnits) {
+                dropped.add(row.getProfessorId());
+                continue;
+            }
+            Arrays.sort(ids);
+            BigDecimal score = kernel.toScore(units);
+            if (score.compareTo(row.getMatchScore()) == 0 && Arrays.equals(ids, row.getMatchedKeywordIds())
+                    && kernel.size() == row.getTotalCvKeywords()) {
+                untouched++;
+                continue;
+            }
+            upserts.add(new MatchRow(tenantId, cvId, row.getProfessorId(), score, ids, kernel.size(),
+                    row.getTotalProfessorKeywords(), ids.length));
+        }
+        return new KeywordDelta(upserts, dropped, changed.size(), affectedIds.size(), untouched);
+    }
+
+    /**
+     * Returns the full result set after applying the delta to the stored rows it was planned from.
+     *
+     * @param stored the rows passed to {@link #plan}
+     * @return the surviving stored rows, replaced by their updates where there is one, plus the new rows
+     */
+    List<MatchRow> applyTo(List<MatchRow> stored) {
+        Map<UUID, MatchRow> rows = new LinkedHashMap<>();
+        for (MatchRow row : stored) {
+            rows.put(row.getProfessorId(), row);
+        }
+        dropped.forEach(rows::remove);
+        for (MatchRow row : upserts) {
+            rows.put(row.getProfessorId(), row);
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    /** Rows to insert or update. */
+    List<MatchRow> getUpserts() {
+        return upserts;
+    }
+
+    /** Professors whose stored row no longer matches. */
+    List<UUID> getDropped() {
+        return dropped;
+    }
+
+    int getChangedKeywords() {
+        return changedKeywords;
+    }
+
+    int getAffectedProfessors() {
+        return affectedProfessors;
+    }
+
+    int getUntouched() {
+        return untouched;
+    }
+}
@@ -0,0 +1,47 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Default scorer: the weighted fraction of CV keywords occurring as substrings of the professor's
+ * research area and department.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KeywordMatchScorer implements MatchScorer {
+
+    public static final String NAME = "keyword";
+
+    private final MatchEngine matchEngine;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MatchRow> score(UUID tenantId, UUID cvId, Map<String, BigDecimal> cvKeywordMap,
+                                ProfessorCatalog catalog, BitSet eligible, MatchRetention retention) {
+        // Compile all CV keywords into one kernel so each professor text is scanned once
+        KeywordScoringKernel kernel = KeywordScoringKernel.compile(cvKeywordMap);
+
+        // Only professors sharing at least one term with the CV keywords can produce a match; keeping
+        // the candidates per keyword lets the engine skip professors that cannot reach the retention threshold
+        KeywordCandidates candidates = catalog.getTermIndex().keywordCandidates(kernel.keywords()).restrictTo(eligible);
+        log.debug("Term index ({} terms) narrowed {} professors down to {} candidates",
+                catalog.getTermIndex().getTermCount(), catalog.size(), candidates.union().cardinality());
+
+        List<ScoredProfessor> scored = matchEngine.score(catalog, candidates, kernel, retention);
+        return MatchRows.of(tenantId, cvId, kernel, scored);
+    }
+}
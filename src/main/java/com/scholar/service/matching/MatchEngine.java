@@ -0,0 +1,533 @@
+package com.scholar.service.matching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Scores candidate professors of a catalog snapshot against a compiled CV kernel.
+ * <p>
+ * Small candidate sets are scored inline on the calling thread. Larger ones are split into
+ * partitions aligned on university boundaries and scored on the dedicated matching fork/join pool;
+ * partition results are concatenated in partition order, so the output is always sorted by
+ * ordinal regardless of scheduling.
+ * <p>
+ * A {@link MatchRetention} is applied while scoring: matches below the score floor are dropped
+ * before anything is allocated for them, and with a top-K limit each partition keeps a bounded
+ * min-heap of its best matches, so memory stays O(K) per partition.
+ * <p>
+ * Given the candidates of each kernel keyword separately, scoring prunes with MaxScore: the weight
+ * of the keywords whose candidate set contains a professor bounds its score, and professors whose
+ * bound cannot reach the score floor or the partition's current top-K threshold are skipped without
+ * scanning their text. Keywords whose combined weight is below the threshold cannot produce a match
+ * on their own, so only the candidates of the remaining, heavier keywords are visited at all.
+ * <p>
+ * A {@link BatchKeywordKernel} scores many CVs in the same pass: each candidate professor is
+ * scanned once for the whole batch, with retention applied per CV.
+ * <p>
+ * Profiles read from a forward-only stream are scored one at a time on the calling thread, with
+ * their position in the stream as ordinal, so only the retained matches outlive the row they came from.
+ */
+@Component
+@Slf4j
+public class MatchEngine {
+
+    private static final int MIN_PARTITION_SIZE = 1024;
+
+    /** Best match first: more matched units, then lower ordinal. */
+    static final Comparator<ScoredProfessor> BEST_FIRST = Comparator
+            .comparingLong(ScoredProfessor::getMatchedUnits).reversed()
+            .thenComparingInt(ScoredProfessor::getOrdinal);
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final MatchRetention defaultRetention;
+
+    public MatchEngine(ForkJoinPool matchingForkJoinPool,
+                       @Value("${scholar.matching.parallel-threshold:5000}") int parallelThreshold,
+                       @Value("${scholar.matching.retention.max-results:0}") int maxResults,
+                       @Value("${scholar.matching.retention.min-score:0}") BigDecimal minScore) {
+        this.pool = matchingForkJoinPool;
+        this.parallelThreshold = parallelThreshold;
+        this.defaultRetention = new MatchRetention(maxResults, minScore);
+    }
+
+    /**
+     * Returns the retention policy configured for regular match runs.
+     */
+    public MatchRetention getDefaultRetention() {
+        return defaultRetention;
+    }
+
+    /**
+     * Scores all candidate ordinals using the configured retention policy.
+     *
+     * @see #score(ProfessorCatalog, BitSet, KeywordScoringKernel, MatchRetention)
+     */
+    public List<ScoredProfessor> score(ProfessorCatalog catalog, BitSet candidates, KeywordScoringKernel kernel) {
+        return score(catalog, candidates, kernel, defaultRetention);
+    }
+
+    /**
+     * Scores all candidate ordinals.
+     *
+     * @param catalog the catalog snapshot
+     * @param candidates candidate ordinals from the term index
+     * @param kernel the CV kernel
+     * @param retention which matches to keep
+     * @return retained matching professors ordered by ordinal
+     */
+    public List<ScoredProfessor> score(ProfessorCatalog catalog, BitSet candidates, KeywordScoringKernel kernel,
+                                       MatchRetention retention) {
+        RangeScorer scorer = new RangeScorer(catalog, candidates, null, kernel, retention.getMaxResults(),
+                kernel.minUnitsFor(retention.getMinScore()));
+        return score(catalog, scorer, candidates.cardinality(), retention);
+    }
+
+    /**
+     * Scores the candidates of each kernel keyword, skipping professors whose score bound cannot be retained.
+     * Returns exactly the matches of {@link #score(ProfessorCatalog, BitSet, KeywordScoringKernel, MatchRetention)}
+     * over the union of the candidates.
+     *
+     * @param catalog the catalog snapshot
+     * @param candidates candidate ordinals per keyword, looked up in {@link KeywordScoringKernel#keywords()} order
+     * @param kernel the CV kernel
+     * @param retention which matches to keep
+     * @return retained matching professors ordered by ordinal
+     */
+    public List<ScoredProfessor> score(ProfessorCatalog catalog, KeywordCandidates candidates,
+                                       KeywordScoringKernel kernel, MatchRetention retention) {
+        if (candidates.size() != kernel.size()) {
+            throw new IllegalArgumentException("Expected candidates for " + kernel.size() + " keywords, got "
+                    + candidates.size());
+        }
+        RangeScorer scorer = new RangeScorer(catalog, candidates.union(), candidates, kernel,
+                retention.getMaxResults(), kernel.minUnitsFor(retention.getMinScore()));
+        int candidateCount = candidates.union().cardinality();
+        List<ScoredProfessor> results = score(catalog, scorer, candidateCount, retention);
+        log.debug("Pruning scanned {} of {} candidate professors", scorer.scanned.sum(), candidateCount);
+        return results;
+    }
+
+    private List<ScoredProfessor> score(ProfessorCatalog catalog, RangeScorer scorer, int candidateCount,
+                                        MatchRetention retention) {
+        List<ScoredProfessor> results;
+        if (pool.getParallelism() <= 1 || candidateCount < parallelThreshold) {
+            results = scorer.score(0, catalog.size());
+        } else {
+            int[] partitions = partitions(catalog, pool.getParallelism());
+            log.debug("Scoring {} candidates in {} university partitions on {} threads",
+                    candidateCount, partitions.length - 1, pool.getParallelism());
+            results = pool.invoke(new PartitionTask<>(scorer::score, MatchEngine::concat,
+                    partitions, 0, partitions.length - 1));
+        }
+        return retain(results, retention.getMaxResults());
+    }
+
+    /**
+     * Scores profiles as they are read from a forward-only source, without a catalog snapshot.
+     * <p>
+     * Memory is bounded by the retention policy: O(K) under top-K, otherwise one entry per match.
+     *
+     * @param profiles the profiles to score; consumed but not closed
+     * @param kernel the CV kernel
+     * @param retention which matches to keep
+     * @return retained matching professors ordered by stream position
+     */
+    public List<ScoredProfessor> scoreStream(Stream<ProfessorProfile> profiles, KeywordScoringKernel kernel,
+                                             MatchRetention retention) {
+        Retained retained = new Retained(retention.getMaxResults());
+        KeywordScoringKernel.Scratch scratch = kernel.scratch();
+        long minUnits = kernel.minUnitsFor(retention.getMinScore());
+        int ordinal = 0;
+
+        for (Iterator<ProfessorProfile> it = profiles.iterator(); it.hasNext(); ordinal++) {
+            ProfessorProfile profile = it.next();
+            if (profile.isBlank()) {
+                continue;
+            }
+            long units = kernel.score(profile.getText(), scratch);
+            if (scratch.getMatchedCount() == 0 || units < minUnits || retained.rejects(units)) {
+                continue;
+            }
+            retained.add(new ScoredProfessor(ordinal, profile.getId(), units,
+                    kernel.matchedIds(scratch), profile.getKeywordCount()));
+        }
+        log.debug("Streamed {} professors, retained {} matches", ordinal, retained.size());
+        return retained.toList();
+    }
+
+    /**
+     * Scores all candidate ordinals against every CV of a batch in one pass over the catalog.
+     *
+     * @param catalog the catalog snapshot
+     * @param candidates candidate ordinals for the union of the batch keywords
+     * @param kernel the batch kernel
+     * @param retention which matches to keep, applied to each CV separately
+     * @return retained matches per CV index, each ordered by ordinal
+     */
+    public List<List<ScoredProfessor>> scoreBatch(ProfessorCatalog catalog, BitSet candidates,
+                                                  BatchKeywordKernel kernel, MatchRetention retention) {
+        BatchRangeScorer scorer = new BatchRangeScorer(catalog, candidates, kernel, retention);
+        int candidateCount = candidates.cardinality();
+        List<List<ScoredProfessor>> results;
+        if (pool.getParallelism() <= 1 || (long) candidateCount * kernel.size() < parallelThreshold) {
+            results = scorer.score(0, catalog.size());
+        } else {
+            int[] partitions = partitions(catalog, pool.getParallelism());
+            log.debug("Scoring {} candidates for {} CVs in {} university partitions on {} threads",
+                    candidateCount, kernel.size(), partitions.length - 1, pool.getParallelism());
+            results = pool.invoke(new PartitionTask<>(scorer::score, MatchEngine::concatEach,
+                    partitions, 0, partitions.length - 1));
+        }
+        List<List<ScoredProfessor>> retained = new ArrayList<>(results.size());
+        for (List<ScoredProfessor> cvResults : results) {
+            retained.add(retain(cvResults, retention.getMaxResults()));
+        }
+        return retained;
+    }
+
+    /**
+     * Keeps the {@code maxResults} best entries of a merged result list, preserving ordinal order.
+     */
+    static List<ScoredProfessor> retain(List<ScoredProfessor> results, int maxResults) {
+        if (maxResults <= 0 || results.size() <= maxResults) {
+            return results;
+        }
+        List<ScoredProfessor> best = new ArrayList<>(results);
+        best.sort(BEST_FIRST);
+        best = new ArrayList<>(best.subList(0, maxResults));
+        best.sort(Comparator.comparingInt(ScoredProfessor::getOrdinal));
+        return best;
+    }
+
+    /**
+     * Groups whole universities into partitions of roughly equal size.
+     *
+     * @return partition start ordinals followed by the catalog size
+     */
+    static int[] partitions(ProfessorCatalog catalog, int parallelism) {
+        int[] universities = catalog.getUniversityBoundaries();
+        int target = Math.max(MIN_PARTITION_SIZE, catalog.size() / (parallelism * 4));
+        IntList starts = new IntList();
+        starts.add(0);
+        for (int u = 1; u < universities.length - 1; u++) {
+            if (universities[u] - starts.last() >= target) {
+                starts.add(universities[u]);
+            }
+        }
+        starts.add(catalog.size());
+        return starts.toArray();
+    }
+
+    /**
+     * Scores ordinal ranges of one catalog against one kernel; shared by all partitions of a run.
+     */
+    static final class RangeScorer {
+        private static final int EXHAUSTED = Integer.MAX_VALUE;
+
+        private final ProfessorCatalog catalog;
+        private final BitSet candidates;
+        private final KeywordCandidates keywordCandidates;
+        private final KeywordScoringKernel kernel;
+        private final int maxResults;
+        private final long minUnits;
+        // suffixUnits[id] = total weight of keyword ids >= id, the most those keywords can add to a score
+        private final long[] suffixUnits;
+        private final LongAdder scanned = new LongAdder();
+
+        RangeScorer(ProfessorCatalog catalog, BitSet candidates, KeywordCandidates keywordCandidates,
+                    KeywordScoringKernel kernel, int maxResults, long minUnits) {
+            this.catalog = catalog;
+            this.candidates = candidates;
+            this.keywordCandidates = keywordCandidates;
+            this.kernel = kernel;
+            this.maxResults = maxResults;
+            this.minUnits = minUnits;
+            this.suffixUnits = new long[kernel.size() + 1];
+            for (int id = kernel.size() - 1; id >= 0; id--) {
+                suffixUnits[id] = suffixUnits[id + 1] + kernel.weightUnits(id);
+            }
+        }
+
+        List<ScoredProfessor> score(int from, int to) {
+            if (keywordCandidates != null) {
+                return scorePruned(from, to);
+            }
+            Retained retained = new Retained(maxResults);
+            KeywordScoringKernel.Scratch scratch = kernel.scratch();
+
+            for (int ordinal = candidates.nextSetBit(from); ordinal >= 0 && ordinal < to;
+                 ordinal = candidates.nextSetBit(ordinal + 1)) {
+                ProfessorProfile profile = catalog.get(ordinal);
+                if (profile.isBlank()) {
+                    continue;
+                }
+                long units = kernel.score(profile.getText(), scratch);
+                if (scratch.getMatchedCount() == 0 || units < minUnits) {
+                    continue;
+                }
+                if (retained.rejects(units)) {
+                    continue;
+                }
+                retained.add(new ScoredProfessor(ordinal, profile.getId(), units,
+                        kernel.matchedIds(scratch), profile.getKeywordCount()));
+            }
+            return retained.toList();
+        }
+
+        /**
+         * MaxScore over the per-keyword candidates. Keyword ids already run from heaviest to lightest,
+         * so the essential keywords are always a prefix: ids below {@code essential} are walked with a
+         * cursor each, and the lighter ones only probed to complete a professor's bound.
+         */
+        private List<ScoredProfessor> scorePruned(int from, int to) {
+            Retained retained = new Retained(maxResults);
+            KeywordScoringKernel.Scratch scratch = kernel.scratch();
+            int keywordCount = kernel.size();
+            int[] cursors = new int[keywordCount];
+            for (int id = 0; id < keywordCount; id++) {
+                cursors[id] = advance(id, from, to);
+            }
+            long threshold = minUnits;
+            int essential = essentialCount(keywordCount, threshold);
+            long scannedHere = 0;
+
+            while (essential > 0) {
+                int ordinal = EXHAUSTED;
+                for (int id = 0; id < essential; id++) {
+                    ordinal = Math.min(ordinal, cursors[id]);
+                }
+                if (ordinal == EXHAUSTED) {
+                    break;
+                }
+
+                long bound = 0;
+                for (int id = 0; id < essential; id++) {
+                    if (cursors[id] == ordinal) {
+                        bound += kernel.weightUnits(id);
+                        cursors[id] = advance(id, ordinal + 1, to);
+                    }
+                }
+                for (int id = essential; id < keywordCount && bound + suffixUnits[id] >= threshold; id++) {
+                    if (keywordCandidates.get(id).get(ordinal)) {
+                        bound += kernel.weightUnits(id);
+                    }
+                }
+                if (bound < threshold) {
+                    continue;
+                }
+
+                ProfessorProfile profile = catalog.get(ordinal);
+                if (profile.isBlank()) {
+                    continue;
+                }
+                scannedHere++;
+                long units = kernel.score(profile.getText(), scratch);
+                if (scratch.getMatchedCount() == 0 || units < threshold) {
+                    continue;
+                }
+                retained.add(new ScoredProfessor(ordinal, profile.getId(), units,
+                        kernel.matchedIds(scratch), profile.getKeywordCount()));
+
+                long raised = Math.max(minUnits, retained.threshold());
+                if (raised > threshold) {
+                    threshold = raised;
+                    essential = essentialCount(essential, threshold);
+                }
+            }
+            scanned.add(scannedHere);
+            return retained.toList();
+        }
+
+        /**
+         * Shrinks the essential prefix until the keywords after it cannot reach {@code threshold} together.
+         */
+        private int essentialCount(int essential, long threshold) {
+            while (essential > 0 && suffixUnits[essential - 1] < threshold) {
+                essential--;
+            }
+            return essential;
+        }
+
+        private int advance(int id, int from, int to) {
+            int next = from < to ? keywordCandidates.get(id).nextSetBit(from) : -1;
+            return next >= 0 && next < to ? next : EXHAUSTED;
+        }
+    }
+
+    /**
+     * Scores ordinal ranges of one catalog against every CV of a batch kernel.
+     */
+    static final class BatchRangeScorer {
+        private final ProfessorCatalog catalog;
+        private final BitSet candidates;
+        private final BatchKeywordKernel kernel;
+        private final int maxResults;
+        private final long[] minUnits;
+
+        BatchRangeScorer(ProfessorCatalog catalog, BitSet candidates, BatchKeywordKernel kernel,
+                         MatchRetention retention) {
+            this.catalog = catalog;
+            this.candidates = candidates;
+            this.kernel = kernel;
+            this.maxResults = retention.getMaxResults();
+            this.minUnits = new long[kernel.size()];
+            for (int cv = 0; cv < kernel.size(); cv++) {
+                minUnits[cv] = kernel.kernel(cv).minUnitsFor(retention.getMinScore());
+            }
+        }
+
+        List<List<ScoredProfessor>> score(int from, int to) {
+            Retained[] retained = new Retained[kernel.size()];
+            for (int cv = 0; cv < retained.length; cv++) {
+                retained[cv] = new Retained(maxResults);
+            }
+            BatchKeywordKernel.Scratch scratch = kernel.newScratch();
+
+            for (int ordinal = candidates.nextSetBit(from); ordinal >= 0 && ordinal < to;
+                 ordinal = candidates.nextSetBit(ordinal + 1)) {
+                ProfessorProfile profile = catalog.get(ordinal);
+                if (profile.isBlank()) {
+                    continue;
+                }
+                kernel.score(profile.getText(), scratch);
+                for (int i = 0; i < scratch.getTouchedCount(); i++) {
+                    int cv = scratch.touchedCv(i);
+                    long units = scratch.units(cv);
+                    if (units < minUnits[cv] || retained[cv].rejects(units)) {
+                        continue;
+                    }
+                    retained[cv].add(new ScoredProfessor(ordinal, profile.getId(), units,
+                            scratch.matchedIds(cv), profile.getKeywordCount()));
+                }
+            }
+
+            List<List<ScoredProfessor>> results = new ArrayList<>(retained.length);
+            for (Retained cvRetained : retained) {
+                results.add(cvRetained.toList());
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Matches retained by one range for one CV: a plain list, or a bounded min-heap under top-K.
+     * Candidates must be offered in ascending ordinal order.
+     */
+    private static final class Retained {
+        private final int maxResults;
+        // Min-heap on quality: the root is the worst retained match
+        private final PriorityQueue<ScoredProfessor> heap;
+        private final List<ScoredProfessor> list;
+
+        private Retained(int maxResults) {
+            this.maxResults = maxResults;
+            this.heap = maxResults > 0 ? new PriorityQueue<>(maxResults + 1, BEST_FIRST.reversed()) : null;
+            this.list = heap == null ? new ArrayList<>() : null;
+        }
+
+        private boolean rejects(long units) {
+            return units < threshold();
+        }
+
+        /**
+         * Returns the fewest units a new match needs to be retained.
+         */
+        private long threshold() {
+            // Ordinals ascend within a range, so a tie loses to the match already retained
+            return heap != null && heap.size() == maxResults ? heap.peek().getMatchedUnits() + 1 : 0;
+        }
+
+        private void add(ScoredProfessor match) {
+            if (heap == null) {
+                list.add(match);
+                return;
+            }
+            heap.add(match);
+            if (heap.size() > maxResults) {
+                heap.poll();
+            }
+        }
+
+        private int size() {
+            return heap != null ? heap.size() : list.size();
+        }
+
+        private List<ScoredProfessor> toList() {
+            if (heap == null) {
+                return list;
+            }
+            List<ScoredProfessor> retained = new ArrayList<>(heap);
+            retained.sort(Comparator.comparingInt(ScoredProfessor::getOrdinal));
+            return retained;
+        }
+    }
+
+    private static List<ScoredProfessor> concat(List<ScoredProfessor> left, List<ScoredProfessor> right) {
+        List<ScoredProfessor> merged = new ArrayList<>(left.size() + right.size());
+        merged.addAll(left);
+        merged.addAll(right);
+        return merged;
+    }
+
+    private static List<List<ScoredProfessor>> concatEach(List<List<ScoredProfessor>> left,
+                                                          List<List<ScoredProfessor>> right) {
+        List<List<ScoredProfessor>> merged = new ArrayList<>(left.size());
+        for (int cv = 0; cv < left.size(); cv++) {
+            merged.add(concat(left.get(cv), right.get(cv)));
+        }
+        return merged;
+    }
+
+    /**
+     * Scores partitions recursively; results are merged in partition order, so they stay
+     * sorted by ordinal regardless of scheduling.
+     */
+    private static final class PartitionTask<R> extends RecursiveTask<R> {
+        private final RangeFunction<R> scorer;
+        private final BinaryOperator<R> merge;
+        private final int[] partitions;
+        private final int low;
+        private final int high;
+
+        private PartitionTask(RangeFunction<R> scorer, BinaryOperator<R> merge, int[] partitions, int low, int high) {
+            this.scorer = scorer;
+            this.merge = merge;
+            this.partitions = partitions;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected R compute() {
+            if (high - low <= 1) {
+                return scorer.score(partitions[low], partitions[high]);
+            }
+            int mid = (low + high) >>> 1;
+            PartitionTask<R> left = new PartitionTask<>(scorer, merge, partitions, low, mid);
+            PartitionTask<R> right = new PartitionTask<>(scorer, merge, partitions, mid, high);
+            right.fork();
+            R leftResult = left.compute();
+            return merge.apply(leftResult, right.join());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeFunction<R> {
+        R score(int from, int to);
+    }
+}
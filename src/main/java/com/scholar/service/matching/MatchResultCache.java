@@ -0,0 +1,150 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Bounded LRU cache of match results keyed by the fingerprint of a CV keyword set and the catalog version.
+ * <p>
+ * Match rows depend only on the normalized keyword/weight set, the catalog snapshot and the
+ * process-wide scorer and retention settings, so CVs with the same keyword set (re-uploads, even
+ * across tenants) can take a copy of the rows computed for the first one. Entries are bounded by
+ * their total row count; entries of older catalog versions can never be hit again and are dropped
+ * as soon as a newer version is seen.
+ */
+@Component
+public class MatchResultCache {
+
+    private final int maxRows;
+    private final LinkedHashMap<Key, List<MatchRow>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedRows;
+    private long latestVersion;
+
+    public MatchResultCache(@Value("${scholar.matching.cache.max-rows:200000}") int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Computes the fingerprint of a keyword set: a SHA-256 over the keywords in sorted order with
+     * their weights in fixed-point units, so equal weights written with different scales agree.
+     *
+     * @param cvKeywordMap normalized keyword to weight
+     * @return the hex-encoded fingerprint
+     */
+    public static String fingerprint(Map<String, BigDecimal> cvKeywordMap) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (Map.Entry<String, BigDecimal> entry : new TreeMap<>(cvKeywordMap).entrySet()) {
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            String units = Integer.toString(KeywordScoringKernel.toUnits(entry.getValue()));
+            digest.update(units.getBytes(StandardCharsets.US_ASCII));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public boolean isEnabled() {
+        return maxRows > 0;
+    }
+
+    /**
+     * Returns the cached rows of a keyword set rebound to another CV, or null on a miss.
+     *
+     * @param catalogVersion version of the catalog snapshot the rows must come from
+     * @param fingerprint keyword set fingerprint
+     * @param tenantId tenant of the CV receiving the rows
+     * @param cvId the CV receiving the rows
+     * @return the rows, or null if nothing is cached
+     */
+    public List<MatchRow> get(long catalogVersion, String fingerprint, UUID tenantId, UUID cvId) {
+        if (!isEnabled()) {
+            return null;
+        }
+        List<MatchRow> cached;
+        synchronized (this) {
+            cached = entries.get(new Key(catalogVersion, fingerprint));
+        }
+        if (cached == null) {
+            return null;
+        }
+        List<MatchRow> rows = new ArrayList<>(cached.size());
+        for (MatchRow row : cached) {
+            rows.add(new MatchRow(tenantId, cvId, row.getProfessorId(), row.getMatchScore(), row.getMatchedKeywordIds(),
+                    row.getTotalCvKeywords(), row.getTotalProfessorKeywords(), row.getTotalMatchedKeywords()));
+        }
+        return rows;
+    }
+
+    /**
+     * Caches the rows computed for a keyword set. Result sets larger than the whole cache are not kept.
+     */
+    public void put(long catalogVersion, String fingerprint, List<MatchRow> rows) {
+        if (!isEnabled() || rows.size() > maxRows) {
+            return;
+        }
+        synchronized (this) {
+            if (catalogVersion < latestVersion) {
+                return;
+            }
+            if (catalogVersion > latestVersion) {
+                latestVersion = catalogVersion;
+                entries.keySet().removeIf(key -> key.catalogVersion < catalogVersion);
+                cachedRows = entries.values().stream().mapToLong(List::size).sum();
+            }
+            List<MatchRow> previous = entries.put(new Key(catalogVersion, fingerprint), List.copyOf(rows));
+            cachedRows += rows.size() - (previous != null ? previous.size() : 0);
+            Iterator<List<MatchRow>> eldest = entries.values().iterator();
+            while (cachedRows > maxRows && eldest.hasNext()) {
+                cachedRows -= eldest.next().size();
+                eldest.remove();
+            }
+        }
+    }
+
+    private static final class Key {
+        private final long catalogVersion;
+        private final String fingerprint;
+
+        private Key(long catalogVersion, String fingerprint) {
+            this.catalogVersion = catalogVersion;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return catalogVersion == other.catalogVersion && fingerprint.equals(other.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(catalogVersion, fingerprint);
+        }
+    }
+}
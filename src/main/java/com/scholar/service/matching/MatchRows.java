@@ -0,0 +1,31 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Converts kernel results into persisted match rows.
+ * This is the only place where kernel scores become BigDecimals.
+ */
+final class MatchRows {
+
+    private MatchRows() {
+    }
+
+    static MatchRow of(UUID tenantId, UUID cvId, KeywordScoringKernel kernel, ScoredProfessor match) {
+        int[] matchedIds = match.getMatchedKeywordIds();
+        return new MatchRow(tenantId, cvId, match.getProfessorId(), kernel.toScore(match.getMatchedUnits()),
+                matchedIds, kernel.size(), match.getProfessorKeywordCount(), matchedIds.length);
+    }
+
+    static List<MatchRow> of(UUID tenantId, UUID cvId, KeywordScoringKernel kernel, List<ScoredProfessor> matches) {
+        List<MatchRow> rows = new ArrayList<>(matches.size());
+        for (ScoredProfessor match : matches) {
+            rows.add(of(tenantId, cvId, kernel, match));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,47 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ranks the professors of a catalog snapshot for one CV.
+ * <p>
+ * Implementations are Spring beans selected by {@link #getName()} through
+ * {@code scholar.matching.scorer}. Scores are normalized to [0, 1] so that thresholds, retention
+ * and campaign filters mean the same thing whichever scorer produced them.
+ */
+public interface MatchScorer {
+
+    /**
+     * Returns the configuration name of this scorer.
+     */
+    String getName();
+
+    /**
+     * Whether {@link #score} reads the catalog snapshot. Scorers that query the database directly
+     * return false and are passed a null catalog, so the snapshot is never loaded for them; they
+     * cannot apply {@link MatchFilter}s, which are resolved against the snapshot.
+     */
+    default boolean usesCatalog() {
+        return true;
+    }
+
+    /**
+     * Scores a CV against a catalog snapshot.
+     *
+     * @param tenantId the tenant identifier
+     * @param cvId the CV identifier
+     * @param cvKeywordMap normalized keyword to weight
+     * @param catalog the professor catalog snapshot, null if {@link #usesCatalog()} is false
+     * @param eligible catalog ordinals admitted by the match filter, null to admit every professor
+     * @param retention which matches to keep
+     * @return the rows to persist for this CV
+     */
+    List<MatchRow> score(UUID tenantId, UUID cvId, Map<String, BigDecimal> cvKeywordMap,
+                         ProfessorCatalog catalog, BitSet eligible, MatchRetention retention);
+}
@@ -0,0 +1,65 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.entity.CvKeyword;
+import com.scholar.domain.entity.MatchResult;
+import com.scholar.domain.repository.CvKeywordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Turns the matched keyword ids stored on {@code match_result} rows back into keyword text.
+ * <p>
+ * Ids index the CV's keyword list in {@link KeywordScoringKernel#order} order, built from the
+ * distinct normalized keywords with their highest weight, exactly as the scorers see them.
+ * Rows that still carry keyword text are returned as stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchedKeywordResolver {
+
+    private final CvKeywordRepository cvKeywordRepository;
+
+    /**
+     * Returns the ordered keyword list a CV's matched keyword ids point into.
+     *
+     * @param cvId the CV identifier
+     * @return distinct normalized keywords, keyword id order
+     */
+    public List<String> keywordList(UUID cvId) {
+        Map<String, BigDecimal> weights = new HashMap<>();
+        for (CvKeyword keyword : cvKeywordRepository.findByCvId(cvId)) {
+            weights.merge(keyword.getNormalizedKeyword(), keyword.getWeight(), BigDecimal::max);
+        }
+        return KeywordScoringKernel.order(weights).stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Renders the matched keywords of a row.
+     *
+     * @param match the match result
+     * @param keywordList the keyword list of the row's CV, from {@link #keywordList(UUID)}
+     * @return comma separated matched keywords
+     */
+    public static String render(MatchResult match, List<String> keywordList) {
+        if (match.getMatchedKeywordIds() == null) {
+            return match.getMatchedKeywords() != null ? match.getMatchedKeywords() : "";
+        }
+        return KeywordScoringKernel.joinKeywords(keywordList, match.getMatchedKeywordIds());
+    }
+
+    /**
+     * Renders the matched keywords of a single row, loading its CV's keyword list.
+     */
+    public String render(MatchResult match) {
+        if (match.getMatchedKeywordIds() == null) {
+            return render(match, List.of());
+        }
+        return render(match, keywordList(match.getCv().getId()));
+    }
+}
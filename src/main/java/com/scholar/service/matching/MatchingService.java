@@ -5,18 +5,19 @@ import com.scholar.domain.repository.*;
 import com.scholar.dto.response.EmailOptionResponse;
 import com.scholar.dto.response.MatchResultResponse;
 import com.scholar.service.email.EmailCampaignService;
+import com.scholar.service.job.CvJobCoordinator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,99 +31,86 @@ public class MatchingService {
 
     private final CVRepository cvRepository;
     private final CvKeywordRepository cvKeywordRepository;
-    private final ProfessorRepository professorRepository;
+    private final ProfessorCatalogService professorCatalogService;
+    private final MatchEngine matchEngine;
+    private final MatchScorer matchScorer;
+    private final MatchResultCache matchResultCache;
+    private final MatchedKeywordResolver matchedKeywordResolver;
     private final MatchResultRepository matchResultRepository;
     private final EmailLogRepository emailLogRepository;
     private final EmailCampaignService emailCampaignService;
+    private final CvJobCoordinator cvJobCoordinator;
     private final MatchingService self;
 
     public MatchingService(CVRepository cvRepository,
                            CvKeywordRepository cvKeywordRepository,
-                           ProfessorRepository professorRepository,
+                           ProfessorCatalogService professorCatalogService,
+                           MatchEngine matchEngine,
+                           List<MatchScorer> matchScorers,
+                           @Value("${scholar.matching.scorer:keyword}") String scorerName,
+                           MatchResultCache matchResultCache,
+                           MatchedKeywordResolver matchedKeywordResolver,
                            MatchResultRepository matchResultRepository,
                            EmailLogRepository emailLogRepository,
                            EmailCampaignService emailCampaignService,
+                           CvJobCoordinator cvJobCoordinator,
                            @Lazy MatchingService self) {
         this.cvRepository = cvRepository;
         this.cvKeywordRepository = cvKeywordRepository;
-        this.professorRepository = professorRepository;
+        this.professorCatalogService = professorCatalogService;
+        this.matchEngine = matchEngine;
+        this.matchScorer = matchScorers.stream()
+                .filter(scorer -> scorer.getName().equals(scorerName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown match scorer: " + scorerName));
+        this.matchResultCache = matchResultCache;
+        this.matchedKeywordResolver = matchedKeywordResolver;
         this.matchResultRepository = matchResultRepository;
         this.emailLogRepository = emailLogRepository;
         this.emailCampaignService = emailCampaignService;
+        this.cvJobCoordinator = cvJobCoordinator;
         this.self = self;
     }
 
     /**
-     * Computes matches for a CV against all active professors.
+     * Computes matches for a CV against all active professors in the background. Concurrent
+     * requests for the same CV are coalesced into the running computation plus at most one
+     * follow-up run.
      *
      * @param cvId the CV identifier
      * @param tenantId the tenant identifier
      */
-    @Async
-    @Transactional
     public void computeMatches(UUID cvId, UUID tenantId) {
-        log.info("Starting match computation for CV ID: {} in Tenant ID: {}", cvId, tenantId);
-        try {
-            CV cv = cvRepository.findByIdAndTenantId(cvId, tenantId)
-                    .orElseThrow(() -> {
-                        log.error("CV not found or access denied: {} for tenant: {}", cvId, tenantId);
-                        return new IllegalArgumentException("CV not found: " + cvId);
-                    });
-
-            if (cv.getParsingStatus() != CV.ParsingStatus.COMPLETED) {
-                log.warn("Computation skipped: CV {} status is {}, expected COMPLETED", cvId, cv.getParsingStatus());
-                return;
-            }
-
-            // Get CV keywords
-            log.debug("Fetching keywords for CV ID: {}", cvId);
-            List<CvKeyword> cvKeywords = cvKeywordRepository.findByCvId(cvId);
-            if (cvKeywords.isEmpty()) {
-                log.warn("Computation aborted: No keywords found for CV ID: {}", cvId);
-                return;
-            }
+        computeMatches(cvId, tenantId, MatchFilter.NONE);
+    }
 
-            log.debug("Preparing keyword map for {} CV keywords", cvKeywords.size());
-            Map<String, BigDecimal> cvKeywordMap = cvKeywords.stream()
-                    .collect(Collectors.toMap(
-                            CvKeyword::getNormalizedKeyword,
-                            CvKeyword::getWeight,
-                            (w1, w2) -> w1.max(w2)
-                    ));
-
-            // Get all active professors
-            log.debug("Fetching active professors for matching...");
-            List<Professor> professors = professorRepository.findAll().stream()
-                    .filter(p -> p.getStatus() == Professor.ProfessorStatus.ACTIVE)
-                    .collect(Collectors.toList());
-
-            log.info("Computing matches for CV {} against {} active professors", cvId, professors.size());
-
-            // Get existing match results to perform upsert
-            log.debug("Fetching existing match results for CV ID: {} to avoid duplicates", cvId);
-            Map<UUID, MatchResult> existingMatchMap = matchResultRepository.findByCvId(cvId).stream()
-                    .collect(Collectors.toMap(m -> m.getProfessor().getId(), m -> m));
-
-            List<MatchResult> matchResultsToSave = new ArrayList<>();
-
-            for (Professor professor : professors) {
-                log.trace("Matching CV {} against Professor {} ({})", cvId, professor.getId(), professor.getLastName());
-                MatchResult existingMatch = existingMatchMap.get(professor.getId());
-                MatchResult matchResult = computeSingleMatch(cv, professor, cvKeywordMap, existingMatch);
-                if (matchResult != null) {
-                    matchResultsToSave.add(matchResult);
-                }
-            }
+    /**
+     * Computes matches for a CV against the active professors a filter admits, in the background.
+     * Only the matches of admitted professors are replaced; matches of other professors are kept.
+     * While the CV is being matched, the request is merged into the queued follow-up run, which
+     * may then be a full run that covers it.
+     *
+     * @param cvId the CV identifier
+     * @param tenantId the tenant identifier
+     * @param filter professor attributes to restrict matching to
+     * @throws IllegalArgumentException if the configured scorer cannot apply the filter
+     */
+    public void computeMatches(UUID cvId, UUID tenantId, MatchFilter filter) {
+        checkFilterSupported(filter);
+        cvJobCoordinator.submitMatch(cvId, filter, admitted -> runComputeMatches(cvId, tenantId, admitted));
+    }
 
-            // Save all match results (upsert)
-            log.debug("Saving {} match results (upsert) for CV ID: {}", matchResultsToSave.size(), cvId);
-            matchResultRepository.saveAll(matchResultsToSave);
-            matchResultRepository.flush(); // Ensure matches are visible to subsequent queries in this transaction context
-            log.info("Match computation completed for CV {}. Found {} total matches.", cvId, matchResultsToSave.size());
+    private void runComputeMatches(UUID cvId, UUID tenantId, MatchFilter filter) {
+        log.info("Starting match computation for CV ID: {} in Tenant ID: {}", cvId, tenantId);
+        try {
+            // Get the shared snapshot of active professors, unless the scorer queries the database itself
+            log.debug("Fetching active professor catalog snapshot for matching...");
+            self.computeMatches(cvId, tenantId, matchScorer.usesCatalog() ? professorCatalogService.current() : null,
+                    filter);
 
             // Phase 2: Disabled automatic campaign creation to allow human review layer
             // Campaigns are now created manually via the "Generate Emails" button in MatchesPage
-            // if (!matchResultsToSave.isEmpty()) {
+            // if (!rows.isEmpty()) {
             //     log.info("Creating automatic AI outreach campaign for CV: {}", cvId);
             //     emailCampaignService.createAutoCampaign(cvId, tenantId);
             // }
@@ -134,67 +122,271 @@ public class MatchingService {
     }
 
     /**
-     * Computes match score between a CV and a single professor.
-     * Performs an update if existingMatch is provided, otherwise creates a new one.
+     * Computes matches for a CV against a given catalog snapshot, synchronously and within the
+     * caller's transaction. Used by batch jobs that pin one snapshot for a whole run.
+     *
+     * @param cvId the CV identifier
+     * @param tenantId the tenant identifier
+     * @param catalog the professor catalog snapshot, null for scorers that do not use one
+     * @return number of matches written, or 0 if the CV was skipped
      */
-    private MatchResult computeSingleMatch(CV cv, Professor professor, Map<String, BigDecimal> cvKeywordMap, MatchResult existingMatch) {
-        String researchArea = professor.getResearchArea() != null ? professor.getResearchArea().toLowerCase() : "";
-        String department = professor.getDepartment() != null ? professor.getDepartment().toLowerCase() : "";
-        String combinedText = researchArea + " " + department;
+    @Transactional
+    public int computeMatches(UUID cvId, UUID tenantId, ProfessorCatalog catalog) {
+        return computeMatches(cvId, tenantId, catalog, MatchFilter.NONE);
+    }
 
-        if (combinedText.isBlank()) {
-            return null;
+    /**
+     * Computes matches for a CV against the professors of a catalog snapshot that a filter admits,
+     * synchronously and within the caller's transaction. The filter is resolved against the
+     * snapshot's attribute index before scoring, so excluded professors are never scanned, and
+     * their stored matches are left untouched.
+     *
+     * @param cvId the CV identifier
+     * @param tenantId the tenant identifier
+     * @param catalog the professor catalog snapshot, null for scorers that do not use one
+     * @param filter professor attributes to restrict matching to
+     * @return number of matches written, or 0 if the CV was skipped
+     */
+    @Transactional
+    public int computeMatches(UUID cvId, UUID tenantId, ProfessorCatalog catalog, MatchFilter filter) {
+        checkFilterSupported(filter);
+        CV cv = cvRepository.findByIdAndTenantId(cvId, tenantId)
+                .orElseThrow(() -> {
+                    log.error("CV not found or access denied: {} for tenant: {}", cvId, tenantId);
+                    return new IllegalArgumentException("CV not found: " + cvId);
+                });
+
+        if (cv.getParsingStatus() != CV.ParsingStatus.COMPLETED) {
+            log.warn("Computation skipped: CV {} status is {}, expected COMPLETED", cvId, cv.getParsingStatus());
+            return 0;
         }
 
-        Set<String> matchedKeywords = new HashSet<>();
-        BigDecimal totalScore = BigDecimal.ZERO;
-        BigDecimal maxPossibleScore = BigDecimal.ZERO;
+        // Get CV keywords
+        log.debug("Fetching keywords for CV ID: {}", cvId);
+        List<CvKeyword> cvKeywords = cvKeywordRepository.findByCvId(cvId);
+        if (cvKeywords.isEmpty()) {
+            log.warn("Computation aborted: No keywords found for CV ID: {}", cvId);
+            return 0;
+        }
 
-        // Count "professor keywords" by splitting research area (approximate for stats)
-        String[] profKeywords = researchArea.split("[,;\\s]+");
-        int profKeywordCount = (int) Arrays.stream(profKeywords).filter(s -> !s.isBlank()).distinct().count();
+        log.debug("Preparing keyword map for {} CV keywords", cvKeywords.size());
+        Map<String, BigDecimal> cvKeywordMap = cvKeywords.stream()
+                .collect(Collectors.toMap(
+                        CvKeyword::getNormalizedKeyword,
+                        CvKeyword::getWeight,
+                        (w1, w2) -> w1.max(w2)
+                ));
+
+        BitSet eligible = catalog != null ? catalog.select(filter) : null;
+        if (eligible != null) {
+            log.info("Computing {} matches for CV {} against {} of {} active professors admitted by {} (catalog v{})",
+                    matchScorer.getName(), cvId, eligible.cardinality(), catalog.size(), filter, catalog.getVersion());
+        } else if (catalog != null) {
+            log.info("Computing {} matches for CV {} against {} active professors (catalog v{})",
+                    matchScorer.getName(), cvId, catalog.size(), catalog.getVersion());
+        } else {
+            log.info("Computing {} matches for CV {}", matchScorer.getName(), cvId);
+        }
+        List<MatchResultBulkRepository.MatchRow> rows = score(tenantId, cvId, cvKeywordMap, catalog, eligible);
+
+        // Upsert the result set and drop rows of professors that no longer match, set-based;
+        // a filtered run only speaks for the professors it admitted
+        log.debug("Upserting {} match results for CV ID: {}", rows.size(), cvId);
+        int removed = eligible != null
+                ? matchResultRepository.replaceMatches(cvId, rows, admittedProfessorIds(catalog, eligible))
+                : matchResultRepository.replaceMatches(cvId, rows);
+        log.info("Match computation completed for CV {}. Found {} total matches ({}), removed {} stale.",
+                cvId, rows.size(), matchEngine.getDefaultRetention(), removed);
+        return rows.size();
+    }
 
-        for (Map.Entry<String, BigDecimal> entry : cvKeywordMap.entrySet()) {
-            String keyword = entry.getKey();
-            BigDecimal weight = entry.getValue();
-            maxPossibleScore = maxPossibleScore.add(weight);
+    private static List<UUID> admittedProfessorIds(ProfessorCatalog catalog, BitSet eligible) {
+        List<UUID> ids = new ArrayList<>(eligible.cardinality());
+        for (int ordinal = eligible.nextSetBit(0); ordinal >= 0; ordinal = eligible.nextSetBit(ordinal + 1)) {
+            ids.add(catalog.get(ordinal).getId());
+        }
+        return ids;
+    }
 
-            if (combinedText.contains(keyword)) {
-                matchedKeywords.add(keyword);
-                totalScore = totalScore.add(weight);
-            }
+    /**
+     * Scores one CV, or copies the rows of an earlier CV with the same keyword set scored against
+     * the same catalog snapshot. Scorers without a snapshot have no version to key on and always score,
+     * and filtered runs are neither served from nor added to the cache.
+     */
+    private List<MatchResultBulkRepository.MatchRow> score(UUID tenantId, UUID cvId, Map<String, BigDecimal> cvKeywordMap,
+                                                           ProfessorCatalog catalog, BitSet eligible) {
+        if (catalog == null || eligible != null || !matchResultCache.isEnabled()) {
+            return matchScorer.score(tenantId, cvId, cvKeywordMap, catalog, eligible, matchEngine.getDefaultRetention());
+        }
+        String fingerprint = MatchResultCache.fingerprint(cvKeywordMap);
+        List<MatchResultBulkRepository.MatchRow> rows = matchResultCache.get(catalog.getVersion(), fingerprint, tenantId, cvId);
+        if (rows != null) {
+            log.info("Reusing {} cached matches of an identical keyword set for CV {}", rows.size(), cvId);
+            return rows;
         }
+        rows = matchScorer.score(tenantId, cvId, cvKeywordMap, catalog, null, matchEngine.getDefaultRetention());
+        matchResultCache.put(catalog.getVersion(), fingerprint, rows);
+        return rows;
+    }
 
-        if (matchedKeywords.isEmpty()) {
-            return null;
+    /**
+     * Rejects filters for scorers that query the database directly; filters are resolved against the catalog snapshot.
+     */
+    private void checkFilterSupported(MatchFilter filter) {
+        if (!filter.isEmpty() && !matchScorer.usesCatalog()) {
+            throw new IllegalArgumentException("Match filters are not supported by the " + matchScorer.getName() + " scorer");
+        }
+    }
+
+    /**
+     * Gives a CV the matches of a near-duplicate CV instead of computing them from scratch.
+     * <p>
+     * The source's rows are copied as they are only when both CVs have the same normalized
+     * keyword to weight set, compared by exact fingerprint. Otherwise the source's rows are
+     * treated as the target's previous result and brought up to date for the keyword
+     * differences, the same way a re-parsed CV's rows are: professors holding a differing keyword
+     * are rescored against the target's keywords and every other row is renormalized to the
+     * target's total weight. Where that is not possible (rows stored as text, top-K retention,
+     * another scorer) the target is scored in full.
+     *
+     * @param cvId the CV receiving the matches
+     * @param sourceCvId the near-duplicate CV whose matches are reused
+     * @param tenantId the tenant identifier, owner of both CVs
+     * @return number of matches written
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int reuseMatches(UUID cvId, UUID sourceCvId, UUID tenantId) {
+        cvRepository.findByIdAndTenantId(sourceCvId, tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("CV not found: " + sourceCvId));
+        cvRepository.findByIdAndTenantId(cvId, tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("CV not found: " + cvId));
+        Map<UUID, Map<String, BigDecimal>> keywordMaps = new HashMap<>();
+        for (CvKeywordRepository.KeywordView view : cvKeywordRepository.findKeywordViewsByCvIdsAndTenantId(
+                List.of(sourceCvId, cvId), tenantId)) {
+            keywordMaps.computeIfAbsent(view.getCvId(), id -> new HashMap<>())
+                    .merge(view.getNormalizedKeyword(), view.getWeight(), BigDecimal::max);
+        }
+        Map<String, BigDecimal> sourceKeywords = keywordMaps.getOrDefault(sourceCvId, Map.of());
+        Map<String, BigDecimal> targetKeywords = keywordMaps.getOrDefault(cvId, Map.of());
+        if (targetKeywords.isEmpty()) {
+            throw new IllegalStateException("CV " + cvId + " has no keywords to match");
         }
 
-        // Normalize score to [0, 1]
-        BigDecimal matchScore = maxPossibleScore.compareTo(BigDecimal.ZERO) > 0
-                ? totalScore.divide(maxPossibleScore, 6, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+        List<MatchResultBulkRepository.MatchRow> sourceRows = new ArrayList<>();
+        boolean storedAsText = false;
+        for (MatchResultRepository.StoredMatchView view : matchResultRepository.findStoredMatchesByCvId(sourceCvId)) {
+            if (view.getMatchedKeywordIds() == null) {
+                storedAsText = true;
+                break;
+            }
+            sourceRows.add(new MatchResultBulkRepository.MatchRow(tenantId, cvId, view.getProfessorId(),
+                    view.getMatchScore(), view.getMatchedKeywordIds(), view.getTotalCvKeywords(),
+                    view.getTotalProfessorKeywords(), view.getMatchedKeywordIds().length));
+        }
 
-        String matchedKeywordsStr = String.join(", ", matchedKeywords);
+        if (!storedAsText && !sourceKeywords.isEmpty()
+                && MatchResultCache.fingerprint(sourceKeywords).equals(MatchResultCache.fingerprint(targetKeywords))) {
+            int copied = matchResultRepository.copyMatches(sourceCvId, matchedKeywordResolver.keywordList(sourceCvId),
+                    cvId, matchedKeywordResolver.keywordList(cvId));
+            log.info("Copied {} matches of CV {} with an identical keyword set to CV {}", copied, sourceCvId, cvId);
+            return copied;
+        }
 
-        if (existingMatch != null) {
-            existingMatch.setMatchScore(matchScore);
-            existingMatch.setMatchedKeywords(matchedKeywordsStr);
-            existingMatch.setTotalCvKeywords(cvKeywordMap.size());
-            existingMatch.setTotalProfessorKeywords(profKeywordCount);
-            existingMatch.setTotalMatchedKeywords(matchedKeywords.size());
-            return existingMatch;
+        ProfessorCatalog catalog = matchScorer.usesCatalog() ? professorCatalogService.current() : null;
+        KeywordDelta delta = storedAsText || sourceKeywords.isEmpty() || catalog == null
+                || !KeywordMatchScorer.NAME.equals(matchScorer.getName())
+                ? null
+                : KeywordDelta.plan(tenantId, cvId, sourceKeywords, targetKeywords, sourceRows, catalog, matchEngine,
+                        matchEngine.getDefaultRetention(), 1.0);
+        List<MatchResultBulkRepository.MatchRow> rows;
+        if (delta != null) {
+            rows = delta.applyTo(sourceRows);
+            log.info("Reusing matches of CV {} for CV {}: {} differing keywords, {} professors rescored",
+                    sourceCvId, cvId, delta.getChangedKeywords(), delta.getAffectedProfessors());
         } else {
-            return MatchResult.builder()
-                    .tenant(cv.getTenant())
-                    .cv(cv)
-                    .professor(professor)
-                    .matchScore(matchScore)
-                    .matchedKeywords(matchedKeywordsStr)
-                    .totalCvKeywords(cvKeywordMap.size())
-                    .totalProfessorKeywords(profKeywordCount)
-                    .totalMatchedKeywords(matchedKeywords.size())
-                    .build();
+            rows = score(tenantId, cvId, targetKeywords, catalog, null);
+            log.info("Matches of CV {} cannot be carried over to CV {}; scored it in full", sourceCvId, cvId);
         }
+        int removed = matchResultRepository.replaceMatches(cvId, rows);
+        log.info("Reused matches of CV {} for CV {}: {} rows written, {} stale removed", sourceCvId, cvId,
+                rows.size(), removed);
+        return rows.size();
+    }
+
+    /**
+     * Computes matches for a batch of CVs of one tenant in a single pass over a catalog snapshot,
+     * synchronously and within the caller's transaction. CVs that are not parsed or have no
+     * keywords are skipped, exactly as in {@link #computeMatches(UUID, UUID, ProfessorCatalog)}.
+     *
+     * @param cvIds the CV identifiers
+     * @param tenantId the tenant identifier
+     * @param catalog the professor catalog snapshot
+     * @return number of matches written across the batch
+     */
+    @Transactional
+    public int computeMatchesBatch(Collection<UUID> cvIds, UUID tenantId, ProfessorCatalog catalog) {
+        Map<UUID, Map<String, BigDecimal>> keywordMaps = new LinkedHashMap<>();
+        for (CvKeywordRepository.KeywordView view : cvKeywordRepository.findKeywordViewsByCvIdsAndTenantId(cvIds, tenantId)) {
+            keywordMaps.computeIfAbsent(view.getCvId(), id -> new HashMap<>())
+                    .merge(view.getNormalizedKeyword(), view.getWeight(), BigDecimal::max);
+        }
+        if (keywordMaps.isEmpty()) {
+            log.debug("Batch of {} CVs has no parsed keywords, nothing to match", cvIds.size());
+            return 0;
+        }
+        if (!KeywordMatchScorer.NAME.equals(matchScorer.getName())) {
+            // The shared-pass kernel is specific to keyword scoring; other scorers rank CV by CV
+            int written = 0;
+            for (Map.Entry<UUID, Map<String, BigDecimal>> cv : keywordMaps.entrySet()) {
+                List<MatchResultBulkRepository.MatchRow> rows = score(tenantId, cv.getKey(), cv.getValue(), catalog, null);
+                matchResultRepository.replaceMatches(cv.getKey(), rows);
+                written += rows.size();
+            }
+            return written;
+        }
+
+        int written = 0;
+        int removed = 0;
+        if (matchResultCache.isEnabled()) {
+            // CVs whose keyword set was scored against this snapshot before take a copy of those rows
+            Iterator<Map.Entry<UUID, Map<String, BigDecimal>>> it = keywordMaps.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<UUID, Map<String, BigDecimal>> cv = it.next();
+                List<MatchResultBulkRepository.MatchRow> rows = matchResultCache.get(catalog.getVersion(),
+                        MatchResultCache.fingerprint(cv.getValue()), tenantId, cv.getKey());
+                if (rows != null) {
+                    removed += matchResultRepository.replaceMatches(cv.getKey(), rows);
+                    written += rows.size();
+                    it.remove();
+                }
+            }
+            if (keywordMaps.isEmpty()) {
+                log.info("Batch match results of {} CVs served from the match result cache", cvIds.size());
+                return written;
+            }
+        }
+
+        List<UUID> batchCvIds = new ArrayList<>(keywordMaps.keySet());
+        BatchKeywordKernel kernel = BatchKeywordKernel.compile(new ArrayList<>(keywordMaps.values()));
+        Set<String> allKeywords = new HashSet<>();
+        keywordMaps.values().forEach(map -> allKeywords.addAll(map.keySet()));
+        BitSet candidates = catalog.getTermIndex().candidates(allKeywords);
+        log.info("Computing matches for {} CVs ({} distinct keywords) against {} candidates of catalog v{}",
+                batchCvIds.size(), kernel.getKeywordCount(), candidates.cardinality(), catalog.getVersion());
+
+        List<List<ScoredProfessor>> scored = matchEngine.scoreBatch(catalog, candidates, kernel,
+                matchEngine.getDefaultRetention());
+
+        for (int cv = 0; cv < batchCvIds.size(); cv++) {
+            UUID cvId = batchCvIds.get(cv);
+            List<MatchResultBulkRepository.MatchRow> rows = MatchRows.of(tenantId, cvId, kernel.kernel(cv), scored.get(cv));
+            matchResultCache.put(catalog.getVersion(), MatchResultCache.fingerprint(keywordMaps.get(cvId)), rows);
+            removed += matchResultRepository.replaceMatches(cvId, rows);
+            written += rows.size();
+        }
+        log.info("Batch match computation completed for {} CVs. Found {} total matches, removed {} stale.",
+                batchCvIds.size(), written, removed);
+        return written;
     }
 
     /**
@@ -215,8 +407,25 @@ public class MatchingService {
      */
     @Transactional(readOnly = true)
     public Page<MatchResultResponse> getMatchResultsResponse(UUID cvId, UUID tenantId, Pageable pageable) {
-        return matchResultRepository.findByCvIdAndTenantIdOrderByScoreDesc(cvId, tenantId, pageable)
-                .map(this::toMatchResultResponse);
+        return getMatchResultsResponse(cvId, tenantId, MatchFilter.NONE, pageable);
+    }
+
+    /**
+     * Retrieves the match results of a CV whose professors a filter admits, as DTOs.
+     *
+     * @param cvId the CV identifier
+     * @param tenantId the tenant identifier
+     * @param filter professor attributes to restrict results to
+     * @param pageable pagination parameters
+     * @return page of match results response
+     */
+    @Transactional(readOnly = true)
+    public Page<MatchResultResponse> getMatchResultsResponse(UUID cvId, UUID tenantId, MatchFilter filter, Pageable pageable) {
+        List<String> keywordList = matchedKeywordResolver.keywordList(cvId);
+        Page<MatchResult> matches = filter.isEmpty()
+                ? matchResultRepository.findByCvIdAndTenantIdOrderByScoreDesc(cvId, tenantId, pageable)
+                : findFiltered(cvId, tenantId, BigDecimal.ZERO, filter, pageable);
+        return matches.map(match -> toMatchResultResponse(match, keywordList));
     }
 
     /**
@@ -229,8 +438,9 @@ public class MatchingService {
      */
     @Transactional(readOnly = true)
     public List<MatchResultResponse> getMatchResultsAboveThresholdResponse(UUID cvId, UUID tenantId, BigDecimal minScore) {
+        List<String> keywordList = matchedKeywordResolver.keywordList(cvId);
         return matchResultRepository.findByCvIdAndTenantIdAndMinScore(cvId, tenantId, minScore).stream()
-                .map(this::toMatchResultResponse)
+                .map(match -> toMatchResultResponse(match, keywordList))
                 .collect(Collectors.toList());
     }
 
@@ -245,11 +455,42 @@ public class MatchingService {
      */
     @Transactional(readOnly = true)
     public Page<MatchResultResponse> getMatchResultsAboveThresholdResponse(UUID cvId, UUID tenantId, BigDecimal minScore, Pageable pageable) {
-        return matchResultRepository.findByCvIdAndTenantIdAndMinScorePaginated(cvId, tenantId, minScore, pageable)
-                .map(this::toMatchResultResponse);
+        return getMatchResultsAboveThresholdResponse(cvId, tenantId, minScore, MatchFilter.NONE, pageable);
     }
 
-    private MatchResultResponse toMatchResultResponse(MatchResult match) {
+    /**
+     * Retrieves match results above a minimum score threshold whose professors a filter admits, as a paginated response.
+     *
+     * @param cvId the CV identifier
+     * @param tenantId the tenant identifier
+     * @param minScore minimum match score
+     * @param filter professor attributes to restrict results to
+     * @param pageable pagination parameters
+     * @return page of match results response
+     */
+    @Transactional(readOnly = true)
+    public Page<MatchResultResponse> getMatchResultsAboveThresholdResponse(UUID cvId, UUID tenantId, BigDecimal minScore,
+                                                                           MatchFilter filter, Pageable pageable) {
+        List<String> keywordList = matchedKeywordResolver.keywordList(cvId);
+        Page<MatchResult> matches = filter.isEmpty()
+                ? matchResultRepository.findByCvIdAndTenantIdAndMinScorePaginated(cvId, tenantId, minScore, pageable)
+                : findFiltered(cvId, tenantId, minScore, filter, pageable);
+        return matches.map(match -> toMatchResultResponse(match, keywordList));
+    }
+
+    private Page<MatchResult> findFiltered(UUID cvId, UUID tenantId, BigDecimal minScore, MatchFilter filter,
+                                           Pageable pageable) {
+        // Unused IN lists still need a value to bind
+        return matchResultRepository.findByCvIdAndTenantIdAndFilter(cvId, tenantId, minScore,
+                filter.getCountries().isEmpty(), filter.getCountries().isEmpty() ? List.of("") : filter.getCountries(),
+                !filter.hasRankRange(),
+                filter.getMinRank() != null ? filter.getMinRank() : Integer.MIN_VALUE,
+                filter.getMaxRank() != null ? filter.getMaxRank() : Integer.MAX_VALUE,
+                filter.getDepartments().isEmpty(), filter.getDepartments().isEmpty() ? List.of("") : filter.getDepartments(),
+                pageable);
+    }
+
+    private MatchResultResponse toMatchResultResponse(MatchResult match, List<String> keywordList) {
         List<EmailOptionResponse> options = null;
         UUID tenantId = match.getTenant().getId();
         UUID matchResultId = match.getId();
@@ -288,7 +529,7 @@ public class MatchingService {
                         .universityCountry(match.getProfessor().getUniversity().getCountry())
                         .build())
                 .matchScore(match.getMatchScore())
-                .matchedKeywords(match.getMatchedKeywords())
+                .matchedKeywords(MatchedKeywordResolver.render(match, keywordList))
                 .totalCvKeywords(match.getTotalCvKeywords())
                 .totalProfessorKeywords(match.getTotalProfessorKeywords())
                 .totalMatchedKeywords(match.getTotalMatchedKeywords())
@@ -305,19 +546,35 @@ public class MatchingService {
      */
     @Transactional
     public void recomputeMatches(UUID cvId, UUID tenantId) {
-        log.info("Recomputing matches for CV: {}", cvId);
-        matchResultRepository.deleteByCvId(cvId);
+        recomputeMatches(cvId, tenantId, MatchFilter.NONE);
+    }
+
+    /**
+     * Recomputes the matches of a CV against the professors a filter admits. An unfiltered recompute
+     * clears the existing matches first; a filtered one only replaces the matches of admitted professors.
+     *
+     * @param cvId the CV identifier
+     * @param tenantId the tenant identifier
+     * @param filter professor attributes to restrict matching to
+     */
+    @Transactional
+    public void recomputeMatches(UUID cvId, UUID tenantId, MatchFilter filter) {
+        checkFilterSupported(filter);
+        log.info("Recomputing matches for CV: {} ({})", cvId, filter);
+        if (filter.isEmpty()) {
+            matchResultRepository.deleteByCvId(cvId);
+        }
 
         // Trigger async computation after transaction commit to avoid race condition
         if (TransactionSynchronizationManager.isActualTransactionActive()) {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                 @Override
                 public void afterCommit() {
-                    self.computeMatches(cvId, tenantId);
+                    self.computeMatches(cvId, tenantId, filter);
                 }
             });
         } else {
-            self.computeMatches(cvId, tenantId);
+            self.computeMatches(cvId, tenantId, filter);
         }
     }
 }
\ No newline at end of file
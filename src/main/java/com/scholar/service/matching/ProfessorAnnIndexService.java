@@ -0,0 +1,234 @@
+package com.scholar.service.matching;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the {@link HnswIndex} over feature-hashed professor vectors and answers approximate
+ * nearest-neighbour candidate queries for a catalog snapshot.
+ * <p>
+ * The graph is keyed by professor id, so it outlives catalog versions: when a new catalog is
+ * seen, only professors whose text hash changed are re-inserted, professors that left the ACTIVE
+ * catalog are deleted and new ones are inserted. The graph is saved to
+ * {@code scholar.matching.hnsw.path} periodically and on shutdown, and loaded from there on first
+ * use, so a restart only reconciles the differences instead of rebuilding the whole graph.
+ */
+@Service
+@Slf4j
+public class ProfessorAnnIndexService {
+
+    private final FeatureHasher hasher;
+    private final int m;
+    private final int efConstruction;
+    private final Path path;
+    private final DotProduct dotProduct = DotProduct.best();
+
+    private HnswIndex index;
+    private volatile Snapshot snapshot;
+    private boolean dirty;
+
+    public ProfessorAnnIndexService(@Value("${scholar.matching.hashed.dimensions:256}") int dimensions,
+                                    @Value("${scholar.matching.hnsw.m:16}") int m,
+                                    @Value("${scholar.matching.hnsw.ef-construction:200}") int efConstruction,
+                                    @Value("${scholar.matching.hnsw.path:./storage/index/professors.hnsw}") String path) {
+        this.hasher = new FeatureHasher(dimensions);
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.path = Paths.get(path);
+    }
+
+    /**
+     * Returns the catalog ordinals of the approximately {@code k} professors most similar to a query.
+     *
+     * @param catalog the catalog snapshot the ordinals refer to
+     * @param query L2-normalized query vector, see {@link #getHasher()}
+     * @param k number of candidates
+     * @param ef search beam width, at least {@code k}
+     * @return candidate ordinals
+     */
+    public BitSet candidates(ProfessorCatalog catalog, float[] query, int k, int ef) {
+        Snapshot current = snapshot(catalog);
+        BitSet candidates = new BitSet(catalog.size());
+        for (HnswIndex.Neighbour neighbour : current.index.search(query, k, ef)) {
+            Integer ordinal = current.ordinals.get(neighbour.getId());
+            if (ordinal != null) {
+                candidates.set(ordinal);
+            }
+        }
+        return candidates;
+    }
+
+    public FeatureHasher getHasher() {
+        return hasher;
+    }
+
+    /**
+     * Saves the graph if it changed since the last save.
+     */
+    @Scheduled(fixedDelayString = "${scholar.matching.hnsw.save-interval-ms:300000}")
+    public void saveIfDirty() {
+        synchronized (this) {
+            if (index == null || !dirty) {
+                return;
+            }
+            dirty = false;
+        }
+        try {
+            save();
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.error("Failed to save HNSW index to {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveIfDirty();
+    }
+
+    private Snapshot snapshot(ProfessorCatalog catalog) {
+        Snapshot current = snapshot;
+        if (current != null && current.catalogVersion == catalog.getVersion()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.catalogVersion != catalog.getVersion()) {
+                if (index == null) {
+                    index = load();
+                }
+                current = reconcile(catalog);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot reconcile(ProfessorCatalog catalog) {
+        long started = System.currentTimeMillis();
+        int inserted = 0;
+        int deleted = 0;
+        Map<UUID, Integer> ordinals = new HashMap<>(catalog.size() * 2);
+        float[] vector = new float[hasher.getDimensions()];
+
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            ProfessorProfile profile = catalog.get(ordinal);
+            if (profile.isBlank()) {
+                continue;
+            }
+            ordinals.put(profile.getId(), ordinal);
+            int textHash = profile.getText().hashCode();
+            Integer indexedHash = index.textHash(profile.getId());
+            if (indexedHash == null || indexedHash != textHash) {
+                Arrays.fill(vector, 0f);
+                List<String> terms = MatchText.terms(profile.getText());
+                if (hasher.hash(terms, 1f, vector, 0)) {
+                    index.insert(profile.getId(), textHash, vector);
+                    inserted++;
+                }
+            }
+        }
+        for (UUID id : index.liveIds()) {
+            if (!ordinals.containsKey(id) && index.delete(id)) {
+                deleted++;
+            }
+        }
+
+        // Tombstones still cost traversal time; rebuild once they outnumber the live nodes
+        if (index.getDeletedCount() > index.getLiveCount()) {
+            index = compact(index);
+        }
+        if (inserted > 0 || deleted > 0) {
+            dirty = true;
+        }
+        log.info("Reconciled HNSW index with catalog v{}: {} inserted, {} deleted, {} live in {} ms",
+                catalog.getVersion(), inserted, deleted, index.getLiveCount(), System.currentTimeMillis() - started);
+        return new Snapshot(catalog.getVersion(), index, ordinals);
+    }
+
+    private HnswIndex compact(HnswIndex source) {
+        HnswIndex compacted = newIndex();
+        float[] vector = new float[hasher.getDimensions()];
+        for (UUID id : source.liveIds()) {
+            if (source.copyVector(id, vector)) {
+                compacted.insert(id, source.textHash(id), vector);
+            }
+        }
+        log.info("Compacted HNSW index: {} tombstones dropped", source.getDeletedCount());
+        return compacted;
+    }
+
+    private HnswIndex load() {
+        if (Files.isRegularFile(path)) {
+            long started = System.currentTimeMillis();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                HnswIndex loaded = HnswIndex.readFrom(in, dotProduct);
+                if (loaded.getDimensions() == hasher.getDimensions() && loaded.getM() == m) {
+                    log.info("Loaded HNSW index from {}: {} live professors in {} ms",
+                            path, loaded.getLiveCount(), System.currentTimeMillis() - started);
+                    return loaded;
+                }
+                log.info("HNSW index at {} was built with different settings. Rebuilding.", path);
+            } catch (IOException e) {
+                log.warn("Could not read HNSW index from {}: {}. Rebuilding.", path, e.getMessage());
+            }
+        }
+        return newIndex();
+    }
+
+    private void save() throws IOException {
+        HnswIndex toSave;
+        synchronized (this) {
+            toSave = index;
+        }
+        long started = System.currentTimeMillis();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            toSave.writeTo(out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Saved HNSW index to {}: {} live professors in {} ms",
+                path, toSave.getLiveCount(), System.currentTimeMillis() - started);
+    }
+
+    private HnswIndex newIndex() {
+        return new HnswIndex(hasher.getDimensions(), m, efConstruction, dotProduct);
+    }
+
+    /**
+     * The graph together with the professor-id-to-ordinal mapping of one catalog version.
+     */
+    private static final class Snapshot {
+        private final long catalogVersion;
+        private final HnswIndex index;
+        private final Map<UUID, Integer> ordinals;
+
+        private Snapshot(long catalogVersion, HnswIndex index, Map<UUID, Integer> ordinals) {
+            this.catalogVersion = catalogVersion;
+            this.index = index;
+            this.ordinals = ordinals;
+        }
+    }
+}
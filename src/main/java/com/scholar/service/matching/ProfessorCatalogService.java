@@ -0,0 +1,153 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.ProfessorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the shared, versioned snapshot of the ACTIVE professor catalog.
+ * <p>
+ * The snapshot is built once from a lightweight projection of the persisted term profiles (no
+ * entities enter the persistence context, no text is re-normalized) and reused by all concurrent match jobs. Professor writes made through JPA mark it
+ * stale via {@link ProfessorChangedEvent}; writes made outside the application are detected by a
+ * periodic fingerprint check. The next caller after a change rebuilds it and swaps it atomically,
+ * while concurrent callers wait for that single rebuild instead of loading the table themselves.
+ * <p>
+ * With {@code scholar.matching.index-file.dir} set, the term index of a snapshot is mapped from a
+ * {@link ProfessorIndexFileService} file when one exists for the same content. Otherwise it is built
+ * on the heap, written to a file in the background, and the snapshot is swapped for one reading the
+ * mapped file under the same version.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfessorCatalogService {
+
+    private final ProfessorRepository professorRepository;
+    private final ProfessorTermProfileService termProfileService;
+    private final ProfessorIndexFileService indexFileService;
+
+    private final AtomicReference<ProfessorCatalog> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long builtAtChange = -1;
+    private volatile ProfessorRepository.CatalogStamp lastStamp;
+
+    /**
+     * Returns the current catalog snapshot, rebuilding it first if professors changed.
+     *
+     * @return the catalog snapshot
+     */
+    public ProfessorCatalog current() {
+        ProfessorCatalog catalog = current.get();
+        if (catalog != null && builtAtChange == changes.get()) {
+            return catalog;
+        }
+        synchronized (this) {
+            catalog = current.get();
+            if (catalog != null && builtAtChange == changes.get()) {
+                return catalog;
+            }
+            return rebuild();
+        }
+    }
+
+    /**
+     * Marks the snapshot stale once a professor change has been committed.
+     *
+     * @param event the professor changed event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProfessorChanged(ProfessorChangedEvent event) {
+        log.debug("Professor {} {}. Marking catalog snapshot stale.", event.getProfessorId(), event.getChangeType());
+        invalidate();
+    }
+
+    /**
+     * Detects catalog changes made outside the application (bulk imports, manual SQL).
+     */
+    @Scheduled(fixedDelayString = "${scholar.matching.catalog.refresh-check-ms:60000}")
+    public void checkForExternalChanges() {
+        if (current.get() == null) {
+            return;
+        }
+        ProfessorRepository.CatalogStamp stamp = professorRepository.findCatalogStamp();
+        if (!sameStamp(stamp, lastStamp)) {
+            log.info("Professor table changed outside the application. Marking catalog snapshot stale.");
+            invalidate();
+        }
+    }
+
+    /**
+     * Forces the next {@link #current()} call to rebuild the snapshot.
+     */
+    public void invalidate() {
+        changes.incrementAndGet();
+    }
+
+    private ProfessorCatalog rebuild() {
+        long started = System.currentTimeMillis();
+        long changeMark = changes.get();
+        ProfessorRepository.CatalogStamp stamp = professorRepository.findCatalogStamp();
+
+        // Profiles are normalized at write time; only rows written outside the application need work here
+        termProfileService.backfillMissing();
+        List<ProfessorProfile> profiles = professorRepository.findActiveMatchViews().stream()
+                .map(v -> ProfessorProfile.fromStored(v.getId(), v.getUniversityId(), v.getMatchText(),
+                        v.getMatchTerms(), v.getMatchKeywordCount(), v.getDepartment(), v.getCountry(),
+                        v.getRankGlobal()))
+                .collect(Collectors.toList());
+        ProfessorCatalog catalog = ProfessorCatalog.build(versions.incrementAndGet(), profiles,
+                indexFileService.isEnabled() ? fingerprint -> indexFileService.map(fingerprint, profiles.size()) : null);
+
+        current.set(catalog);
+        lastStamp = stamp;
+        builtAtChange = changeMark;
+        log.info("Built professor catalog snapshot v{}: {} professors, {} terms ({}), {} countries, {} departments in {} ms",
+                catalog.getVersion(), catalog.size(), catalog.getTermIndex().getTermCount(),
+                catalog.getTermIndex().isMapped() ? "mapped" : "heap",
+                catalog.getAttributeIndex().getCountryCount(), catalog.getAttributeIndex().getDepartmentCount(),
+                System.currentTimeMillis() - started);
+        if (indexFileService.isEnabled() && !catalog.getTermIndex().isMapped()) {
+            writeIndexFile(catalog);
+        }
+        return catalog;
+    }
+
+    private void writeIndexFile(ProfessorCatalog catalog) {
+        try {
+            indexFileService.write(catalog).thenAccept(mapped -> {
+                // Only the snapshot that was written is swapped; a newer one writes its own file
+                if (mapped != null && current.compareAndSet(catalog, catalog.withTermIndex(mapped))) {
+                    log.info("Professor catalog snapshot v{} now reads its term index from the mapped file",
+                            catalog.getVersion());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Skipped writing the term index file of catalog v{}: {}", catalog.getVersion(), e.getMessage());
+        }
+    }
+
+    private static boolean sameStamp(ProfessorRepository.CatalogStamp a, ProfessorRepository.CatalogStamp b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        LocalDateTime aUpdated = a.getLastUpdatedAt();
+        LocalDateTime bUpdated = b.getLastUpdatedAt();
+        return Objects.equals(a.getActiveCount(), b.getActiveCount())
+                && Objects.equals(a.getTotalCount(), b.getTotalCount())
+                && Objects.equals(aUpdated, bUpdated);
+    }
+}
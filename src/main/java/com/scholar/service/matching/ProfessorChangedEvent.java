@@ -0,0 +1,25 @@
+package com.scholar.service.matching;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Event published when a professor is created, updated, or removed.
+ */
+@Getter
+public class ProfessorChangedEvent extends ApplicationEvent {
+    private final UUID professorId;
+    private final ChangeType changeType;
+
+    public ProfessorChangedEvent(Object source, UUID professorId, ChangeType changeType) {
+        super(source);
+        this.professorId = professorId;
+        this.changeType = changeType;
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
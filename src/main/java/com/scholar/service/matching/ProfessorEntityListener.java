@@ -0,0 +1,75 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.entity.Professor;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JPA entity listener that keeps the persisted professor term profile current and turns professor
+ * writes into {@link ProfessorChangedEvent}s.
+ * Registered for {@link Professor} in {@code META-INF/orm.xml}, so the entity does not depend on
+ * this layer, and instantiated by Hibernate through Spring's bean container, so it can publish
+ * application events.
+ * <p>
+ * Updates are only published when an input of matching changed: research area, department,
+ * publications, status or university. Edits of names, emails or profile links publish nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfessorEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PrePersist
+    @PreUpdate
+    public void refreshTermProfile(Professor professor) {
+        String text = MatchText.professorText(professor.getResearchArea(), professor.getDepartment());
+        professor.setMatchText(text);
+        professor.setMatchTerms(MatchText.professorTerms(text));
+        professor.setMatchKeywordCount(MatchText.professorKeywordCount(professor.getResearchArea()));
+    }
+
+    @PostLoad
+    public void rememberMatchInputs(Professor professor) {
+        professor.setMatchInputsAtLoad(matchInputs(professor));
+    }
+
+    @PostPersist
+    public void onCreated(Professor professor) {
+        professor.setMatchInputsAtLoad(matchInputs(professor));
+        eventPublisher.publishEvent(new ProfessorChangedEvent(this, professor.getId(), ProfessorChangedEvent.ChangeType.CREATED));
+    }
+
+    @PostUpdate
+    public void onUpdated(Professor professor) {
+        List<Object> inputs = matchInputs(professor);
+        if (inputs.equals(professor.getMatchInputsAtLoad())) {
+            return;
+        }
+        professor.setMatchInputsAtLoad(inputs);
+        eventPublisher.publishEvent(new ProfessorChangedEvent(this, professor.getId(), ProfessorChangedEvent.ChangeType.UPDATED));
+    }
+
+    @PostRemove
+    public void onRemoved(Professor professor) {
+        eventPublisher.publishEvent(new ProfessorChangedEvent(this, professor.getId(), ProfessorChangedEvent.ChangeType.DELETED));
+    }
+
+    /**
+     * The professor fields that catalog snapshots, corpus statistics and match rows are derived from.
+     */
+    static List<Object> matchInputs(Professor professor) {
+        return Arrays.asList(professor.getResearchArea(), professor.getDepartment(), professor.getPublications(),
+                professor.getStatus(), professor.getUniversity() != null ? professor.getUniversity().getId() : null);
+    }
+}
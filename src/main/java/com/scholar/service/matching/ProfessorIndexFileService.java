@@ -0,0 +1,148 @@
+package com.scholar.service.matching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores professor term indexes as memory-mapped files, one per catalog content fingerprint.
+ * <p>
+ * A catalog snapshot whose content already has a file maps it instead of building its term index,
+ * so restarts skip the build and the index lives in the page cache rather than on the heap. Files are
+ * written in the background after a snapshot had to build its index; application instances pointed
+ * at the same directory share them, so an instance only deletes a file it wrote itself once it has
+ * written the next one. Files no instance has mapped or written within the retention window are
+ * removed by a periodic sweep.
+ */
+@Service
+@Slf4j
+public class ProfessorIndexFileService {
+
+    private static final String PREFIX = "professor-terms-";
+    private static final String SUFFIX = ".idx";
+
+    private final Path directory;
+    private final long retentionMs;
+
+    // Last file this instance wrote, deleted once a newer one replaces it
+    private Path written;
+
+    public ProfessorIndexFileService(@Value("${scholar.matching.index-file.dir:}") String directory,
+                                     @Value("${scholar.matching.index-file.retention-ms:604800000}") long retentionMs) {
+        this.directory = directory.isBlank() ? null : Paths.get(directory);
+        this.retentionMs = retentionMs;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Maps the stored term index of a catalog's content, if there is one.
+     *
+     * @param fingerprint content fingerprint of the catalog being built
+     * @param professorCount number of professors of that catalog
+     * @return the mapped index, or null if none is stored or it cannot be read
+     */
+    public ProfessorTermIndex map(long fingerprint, int professorCount) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path file = file(fingerprint);
+        try {
+            ProfessorTermIndex index = ProfessorIndexFile.map(file, fingerprint, professorCount);
+            if (index != null) {
+                touch(file);
+                log.debug("Mapped professor term index file {}", file);
+            }
+            return index;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable professor term index file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the term index of a snapshot, removes the file this instance wrote before and maps the new file.
+     *
+     * @param catalog a snapshot whose term index was built on the heap
+     * @return the mapped copy of the index, or null if it could not be written
+     */
+    @Async("indexFileExecutor")
+    public CompletableFuture<ProfessorTermIndex> write(ProfessorCatalog catalog) {
+        Path file = file(catalog.getFingerprint());
+        long started = System.currentTimeMillis();
+        try {
+            Files.createDirectories(directory);
+            if (!Files.exists(file)) {
+                ProfessorIndexFile.write(catalog.getTermIndex(), catalog.getFingerprint(), file);
+                log.info("Wrote professor term index file {} for catalog v{} ({} bytes) in {} ms",
+                        file, catalog.getVersion(), Files.size(file), System.currentTimeMillis() - started);
+                replaceWritten(file);
+            }
+            return CompletableFuture.completedFuture(map(catalog.getFingerprint(), catalog.size()));
+        } catch (IOException e) {
+            log.warn("Failed to write professor term index file {}: {}", file, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Deletes index files that were neither mapped nor written within the retention window.
+     * Other instances sharing the directory refresh the files they map, so only abandoned files age out.
+     */
+    @Scheduled(fixedDelayString = "${scholar.matching.index-file.sweep-interval-ms:3600000}")
+    public void sweep() {
+        if (!isEnabled() || !Files.isDirectory(directory)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoff && Files.deleteIfExists(file)) {
+                        log.info("Deleted professor term index file {} unused for over {} ms", file, retentionMs);
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to sweep professor term index file {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to sweep professor term index files in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void touch(Path file) {
+        // Keeps files in use by any instance out of the age-based sweep
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Could not refresh professor term index file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private synchronized void replaceWritten(Path file) throws IOException {
+        // Mappings held by running snapshots stay valid after their file is deleted
+        if (written != null && !written.equals(file)) {
+            Files.deleteIfExists(written);
+        }
+        written = file;
+    }
+
+    private Path file(long fingerprint) {
+        return directory.resolve(PREFIX + String.format("%016x", fingerprint) + SUFFIX);
+    }
+}
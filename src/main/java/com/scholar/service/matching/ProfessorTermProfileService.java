@@ -0,0 +1,52 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.ProfessorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Fills in persisted professor term profiles that are missing.
+ * <p>
+ * Professors written through JPA get their profile from {@link ProfessorEntityListener}. Rows
+ * inserted or edited outside the application have a NULL profile (the V11 trigger clears it when
+ * the source columns change behind the application's back), and are normalized here with the
+ * same {@link MatchText} rules before the catalog is built from the stored profiles.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfessorTermProfileService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ProfessorRepository professorRepository;
+
+    /**
+     * Computes and stores every missing term profile.
+     *
+     * @return number of profiles written
+     */
+    @Transactional
+    public int backfillMissing() {
+        int written = 0;
+        List<ProfessorRepository.SourceView> batch;
+        // Updated rows leave the "missing" set, so the first page is always the next batch
+        while (!(batch = professorRepository.findMissingTermProfiles(PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+            for (ProfessorRepository.SourceView view : batch) {
+                String text = MatchText.professorText(view.getResearchArea(), view.getDepartment());
+                professorRepository.updateTermProfile(view.getId(), text, MatchText.professorTerms(text),
+                        MatchText.professorKeywordCount(view.getResearchArea()));
+            }
+            written += batch.size();
+        }
+        if (written > 0) {
+            log.info("Backfilled {} missing professor term profiles", written);
+        }
+        return written;
+    }
+}
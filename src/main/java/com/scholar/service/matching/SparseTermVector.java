@@ -0,0 +1,75 @@
+package com.scholar.service.matching;
+
+import java.util.Arrays;
+
+/**
+ * Term-frequency vector of one document over a corpus term dictionary.
+ * Term ids are sorted ascending, so membership tests are a binary search.
+ */
+public final class SparseTermVector {
+
+    public static final SparseTermVector EMPTY = new SparseTermVector(new int[0], new int[0], 0);
+
+    private final int[] termIds;
+    private final int[] frequencies;
+    private final int length;
+
+    SparseTermVector(int[] termIds, int[] frequencies, int length) {
+        this.termIds = termIds;
+        this.frequencies = frequencies;
+        this.length = length;
+    }
+
+    /**
+     * Builds a vector from a sequence of term ids (repeats allowed).
+     */
+    static SparseTermVector of(int[] termSequence) {
+        if (termSequence.length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = termSequence.clone();
+        Arrays.sort(sorted);
+        IntList ids = new IntList();
+        IntList frequencies = new IntList();
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                ids.add(sorted[i]);
+                frequencies.add(1);
+            } else {
+                int last = frequencies.size() - 1;
+                frequencies.set(last, frequencies.get(last) + 1);
+            }
+        }
+        return new SparseTermVector(ids.toArray(), frequencies.toArray(), sorted.length);
+    }
+
+    public int size() {
+        return termIds.length;
+    }
+
+    public int termId(int index) {
+        return termIds[index];
+    }
+
+    public int frequency(int index) {
+        return frequencies[index];
+    }
+
+    /**
+     * Total number of terms in the document, counting repeats.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public boolean contains(int termId) {
+        return indexOf(termId) >= 0;
+    }
+
+    /**
+     * Returns the index of a term for {@link #frequency}, or a negative value if the document lacks it.
+     */
+    public int indexOf(int termId) {
+        return Arrays.binarySearch(termIds, termId);
+    }
+}
@@ -0,0 +1,65 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import com.scholar.domain.repository.ProfessorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Keyword scorer that reads active professors through a database cursor instead of the in-memory catalog.
+ * <p>
+ * Rows are fetched in batches of the repository fetch size and scored as they arrive; the read-only
+ * projection never enters the persistence context, so nothing accumulates between batches. Heap use
+ * is independent of the catalog size under a top-K retention policy, at the cost of a full scan of
+ * the active professors per CV. Scores are identical to the {@code keyword} scorer.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StreamingKeywordMatchScorer implements MatchScorer {
+
+    public static final String NAME = "keyword-stream";
+
+    private final ProfessorRepository professorRepository;
+    private final ProfessorTermProfileService termProfileService;
+    private final MatchEngine matchEngine;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean usesCatalog() {
+        return false;
+    }
+
+    @Override
+    public List<MatchRow> score(UUID tenantId, UUID cvId, Map<String, BigDecimal> cvKeywordMap,
+                                ProfessorCatalog catalog, BitSet eligible, MatchRetention retention) {
+        if (!retention.isTopK()) {
+            log.debug("Streaming scan without a top-K limit keeps every match in memory");
+        }
+        // The cursor reads stored term profiles, so rows written outside the application need theirs first
+        termProfileService.backfillMissing();
+
+        KeywordScoringKernel kernel = KeywordScoringKernel.compile(cvKeywordMap);
+        long started = System.currentTimeMillis();
+        List<ScoredProfessor> scored;
+        try (Stream<ProfessorRepository.MatchView> views = professorRepository.streamActiveMatchViews()) {
+            scored = matchEngine.scoreStream(views.map(view -> ProfessorProfile.fromStored(view.getId(),
+                    view.getUniversityId(), view.getMatchText(), view.getMatchTerms(), view.getMatchKeywordCount())),
+                    kernel, retention);
+        }
+        log.debug("Streaming scan scored CV {} in {} ms", cvId, System.currentTimeMillis() - started);
+        return MatchRows.of(tenantId, cvId, kernel, scored);
+    }
+}
@@ -0,0 +1,12 @@
+-- V10: Full-text search vector of each professor for the database-side (fts) match scorer.
+-- Research area weighs most, then department, then publications. The column is generated, so it
+-- stays current on every insert and update without application code.
+
+ALTER TABLE professor ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(research_area, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(department, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(publications, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_professor_search_vector ON professor USING GIN (search_vector);
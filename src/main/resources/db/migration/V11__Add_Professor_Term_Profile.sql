@@ -0,0 +1,28 @@
+-- V11: Persisted, normalized professor term profile read by the matching hot path.
+-- The application fills these columns whenever it writes a professor; rows written elsewhere
+-- (bulk imports, manual SQL) are left NULL here and backfilled before the next catalog build.
+
+ALTER TABLE professor ADD COLUMN IF NOT EXISTS match_text TEXT;
+ALTER TABLE professor ADD COLUMN IF NOT EXISTS match_terms TEXT;
+ALTER TABLE professor ADD COLUMN IF NOT EXISTS match_keyword_count INT;
+
+CREATE INDEX IF NOT EXISTS idx_professor_match_text_missing ON professor(id) WHERE match_text IS NULL;
+
+-- Invalidate the profile when the source columns change without the profile being rewritten
+CREATE OR REPLACE FUNCTION professor_invalidate_term_profile() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+       AND (NEW.research_area IS DISTINCT FROM OLD.research_area OR NEW.department IS DISTINCT FROM OLD.department)
+       AND NEW.match_text IS NOT DISTINCT FROM OLD.match_text THEN
+        NEW.match_text := NULL;
+        NEW.match_terms := NULL;
+        NEW.match_keyword_count := NULL;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_professor_invalidate_term_profile ON professor;
+CREATE TRIGGER trg_professor_invalidate_term_profile
+    BEFORE UPDATE ON professor
+    FOR EACH ROW EXECUTE FUNCTION professor_invalidate_term_profile();
@@ -0,0 +1,20 @@
+-- V12: Compact match_result rows.
+-- Matched keywords are stored as ids into the CV's ordered keyword list (descending weight, then
+-- keyword) and rendered to text only when a result is shown. Existing rows keep their text until
+-- their CV is matched again; rows whose CV keywords change get their text written back first.
+-- The score becomes an integer in millionths, exactly the former NUMERIC(8,6) value.
+
+ALTER TABLE match_result ADD COLUMN IF NOT EXISTS matched_keyword_ids INTEGER[];
+
+ALTER TABLE match_result DROP CONSTRAINT IF EXISTS chk_match_result_score;
+DROP INDEX IF EXISTS idx_match_result_score;
+
+-- Rewrites the table, which also reclaims the space of the wider NUMERIC values
+ALTER TABLE match_result ALTER COLUMN match_score TYPE INTEGER USING round(match_score * 1000000)::INTEGER;
+ALTER TABLE match_result RENAME COLUMN match_score TO match_score_micros;
+
+ALTER TABLE match_result ADD CONSTRAINT chk_match_result_score
+    CHECK (match_score_micros >= 0 AND match_score_micros <= 1000000);
+
+-- Result pages are always one CV ordered by score
+CREATE INDEX IF NOT EXISTS idx_match_result_cv_score ON match_result(cv_id, match_score_micros DESC);
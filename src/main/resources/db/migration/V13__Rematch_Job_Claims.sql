@@ -0,0 +1,18 @@
+-- V13: Rematch job ownership and per-CV failures.
+-- An instance runs a job only after claiming it; a claim whose heartbeat went stale can be taken
+-- over by another instance. A CV that cannot be matched is recorded and skipped instead of
+-- failing the whole job.
+
+ALTER TABLE rematch_job ADD COLUMN IF NOT EXISTS owner VARCHAR(64);
+ALTER TABLE rematch_job ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
+ALTER TABLE rematch_job ADD COLUMN IF NOT EXISTS failed_cvs INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS rematch_job_failure (
+    job_id UUID NOT NULL,
+    cv_id UUID NOT NULL,
+    error_message TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_rematch_job_failure PRIMARY KEY (job_id, cv_id),
+    CONSTRAINT fk_rematch_job_failure_job FOREIGN KEY (job_id) REFERENCES rematch_job(id) ON DELETE CASCADE
+);
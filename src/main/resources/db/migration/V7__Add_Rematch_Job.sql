@@ -0,0 +1,26 @@
+-- V7: Tenant-wide rematch jobs with batch checkpoints
+
+CREATE TABLE rematch_job (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    tenant_id UUID NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    batch_size INT NOT NULL,
+    total_cvs INT NOT NULL DEFAULT 0,
+    processed_cvs INT NOT NULL DEFAULT 0,
+    match_count BIGINT NOT NULL DEFAULT 0,
+    last_cv_id UUID,
+    catalog_version BIGINT,
+    elapsed_ms BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_rematch_job_tenant FOREIGN KEY (tenant_id) REFERENCES tenant(id) ON DELETE CASCADE,
+    CONSTRAINT chk_rematch_job_status CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED')),
+    CONSTRAINT chk_rematch_job_counts CHECK (batch_size > 0 AND processed_cvs >= 0 AND total_cvs >= 0)
+);
+
+CREATE INDEX idx_rematch_job_tenant ON rematch_job(tenant_id);
+CREATE INDEX idx_rematch_job_status ON rematch_job(status);
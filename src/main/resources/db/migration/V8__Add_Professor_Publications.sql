@@ -0,0 +1,4 @@
+-- V8: The professor entity maps a publications column that no earlier migration created.
+-- BM25 scoring reads it, so make sure it exists on every database.
+
+ALTER TABLE professor ADD COLUMN IF NOT EXISTS publications TEXT;
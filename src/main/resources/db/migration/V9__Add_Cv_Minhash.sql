@@ -0,0 +1,8 @@
+-- V9: MinHash signature of each CV's keyword set, used for similar and near-duplicate CV detection,
+-- and the near-duplicate CV whose matches were (or can be) reused instead of recomputing.
+
+ALTER TABLE cv ADD COLUMN IF NOT EXISTS minhash_signature BYTEA;
+ALTER TABLE cv ADD COLUMN IF NOT EXISTS duplicate_of_cv_id UUID;
+ALTER TABLE cv ADD COLUMN IF NOT EXISTS duplicate_similarity DECIMAL(8,6);
+
+ALTER TABLE cv ADD CONSTRAINT fk_cv_duplicate_of FOREIGN KEY (duplicate_of_cv_id) REFERENCES cv(id) ON DELETE SET NULL;
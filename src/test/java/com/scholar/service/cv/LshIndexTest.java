@@ -0,0 +1,57 @@
+package com.scholar.service.cv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks MinHash similarity estimates and LSH candidate retrieval.
+ */
+public class LshIndexTest {
+
+    @Test
+    public void findsNearDuplicatesButNotUnrelatedCvs() {
+        List<String> base = keywords("kw", 0, 200);
+        List<String> nearDuplicate = new ArrayList<>(base.subList(0, 190));
+        nearDuplicate.addAll(keywords("other", 0, 10));
+        List<String> unrelated = keywords("unrelated", 0, 200);
+
+        int[] baseSignature = MinHash.signature(base);
+        int[] nearSignature = MinHash.signature(nearDuplicate);
+        int[] unrelatedSignature = MinHash.signature(unrelated);
+
+        // Jaccard of base and nearDuplicate is 190 / 210
+        assertEquals(190.0 / 210, MinHash.similarity(baseSignature, nearSignature), 0.1);
+        assertTrue(MinHash.similarity(baseSignature, unrelatedSignature) < 0.1);
+        assertArrayEquals(baseSignature, MinHash.fromBytes(MinHash.toBytes(baseSignature)));
+        assertArrayEquals(baseSignature, MinHash.signature(new HashSet<>(base)));
+
+        LshIndex index = new LshIndex();
+        UUID near = new UUID(0, 1);
+        UUID other = new UUID(0, 2);
+        index.put(near, nearSignature);
+        index.put(other, unrelatedSignature);
+
+        Set<UUID> candidates = index.candidates(baseSignature);
+        assertTrue(candidates.contains(near));
+        assertFalse(candidates.contains(other));
+
+        index.remove(near);
+        assertFalse(index.candidates(baseSignature).contains(near));
+        assertEquals(1, index.size());
+    }
+
+    private static List<String> keywords(String prefix, int from, int to) {
+        List<String> keywords = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            keywords.add(prefix + " " + i);
+        }
+        return keywords;
+    }
+}
@@ -0,0 +1,81 @@
+package com.scholar.service.job;
+
+import com.scholar.service.matching.MatchFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks how full and filtered match requests of one CV merge into the follow-up run.
+ */
+public class CvJobCoordinatorTest {
+
+    private static final UUID CV = new UUID(0, 1);
+    private static final MatchFilter GERMANY = MatchFilter.of(List.of("Germany"), null, null, null);
+    private static final MatchFilter TOP_100 = MatchFilter.of(null, 1, 100, null);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CvJobCoordinator coordinator = new CvJobCoordinator(executor);
+    private final List<MatchFilter> runs = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void fullRequestSurvivesLaterFilteredRequest() throws Exception {
+        CompletableFuture<Void> running = coordinator.submitMatch(CV, MatchFilter.NONE, this::blockingRun);
+        CompletableFuture<Void> full = coordinator.submitMatch(CV, MatchFilter.NONE, runs::add);
+        CompletableFuture<Void> filtered = coordinator.submitMatch(CV, GERMANY, runs::add);
+
+        assertSame(full, filtered);
+        release.countDown();
+        filtered.get(5, TimeUnit.SECONDS);
+        assertTrue(running.isDone());
+        assertEquals(List.of(MatchFilter.NONE, MatchFilter.NONE), runs);
+    }
+
+    @Test
+    public void differentFiltersMergeIntoFullRun() throws Exception {
+        coordinator.submitMatch(CV, MatchFilter.NONE, this::blockingRun);
+        coordinator.submitMatch(CV, GERMANY, runs::add);
+        coordinator.submitMatch(CV, GERMANY, runs::add);
+        CompletableFuture<Void> followUp = coordinator.submitMatch(CV, TOP_100, runs::add);
+
+        release.countDown();
+        followUp.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(MatchFilter.NONE, MatchFilter.NONE), runs);
+    }
+
+    @Test
+    public void sameFilterKeepsFilteredRun() throws Exception {
+        coordinator.submitMatch(CV, MatchFilter.NONE, this::blockingRun);
+        coordinator.submitMatch(CV, GERMANY, runs::add);
+        CompletableFuture<Void> followUp = coordinator.submitMatch(CV, MatchFilter.of(List.of(" germany "), null, null, null), runs::add);
+
+        release.countDown();
+        followUp.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(MatchFilter.NONE, GERMANY), runs);
+    }
+
+    private void blockingRun(MatchFilter filter) {
+        runs.add(filter);
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.scholar.service.job;
+
+import com.scholar.service.matching.ProfessorCatalog;
+import com.scholar.service.matching.ProfessorCatalogService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Covers the CV-by-CV retry of a failed batch.
+ */
+public class RematchJobRunnerTest {
+
+    private final RematchJobService rematchJobService = mock(RematchJobService.class);
+    private final ProfessorCatalogService professorCatalogService = mock(ProfessorCatalogService.class);
+    private final RematchJobRunner runner = new RematchJobRunner(rematchJobService, professorCatalogService);
+    private final ProfessorCatalog catalog = ProfessorCatalog.build(1, List.of());
+
+    @Test
+    public void failingCvDoesNotFailTheJob() {
+        UUID jobId = UUID.randomUUID();
+        UUID good = new UUID(0, 1);
+        UUID bad = new UUID(0, 2);
+        when(professorCatalogService.current()).thenReturn(catalog);
+        when(rematchJobService.markRunning(jobId, 1)).thenReturn(true);
+        when(rematchJobService.processNextBatch(jobId, catalog))
+                .thenThrow(new IllegalStateException("batch"))
+                .thenReturn(0);
+        when(rematchJobService.nextBatchIds(jobId)).thenReturn(List.of(good, bad));
+        when(rematchJobService.processCv(jobId, good, catalog)).thenReturn(1);
+        when(rematchJobService.processCv(jobId, bad, catalog)).thenThrow(new IllegalStateException("boom"));
+
+        runner.run(jobId);
+
+        verify(rematchJobService).processCv(jobId, good, catalog);
+        verify(rematchJobService).recordFailure(jobId, bad, "boom");
+        verify(rematchJobService, never()).recordFailure(jobId, good, "boom");
+        verify(rematchJobService, never()).markFailed(any(), anyString());
+        verify(rematchJobService, times(2)).processNextBatch(jobId, catalog);
+    }
+}
@@ -0,0 +1,112 @@
+package com.scholar.service.job;
+
+import com.scholar.domain.entity.RematchJob;
+import com.scholar.domain.entity.Tenant;
+import com.scholar.domain.repository.CVRepository;
+import com.scholar.domain.repository.RematchJobRepository;
+import com.scholar.domain.repository.TenantRepository;
+import com.scholar.service.matching.MatchingService;
+import com.scholar.service.matching.ProfessorCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Covers job claims, checkpoint advances and per-CV failure records.
+ */
+public class RematchJobServiceTest {
+
+    private static final UUID TENANT = new UUID(7, 0);
+
+    private final RematchJobRepository rematchJobRepository = mock(RematchJobRepository.class);
+    private final CVRepository cvRepository = mock(CVRepository.class);
+    private final MatchingService matchingService = mock(MatchingService.class);
+    private final RematchJobRunner rematchJobRunner = mock(RematchJobRunner.class);
+    private final RematchJobService service = new RematchJobService(rematchJobRepository,
+            mock(TenantRepository.class), cvRepository, matchingService, rematchJobRunner, 100, 300);
+    private final ProfessorCatalog catalog = ProfessorCatalog.build(1, List.of());
+
+    @Test
+    public void onlyClaimedJobsAreResumed() {
+        UUID claimed = UUID.randomUUID();
+        UUID ownedElsewhere = UUID.randomUUID();
+        when(rematchJobRepository.findActiveIds()).thenReturn(List.of(claimed, ownedElsewhere));
+        when(rematchJobRepository.claim(eq(claimed), anyString(), eq(300L))).thenReturn(1);
+        when(rematchJobRepository.claim(eq(ownedElsewhere), anyString(), eq(300L))).thenReturn(0);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.resumeInterruptedJobs();
+            verify(rematchJobRunner, never()).run(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(rematchJobRunner).run(claimed);
+        verify(rematchJobRunner, never()).run(ownedElsewhere);
+    }
+
+    @Test
+    public void batchAdvancesTheCheckpoint() {
+        RematchJob job = runningJob();
+        List<UUID> cvIds = List.of(new UUID(0, 1), new UUID(0, 2));
+        when(cvRepository.findIdsByTenantIdAfter(TENANT, new UUID(0, 0), 100)).thenReturn(cvIds);
+        when(matchingService.computeMatchesBatch(cvIds, TENANT, catalog)).thenReturn(12);
+
+        assertEquals(2, service.processNextBatch(job.getId(), catalog));
+        assertEquals(cvIds.get(1), job.getLastCvId());
+        assertEquals(2, job.getProcessedCvs());
+        assertEquals(12L, job.getMatchCount());
+        verify(rematchJobRepository).save(job);
+    }
+
+    @Test
+    public void jobTakenOverByAnotherInstanceStops() {
+        RematchJob job = runningJob();
+        when(rematchJobRepository.heartbeat(eq(job.getId()), anyString())).thenReturn(0);
+
+        assertEquals(0, service.processNextBatch(job.getId(), catalog));
+        assertFalse(service.markRunning(job.getId(), 1));
+        verifyNoInteractions(matchingService);
+        verify(rematchJobRepository, never()).save(any());
+    }
+
+    @Test
+    public void failedCvIsRecordedAndSkipped() {
+        RematchJob job = runningJob();
+        UUID cvId = new UUID(0, 3);
+        when(rematchJobRepository.insertFailure(job.getId(), cvId, "boom")).thenReturn(1);
+
+        service.recordFailure(job.getId(), cvId, "boom");
+
+        assertEquals(cvId, job.getLastCvId());
+        assertEquals(1, job.getProcessedCvs());
+        assertEquals(1, job.getFailedCvs());
+        assertEquals(RematchJob.JobStatus.RUNNING, job.getStatus());
+        verify(rematchJobRepository).save(job);
+    }
+
+    private RematchJob runningJob() {
+        RematchJob job = RematchJob.builder()
+                .id(UUID.randomUUID())
+                .tenant(Tenant.builder().id(TENANT).build())
+                .status(RematchJob.JobStatus.RUNNING)
+                .batchSize(100)
+                .totalCvs(2)
+                .build();
+        when(rematchJobRepository.heartbeat(eq(job.getId()), anyString())).thenReturn(1);
+        when(rematchJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        return job;
+    }
+}
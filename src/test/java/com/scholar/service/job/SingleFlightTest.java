@@ -0,0 +1,83 @@
+package com.scholar.service.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that concurrent submissions per key coalesce into the running task and one follow-up.
+ */
+public class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void burstDuringRunCausesAtMostOneFollowUp() throws Exception {
+        SingleFlight<String, Runnable> singleFlight = new SingleFlight<>(executor);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Runnable task = () -> {
+            runs.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Void> first = singleFlight.submit("cv", task, true);
+        CompletableFuture<Void> followUp = null;
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<Void> next = singleFlight.submit("cv", task, true);
+            assertNotSame(first, next);
+            if (followUp != null) {
+                assertSame(followUp, next);
+            }
+            followUp = next;
+        }
+        assertTrue(singleFlight.isRunning("cv"));
+
+        release.countDown();
+        followUp.get(5, TimeUnit.SECONDS);
+        assertTrue(first.isDone());
+        assertEquals(2, runs.get());
+        assertFalse(singleFlight.isRunning("cv"));
+    }
+
+    @Test
+    public void submissionWithoutFollowUpJoinsRunningTask() throws Exception {
+        SingleFlight<String, Runnable> singleFlight = new SingleFlight<>(executor);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Runnable task = () -> {
+            runs.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Void> first = singleFlight.submit("cv", task, false);
+        assertSame(first, singleFlight.submit("cv", task, false));
+        CompletableFuture<Void> other = singleFlight.submit("other", () -> runs.incrementAndGet(), false);
+        other.get(5, TimeUnit.SECONDS);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,147 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks incremental corpus statistics and BM25 ranking.
+ */
+public class Bm25MatchScorerTest {
+
+    private static final UUID UNIVERSITY = new UUID(0, 0);
+    private static final UUID TENANT = new UUID(9, 0);
+    private static final UUID CV = new UUID(9, 1);
+
+    @Test
+    public void incrementalUpdatesMatchFullRebuild() {
+        CorpusStatistics incremental = new CorpusStatistics();
+        incremental.put(id(1), "machine learning, robotics");
+        incremental.put(id(2), "robotics and control");
+        incremental.put(id(3), "databases");
+        incremental.put(id(2), "machine learning theory");
+        incremental.remove(id(3));
+
+        CorpusStatistics rebuilt = new CorpusStatistics();
+        rebuilt.put(id(1), "machine learning, robotics");
+        rebuilt.put(id(2), "machine learning theory");
+
+        CorpusStatistics.Snapshot a = incremental.snapshot();
+        CorpusStatistics.Snapshot b = rebuilt.snapshot();
+        assertEquals(b.getDocumentCount(), a.getDocumentCount());
+        assertEquals(b.getAverageDocumentLength(), a.getAverageDocumentLength(), 1e-9);
+        for (String term : List.of("machine", "learning", "robotics", "theory")) {
+            assertEquals(b.documentFrequency(b.termId(term)), a.documentFrequency(a.termId(term)), term);
+        }
+        assertEquals(0, a.documentFrequency(a.termId("databases")));
+        assertEquals(0, a.documentFrequency(a.termId("control")));
+    }
+
+    @Test
+    public void rareTermsOutrankCommonTerms() {
+        CorpusStatistics statistics = new CorpusStatistics();
+        List<ProfessorProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String research = i == 7 ? "learning, topology" : "learning, systems";
+            statistics.put(id(i), MatchText.corpusText(research, null));
+            profiles.add(ProfessorProfile.of(id(i), UNIVERSITY, research, null));
+        }
+        ProfessorCatalog catalog = ProfessorCatalog.build(1, profiles);
+        Bm25Index index = Bm25Index.build(catalog, statistics.snapshot(), 1.2, 0.75);
+
+        Map<String, BigDecimal> cv = Map.of("learning", BigDecimal.ONE, "topology", BigDecimal.ONE);
+        List<MatchRow> rows = Bm25MatchScorer.score(index, catalog, UUID.randomUUID(), UUID.randomUUID(), cv,
+                null, MatchRetention.UNLIMITED);
+
+        assertEquals(50, rows.size());
+        MatchRow best = rows.stream().max((x, y) -> x.getMatchScore().compareTo(y.getMatchScore())).orElseThrow();
+        assertEquals(id(7), best.getProfessorId());
+        assertArrayEquals(new int[]{0, 1}, best.getMatchedKeywordIds());
+        assertTrue(best.getMatchScore().compareTo(BigDecimal.ONE) < 0);
+
+        List<MatchRow> top = Bm25MatchScorer.score(index, catalog, UUID.randomUUID(), UUID.randomUUID(), cv,
+                null, new MatchRetention(1, BigDecimal.ZERO));
+        assertEquals(1, top.size());
+        assertEquals(id(7), top.get(0).getProfessorId());
+    }
+
+    @Test
+    public void snapshotsDoNotSeeLaterChanges() {
+        CorpusStatistics statistics = new CorpusStatistics();
+        statistics.put(id(1), "machine learning");
+        CorpusStatistics.Snapshot before = statistics.snapshot();
+        statistics.put(id(1), "robotics");
+        statistics.put(id(2), "machine learning");
+
+        assertEquals(1, before.getDocumentCount());
+        assertEquals(1, before.documentFrequency(before.termId("machine")));
+        assertEquals(-1, before.termId("robotics"));
+        assertTrue(before.document(id(1)).contains(before.termId("learning")));
+        assertSame(SparseTermVector.EMPTY, before.document(id(2)));
+        assertEquals(Set.of(id(1), id(2)), statistics.changedBetween(before.getVersion(), statistics.getVersion()));
+    }
+
+    @Test
+    public void updatedIndexMatchesRebuiltIndex() {
+        CorpusStatistics statistics = new CorpusStatistics();
+        List<ProfessorProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String research = i % 3 == 0 ? "learning, topology" : "learning, systems";
+            statistics.put(id(i), MatchText.corpusText(research, null));
+            profiles.add(ProfessorProfile.of(id(i), UNIVERSITY, research, null));
+        }
+        ProfessorCatalog catalog = ProfessorCatalog.build(1, profiles);
+        CorpusStatistics.Snapshot before = statistics.snapshot();
+        Bm25Index index = Bm25Index.build(catalog, before, 1.2, 0.75);
+
+        statistics.put(id(4), MatchText.corpusText("topology", "graph topology and learning"));
+        statistics.remove(id(5));
+        statistics.put(id(6), MatchText.corpusText("quantum systems", null));
+        CorpusStatistics.Snapshot after = statistics.snapshot();
+        Bm25Index updated = index.update(after, statistics.changedBetween(before.getVersion(), after.getVersion()));
+        Bm25Index rebuilt = Bm25Index.build(catalog, after, 1.2, 0.75);
+
+        Map<String, BigDecimal> cv = Map.of("learning", BigDecimal.ONE, "topology", new BigDecimal("0.5"),
+                "quantum", new BigDecimal("0.3"));
+        assertEquals(summarize(Bm25MatchScorer.score(rebuilt, catalog, TENANT, CV, cv, null, MatchRetention.UNLIMITED)),
+                summarize(Bm25MatchScorer.score(updated, catalog, TENANT, CV, cv, null, MatchRetention.UNLIMITED)));
+    }
+
+    @Test
+    public void zeroWeightTermsDoNotDuplicateRows() {
+        CorpusStatistics statistics = new CorpusStatistics();
+        List<ProfessorProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            statistics.put(id(i), MatchText.corpusText("learning, systems", null));
+            profiles.add(ProfessorProfile.of(id(i), UNIVERSITY, "learning, systems", null));
+        }
+        ProfessorCatalog catalog = ProfessorCatalog.build(1, profiles);
+        Bm25Index index = Bm25Index.build(catalog, statistics.snapshot(), 1.2, 0.75);
+
+        Map<String, BigDecimal> cv = Map.of("systems", BigDecimal.ZERO, "learning", BigDecimal.ONE);
+        List<MatchRow> rows = Bm25MatchScorer.score(index, catalog, TENANT, CV, cv, null, MatchRetention.UNLIMITED);
+
+        assertEquals(10, rows.size());
+        assertEquals(10, rows.stream().map(MatchRow::getProfessorId).distinct().count());
+    }
+
+    private static List<String> summarize(List<MatchRow> rows) {
+        return rows.stream()
+                .map(row -> row.getProfessorId() + " " + row.getMatchScore() + " " + Arrays.toString(row.getMatchedKeywordIds()))
+                .collect(Collectors.toList());
+    }
+
+    private static UUID id(int i) {
+        return new UUID(1, i);
+    }
+}
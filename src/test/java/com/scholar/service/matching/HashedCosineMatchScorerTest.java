@@ -0,0 +1,59 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the dot product implementations and hashed cosine ranking.
+ */
+public class HashedCosineMatchScorerTest {
+
+    @Test
+    public void bestDotProductAgreesWithScalar() {
+        Random random = new Random(11);
+        DotProduct scalar = new DotProduct.Scalar();
+        DotProduct best = DotProduct.best();
+        for (int length : new int[]{1, 7, 8, 33, 256}) {
+            float[] query = new float[length];
+            float[] matrix = new float[length * 3 + 5];
+            for (int i = 0; i < query.length; i++) {
+                query[i] = random.nextFloat() - 0.5f;
+            }
+            for (int i = 0; i < matrix.length; i++) {
+                matrix[i] = random.nextFloat() - 0.5f;
+            }
+            for (int offset : new int[]{0, 5, length * 2}) {
+                assertEquals(scalar.dot(query, matrix, offset, length), best.dot(query, matrix, offset, length), 1e-4f);
+            }
+        }
+    }
+
+    @Test
+    public void ranksClosestProfessorFirst() {
+        UUID university = new UUID(0, 0);
+        ProfessorCatalog catalog = ProfessorCatalog.build(1, List.of(
+                ProfessorProfile.of(new UUID(1, 0), university, "machine learning, computer vision", "Computer Science"),
+                ProfessorProfile.of(new UUID(1, 1), university, "medieval history", "History"),
+                ProfessorProfile.of(new UUID(1, 2), university, "machine learning", "Statistics")));
+        FeatureHasher hasher = new FeatureHasher(256);
+        HashedVectorIndex index = HashedVectorIndex.build(catalog, hasher);
+
+        Map<String, BigDecimal> cv = Map.of("machine learning", BigDecimal.ONE, "computer vision", new BigDecimal("0.8"));
+        List<MatchRow> rows = HashedCosineMatchScorer.score(index, catalog, hasher, DotProduct.best(), 0.1f,
+                UUID.randomUUID(), UUID.randomUUID(), cv, null, MatchRetention.UNLIMITED);
+
+        assertEquals(2, rows.size());
+        assertEquals(new UUID(1, 0), rows.get(0).getProfessorId());
+        assertArrayEquals(new int[]{0, 1}, rows.get(0).getMatchedKeywordIds());
+        assertTrue(rows.get(0).getMatchScore().compareTo(rows.get(1).getMatchScore()) > 0);
+        assertTrue(rows.get(0).getMatchScore().compareTo(BigDecimal.ONE) <= 0);
+    }
+}
@@ -0,0 +1,96 @@
+package com.scholar.service.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares HNSW search with brute force and checks deletes and serialization.
+ */
+public class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    public void searchRecallsMostTrueNeighbours() throws Exception {
+        Random random = new Random(5);
+        FeatureHasher hasher = new FeatureHasher(DIMENSIONS);
+        List<float[]> vectors = new ArrayList<>();
+        HnswIndex index = new HnswIndex(DIMENSIONS, 12, 100, new DotProduct.Scalar());
+        for (int i = 0; i < 3000; i++) {
+            float[] vector = randomVector(random, hasher);
+            vectors.add(vector);
+            index.insert(new UUID(1, i), i, vector);
+        }
+        for (int i = 0; i < 300; i++) {
+            assertTrue(index.delete(new UUID(1, i * 10)));
+        }
+
+        int found = 0;
+        int expected = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector(random, hasher);
+            Set<UUID> truth = bruteForce(vectors, query, 10);
+            List<HnswIndex.Neighbour> result = index.search(query, 10, 100);
+            assertEquals(10, result.size());
+            for (HnswIndex.Neighbour neighbour : result) {
+                assertNotEquals(0, neighbour.getId().getLeastSignificantBits() % 10, "deleted node returned");
+                if (truth.contains(neighbour.getId())) {
+                    found++;
+                }
+            }
+            expected += truth.size();
+        }
+        assertTrue(found >= expected * 0.9, "recall " + found + "/" + expected);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        HnswIndex loaded = HnswIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                new DotProduct.Scalar());
+        assertEquals(index.getLiveCount(), loaded.getLiveCount());
+        float[] query = randomVector(random, hasher);
+        assertEquals(ids(index.search(query, 10, 100)), ids(loaded.search(query, 10, 100)));
+    }
+
+    private static Set<UUID> bruteForce(List<float[]> vectors, float[] query, int k) {
+        List<Integer> live = new ArrayList<>();
+        for (int i = 0; i < vectors.size(); i++) {
+            if (i % 10 != 0) {
+                live.add(i);
+            }
+        }
+        DotProduct dot = new DotProduct.Scalar();
+        live.sort(Comparator.comparingDouble((Integer i) -> dot.dot(query, vectors.get(i), 0, DIMENSIONS)).reversed());
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < k; i++) {
+            ids.add(new UUID(1, live.get(i)));
+        }
+        return ids;
+    }
+
+    private static float[] randomVector(Random random, FeatureHasher hasher) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        hasher.normalize(vector, 0);
+        return vector;
+    }
+
+    private static List<UUID> ids(List<HnswIndex.Neighbour> neighbours) {
+        return neighbours.stream().map(HnswIndex.Neighbour::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,156 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.CvKeywordRepository;
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import com.scholar.domain.repository.MatchResultRepository;
+import com.scholar.domain.repository.ProfessorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Covers the professor change queue and the single-professor re-match.
+ */
+public class IncrementalMatchServiceTest {
+
+    private final ProfessorRepository professorRepository = mock(ProfessorRepository.class);
+    private final CvKeywordRepository cvKeywordRepository = mock(CvKeywordRepository.class);
+    private final MatchResultRepository matchResultRepository = mock(MatchResultRepository.class);
+    private final CvKeywordDictionary cvKeywordDictionary = mock(CvKeywordDictionary.class);
+    private final ForkJoinPool pool = new ForkJoinPool(1);
+    private final MatchEngine matchEngine = new MatchEngine(pool, 0, 0, BigDecimal.ZERO);
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void changedProfessorsAreQueuedAndDrainedOnce() {
+        IncrementalMatchService self = mock(IncrementalMatchService.class);
+        IncrementalMatchService service = service(KeywordMatchScorer.NAME, self);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        service.handleProfessorChanged(event(first));
+        service.handleProfessorChanged(event(second));
+        service.handleProfessorChanged(event(first));
+        assertEquals(1, tasks.size());
+
+        tasks.remove(0).run();
+        verify(self, times(1)).rematchProfessor(first);
+        verify(self, times(1)).rematchProfessor(second);
+
+        // The drain is over, so the next change schedules a new one
+        service.handleProfessorChanged(event(first));
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void failuresDoNotStopTheDrain() {
+        IncrementalMatchService self = mock(IncrementalMatchService.class);
+        IncrementalMatchService service = service(KeywordMatchScorer.NAME, self);
+        UUID failing = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        doThrow(new IllegalStateException("boom")).when(self).rematchProfessor(failing);
+
+        service.handleProfessorChanged(event(failing));
+        service.handleProfessorChanged(event(other));
+        tasks.remove(0).run();
+
+        verify(self).rematchProfessor(failing);
+        verify(self).rematchProfessor(other);
+    }
+
+    @Test
+    public void otherScorersIgnoreProfessorChanges() {
+        IncrementalMatchService self = mock(IncrementalMatchService.class);
+        IncrementalMatchService service = service(Bm25MatchScorer.NAME, self);
+
+        service.handleProfessorChanged(event(UUID.randomUUID()));
+
+        assertTrue(tasks.isEmpty());
+        verifyNoInteractions(self);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void rematchProfessorRescoresCvsHoldingItsKeywords() {
+        IncrementalMatchService service = service(KeywordMatchScorer.NAME, null);
+        UUID professorId = UUID.randomUUID();
+        UUID matchingCv = UUID.randomUUID();
+        UUID tenantId = UUID.randomUUID();
+        String text = MatchText.professorText("machine learning, robotics", "Computer Science");
+
+        ProfessorRepository.MatchView view = mock(ProfessorRepository.MatchView.class);
+        when(view.getId()).thenReturn(professorId);
+        when(view.getUniversityId()).thenReturn(UUID.randomUUID());
+        when(view.getMatchText()).thenReturn(text);
+        when(view.getMatchTerms()).thenReturn(MatchText.professorTerms(text));
+        when(view.getMatchKeywordCount()).thenReturn(2);
+        when(professorRepository.findActiveMatchViewById(professorId)).thenReturn(Optional.of(view));
+        when(cvKeywordDictionary.keywordsIn(text)).thenReturn(List.of("machine learning"));
+        List<CvKeywordRepository.KeywordView> keywords = List.of(
+                keyword(matchingCv, tenantId, "machine learning", "1.0000"),
+                keyword(matchingCv, tenantId, "biology", "1.0000"));
+        when(cvKeywordRepository.findKeywordViewsOfCvsContaining(anyCollection())).thenReturn(keywords);
+
+        service.rematchProfessor(professorId);
+
+        ArgumentCaptor<List<MatchRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(matchResultRepository).upsertMatches(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        MatchRow row = rows.getValue().get(0);
+        assertEquals(matchingCv, row.getCvId());
+        assertEquals(0, new BigDecimal("0.5").compareTo(row.getMatchScore()));
+        verify(matchResultRepository).deleteProfessorMatchesExcept(eq(professorId),
+                (Collection<UUID>) argThat(ids -> List.copyOf((Collection<UUID>) ids).equals(List.of(matchingCv))));
+    }
+
+    @Test
+    public void inactiveProfessorLosesItsRows() {
+        IncrementalMatchService service = service(KeywordMatchScorer.NAME, null);
+        UUID professorId = UUID.randomUUID();
+        when(professorRepository.findActiveMatchViewById(professorId)).thenReturn(Optional.empty());
+
+        service.rematchProfessor(professorId);
+
+        verify(matchResultRepository).upsertMatches(List.of());
+        verify(matchResultRepository).deleteProfessorMatchesExcept(professorId, List.of());
+        verify(cvKeywordRepository, never()).findKeywordViewsOfCvsContaining(any());
+    }
+
+    private IncrementalMatchService service(String scorerName, IncrementalMatchService self) {
+        return new IncrementalMatchService(professorRepository, cvKeywordRepository, matchResultRepository,
+                cvKeywordDictionary, matchEngine, mock(ProfessorCatalogService.class), tasks::add, self, scorerName, 0.5);
+    }
+
+    private static ProfessorChangedEvent event(UUID professorId) {
+        return new ProfessorChangedEvent(IncrementalMatchServiceTest.class, professorId,
+                ProfessorChangedEvent.ChangeType.UPDATED);
+    }
+
+    private static CvKeywordRepository.KeywordView keyword(UUID cvId, UUID tenantId, String keyword, String weight) {
+        CvKeywordRepository.KeywordView view = mock(CvKeywordRepository.KeywordView.class);
+        when(view.getCvId()).thenReturn(cvId);
+        when(view.getTenantId()).thenReturn(tenantId);
+        when(view.getNormalizedKeyword()).thenReturn(keyword);
+        when(view.getWeight()).thenReturn(new BigDecimal(weight));
+        return view;
+    }
+}
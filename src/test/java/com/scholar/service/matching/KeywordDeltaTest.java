@@ -0,0 +1,183 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies keyword deltas to full result sets and compares them with a full run over the new keywords.
+ */
+public class KeywordDeltaTest {
+
+    private static final String[] VOCABULARY = {
+            "machine learning", "robotics", "computer vision", "nlp", "databases", "graph theory",
+            "bioinformatics", "quantum computing", "control systems", "optimization"
+    };
+
+    private static final UUID TENANT = new UUID(9, 0);
+    private static final UUID CV = new UUID(9, 1);
+
+    private final MatchEngine engine = new MatchEngine(new ForkJoinPool(1), 0, 0, BigDecimal.ZERO);
+
+    @Test
+    public void deltaMatchesFullRun() {
+        ProfessorCatalog catalog = catalog();
+        Map<String, BigDecimal> oldKeywords = new LinkedHashMap<>();
+        oldKeywords.put("machine learning", new BigDecimal("1.0000"));
+        oldKeywords.put("vision", new BigDecimal("0.7750"));
+        oldKeywords.put("graph", new BigDecimal("0.5500"));
+        oldKeywords.put("databases", new BigDecimal("0.3250"));
+        oldKeywords.put("quantum", new BigDecimal("0.1000"));
+
+        // One keyword reweighted, one removed, one added
+        Map<String, BigDecimal> newKeywords = new LinkedHashMap<>(oldKeywords);
+        newKeywords.put("graph", new BigDecimal("0.4000"));
+        newKeywords.remove("quantum");
+        newKeywords.put("robotics", new BigDecimal("0.2000"));
+
+        List<MatchRow> stored = fullRun(catalog, oldKeywords, MatchRetention.UNLIMITED);
+        KeywordDelta delta = KeywordDelta.plan(TENANT, CV, oldKeywords, newKeywords, stored, catalog, engine,
+                MatchRetention.UNLIMITED, 1.0);
+        assertNotNull(delta);
+        // Without a score floor the reweight is applied to the stored rows without rescoring
+        assertEquals(2, delta.getChangedKeywords());
+        assertTrue(delta.getAffectedProfessors() < catalog.size());
+
+        assertEquals(summarize(fullRun(catalog, newKeywords, MatchRetention.UNLIMITED)), apply(stored, delta));
+
+        // Unchanged keyword sets leave every row alone
+        KeywordDelta unchanged = KeywordDelta.plan(TENANT, CV, oldKeywords, new LinkedHashMap<>(oldKeywords),
+                stored, catalog, engine, MatchRetention.UNLIMITED, 1.0);
+        assertTrue(unchanged.getUpserts().isEmpty());
+        assertTrue(unchanged.getDropped().isEmpty());
+        assertEquals(stored.size(), unchanged.getUntouched());
+
+        // Top-K retention and large changes need a full run
+        assertNull(KeywordDelta.plan(TENANT, CV, oldKeywords, newKeywords, stored, catalog, engine,
+                new MatchRetention(10, BigDecimal.ZERO), 1.0));
+        assertNull(KeywordDelta.plan(TENANT, CV, oldKeywords, newKeywords, stored, catalog, engine,
+                MatchRetention.UNLIMITED, 0.3));
+    }
+
+    @Test
+    public void rankWeightsOnlyCountAddedAndRemovedKeywords() {
+        ProfessorCatalog catalog = catalog();
+        Map<String, BigDecimal> oldKeywords = ranked("machine learning", "vision", "graph", "databases", "quantum");
+        // Inserting one keyword reweights every keyword ranked after it
+        Map<String, BigDecimal> newKeywords = ranked("machine learning", "robotics", "vision", "graph", "databases",
+                "quantum");
+
+        List<MatchRow> stored = fullRun(catalog, oldKeywords, MatchRetention.UNLIMITED);
+        KeywordDelta delta = KeywordDelta.plan(TENANT, CV, oldKeywords, newKeywords, stored, catalog, engine,
+                MatchRetention.UNLIMITED, 0.2);
+        assertNotNull(delta);
+        assertEquals(1, delta.getChangedKeywords());
+        assertEquals(summarize(fullRun(catalog, newKeywords, MatchRetention.UNLIMITED)), apply(stored, delta));
+    }
+
+    @Test
+    public void rowsOfProfessorsMissingFromTheCatalogAreDropped() {
+        ProfessorCatalog catalog = catalog();
+        Map<String, BigDecimal> oldKeywords = ranked("machine learning", "vision", "graph", "databases");
+        Map<String, BigDecimal> newKeywords = ranked("machine learning", "vision", "graph", "databases", "robotics");
+        List<MatchRow> stored = fullRun(catalog, oldKeywords, MatchRetention.UNLIMITED);
+
+        // Every third professor was deactivated since the rows were stored
+        List<ProfessorProfile> remaining = new ArrayList<>();
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            if (ordinal % 3 != 0) {
+                remaining.add(catalog.get(ordinal));
+            }
+        }
+        ProfessorCatalog newer = ProfessorCatalog.build(2, remaining);
+
+        KeywordDelta delta = KeywordDelta.plan(TENANT, CV, oldKeywords, newKeywords, stored, newer, engine,
+                MatchRetention.UNLIMITED, 1.0);
+        assertNotNull(delta);
+        assertTrue(delta.getDropped().contains(catalog.get(0).getId()));
+        assertEquals(summarize(fullRun(newer, newKeywords, MatchRetention.UNLIMITED)), apply(stored, delta));
+    }
+
+    @Test
+    public void scoreFloorRescoresReweightedKeywords() {
+        ProfessorCatalog catalog = catalog();
+        MatchRetention floor = new MatchRetention(0, new BigDecimal("0.3"));
+        Map<String, BigDecimal> oldKeywords = new LinkedHashMap<>();
+        oldKeywords.put("machine learning", new BigDecimal("1.0000"));
+        oldKeywords.put("vision", new BigDecimal("0.7750"));
+        oldKeywords.put("graph", new BigDecimal("0.5500"));
+        oldKeywords.put("databases", new BigDecimal("0.3250"));
+        oldKeywords.put("quantum", new BigDecimal("0.1000"));
+
+        // Raising graph lifts professors matching only graph, which have no stored row, over the floor
+        Map<String, BigDecimal> newKeywords = new LinkedHashMap<>(oldKeywords);
+        newKeywords.put("graph", new BigDecimal("0.9000"));
+        newKeywords.remove("quantum");
+        newKeywords.put("robotics", new BigDecimal("0.2000"));
+
+        List<MatchRow> stored = fullRun(catalog, oldKeywords, floor);
+        KeywordDelta delta = KeywordDelta.plan(TENANT, CV, oldKeywords, newKeywords, stored, catalog, engine,
+                floor, 1.0);
+        assertNotNull(delta);
+        assertEquals(3, delta.getChangedKeywords());
+        assertEquals(summarize(fullRun(catalog, newKeywords, floor)), apply(stored, delta));
+
+        // A lower total weight raises every score, which only a full run gets right under a floor
+        Map<String, BigDecimal> lighter = new LinkedHashMap<>(oldKeywords);
+        lighter.remove("databases");
+        assertNull(KeywordDelta.plan(TENANT, CV, oldKeywords, lighter, stored, catalog, engine, floor, 1.0));
+    }
+
+    // Weights as keyword extraction assigns them: 1 for the first keyword down to 0.1 for the last
+    private static Map<String, BigDecimal> ranked(String... keywords) {
+        Map<String, BigDecimal> weights = new LinkedHashMap<>();
+        for (int i = 0; i < keywords.length; i++) {
+            weights.put(keywords[i], BigDecimal.valueOf(1 - 0.9 * i / (keywords.length - 1))
+                    .setScale(4, RoundingMode.HALF_UP));
+        }
+        return weights;
+    }
+
+    private static ProfessorCatalog catalog() {
+        Random random = new Random(5);
+        List<ProfessorProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String research = VOCABULARY[random.nextInt(VOCABULARY.length)] + ", "
+                    + VOCABULARY[random.nextInt(VOCABULARY.length)];
+            profiles.add(ProfessorProfile.of(new UUID(1, i), new UUID(0, i % 20), research, null));
+        }
+        return ProfessorCatalog.build(1, profiles);
+    }
+
+    private List<MatchRow> fullRun(ProfessorCatalog catalog, Map<String, BigDecimal> keywords, MatchRetention retention) {
+        KeywordScoringKernel kernel = KeywordScoringKernel.compile(keywords);
+        return MatchRows.of(TENANT, CV, kernel, engine.score(catalog,
+                catalog.getTermIndex().candidates(kernel.keywords()), kernel, retention));
+    }
+
+    private static Map<UUID, String> apply(List<MatchRow> stored, KeywordDelta delta) {
+        return summarize(delta.applyTo(stored));
+    }
+
+    private static Map<UUID, String> summarize(List<MatchRow> rows) {
+        Map<UUID, String> summary = new TreeMap<>();
+        for (MatchRow row : rows) {
+            summary.put(row.getProfessorId(), row.getMatchScore() + " " + Arrays.toString(row.getMatchedKeywordIds())
+                    + " " + row.getTotalCvKeywords() + "/" + row.getTotalMatchedKeywords());
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,222 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares sequential, parallel, streamed, pruned, filtered and top-K scoring against a plain full scan.
+ */
+public class MatchEngineTest {
+
+    private static final String[] VOCABULARY = {
+            "machine learning", "robotics", "computer vision", "nlp", "databases", "graph theory",
+            "bioinformatics", "quantum computing", "control systems", "optimization"
+    };
+
+    private ForkJoinPool pool;
+    private ProfessorCatalog catalog;
+    private KeywordScoringKernel kernel;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        Random random = new Random(3);
+        List<UUID> universities = new ArrayList<>();
+        for (int u = 0; u < 40; u++) {
+            universities.add(new UUID(0, u));
+        }
+        List<ProfessorProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String research = VOCABULARY[random.nextInt(VOCABULARY.length)] + ", "
+                    + VOCABULARY[random.nextInt(VOCABULARY.length)];
+            profiles.add(ProfessorProfile.of(new UUID(1, i), universities.get(random.nextInt(universities.size())),
+                    research, random.nextBoolean() ? "Computer Science" : null));
+        }
+        catalog = ProfessorCatalog.build(1, profiles);
+
+        Map<String, BigDecimal> keywords = new LinkedHashMap<>();
+        keywords.put("machine learning", new BigDecimal("1.0000"));
+        keywords.put("vision", new BigDecimal("0.7750"));
+        keywords.put("graph", new BigDecimal("0.5500"));
+        keywords.put("computer science", new BigDecimal("0.3250"));
+        keywords.put("quantum", new BigDecimal("0.1000"));
+        kernel = KeywordScoringKernel.compile(keywords);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void parallelScoringMatchesFullScan() {
+        BitSet candidates = catalog.getTermIndex().candidates(List.of("machine learning", "vision", "graph",
+                "computer science", "quantum"));
+        List<ScoredProfessor> sequential = new MatchEngine(new ForkJoinPool(1), 0, 0, BigDecimal.ZERO)
+                .score(catalog, candidates, kernel);
+        List<ScoredProfessor> parallel = new MatchEngine(pool, 0, 0, BigDecimal.ZERO)
+                .score(catalog, candidates, kernel);
+
+        assertEquals(fullScan(), summarize(sequential));
+        assertEquals(summarize(sequential), summarize(parallel));
+    }
+
+    @Test
+    public void topKKeepsBestMatchesAboveFloor() {
+        BitSet all = new BitSet();
+        all.set(0, catalog.size());
+        BigDecimal floor = new BigDecimal("0.3");
+        List<ScoredProfessor> topK = new MatchEngine(pool, 0, 0, BigDecimal.ZERO)
+                .score(catalog, all, kernel, new MatchRetention(50, floor));
+
+        List<ScoredProfessor> expected = new MatchEngine(pool, 0, 0, BigDecimal.ZERO)
+                .score(catalog, all, kernel, MatchRetention.UNLIMITED).stream()
+                .filter(m -> kernel.toScore(m.getMatchedUnits()).compareTo(floor) >= 0)
+                .sorted(MatchEngine.BEST_FIRST)
+                .limit(50)
+                .sorted(Comparator.comparingInt(ScoredProfessor::getOrdinal))
+                .collect(Collectors.toList());
+
+        assertEquals(50, topK.size());
+        assertEquals(summarize(expected), summarize(topK));
+    }
+
+    @Test
+    public void batchScoringMatchesSingleCvScoring() {
+        List<Map<String, BigDecimal>> cvKeywordMaps = List.of(
+                Map.of("machine learning", new BigDecimal("1.0000"), "graph", new BigDecimal("0.4000")),
+                Map.of("vision", new BigDecimal("0.9000"), "machine learning", new BigDecimal("0.2000")),
+                Map.of("quantum", new BigDecimal("1.0000")),
+                Map.of("not in any professor", new BigDecimal("1.0000")));
+        BatchKeywordKernel batch = BatchKeywordKernel.compile(cvKeywordMaps);
+        BitSet all = new BitSet();
+        all.set(0, catalog.size());
+        MatchRetention retention = new MatchRetention(100, new BigDecimal("0.25"));
+        MatchEngine engine = new MatchEngine(pool, 0, 0, BigDecimal.ZERO);
+
+        List<List<ScoredProfessor>> batchResults = engine.scoreBatch(catalog, all, batch, retention);
+
+        assertEquals(cvKeywordMaps.size(), batchResults.size());
+        for (int cv = 0; cv < cvKeywordMaps.size(); cv++) {
+            KeywordScoringKernel single = KeywordScoringKernel.compile(cvKeywordMaps.get(cv));
+            List<ScoredProfessor> expected = engine.score(catalog, all, single, retention);
+            assertEquals(summarize(expected), summarize(batchResults.get(cv)), "CV " + cv);
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i).getMatchedKeywordIds(), batchResults.get(cv).get(i).getMatchedKeywordIds());
+            }
+        }
+    }
+
+    @Test
+    public void streamScoringMatchesCatalogScoring() {
+        BitSet all = new BitSet();
+        all.set(0, catalog.size());
+        MatchRetention retention = new MatchRetention(50, new BigDecimal("0.3"));
+        MatchEngine engine = new MatchEngine(pool, 0, 0, BigDecimal.ZERO);
+
+        List<ScoredProfessor> streamed = engine.scoreStream(
+                IntStream.range(0, catalog.size()).mapToObj(catalog::get), kernel, retention);
+
+        assertEquals(summarize(engine.score(catalog, all, kernel, retention)), summarize(streamed));
+    }
+
+    @Test
+    public void prunedScoringMatchesUnprunedScoring() {
+        KeywordCandidates keywordCandidates = catalog.getTermIndex().keywordCandidates(kernel.keywords());
+        List<MatchRetention> retentions = List.of(MatchRetention.UNLIMITED,
+                new MatchRetention(0, new BigDecimal("0.4")), new MatchRetention(50, BigDecimal.ZERO),
+                new MatchRetention(50, new BigDecimal("0.4")), new MatchRetention(3, new BigDecimal("0.99")));
+        for (ForkJoinPool scoringPool : List.of(new ForkJoinPool(1), pool)) {
+            MatchEngine engine = new MatchEngine(scoringPool, 0, 0, BigDecimal.ZERO);
+            for (MatchRetention retention : retentions) {
+                List<ScoredProfessor> expected = engine.score(catalog, keywordCandidates.union(), kernel, retention);
+                List<ScoredProfessor> pruned = engine.score(catalog, keywordCandidates, kernel, retention);
+                assertEquals(summarize(expected), summarize(pruned), retention.toString());
+            }
+        }
+    }
+
+    @Test
+    public void eligibleOrdinalsRestrictKeywordScoring() {
+        BitSet eligible = new BitSet();
+        Random random = new Random(5);
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            if (random.nextInt(4) == 0) {
+                eligible.set(ordinal);
+            }
+        }
+        Set<UUID> eligibleIds = eligible.stream().mapToObj(o -> catalog.get(o).getId()).collect(Collectors.toSet());
+        Map<String, BigDecimal> keywords = Map.of("machine learning", BigDecimal.ONE, "vision", new BigDecimal("0.5"));
+        KeywordMatchScorer scorer = new KeywordMatchScorer(new MatchEngine(pool, 0, 0, BigDecimal.ZERO));
+        UUID tenantId = UUID.randomUUID();
+        UUID cvId = UUID.randomUUID();
+
+        List<MatchRow> filtered = scorer.score(tenantId, cvId, keywords, catalog, eligible, MatchRetention.UNLIMITED);
+        List<MatchRow> expected = scorer.score(tenantId, cvId, keywords, catalog, null, MatchRetention.UNLIMITED).stream()
+                .filter(row -> eligibleIds.contains(row.getProfessorId()))
+                .collect(Collectors.toList());
+
+        assertFalse(filtered.isEmpty());
+        assertEquals(expected.stream().map(MatchRow::getProfessorId).toList(),
+                filtered.stream().map(MatchRow::getProfessorId).toList());
+    }
+
+    @Test
+    public void zeroWeightMatchesAreKeptWithoutScoreFloor() {
+        Map<String, BigDecimal> keywords = new LinkedHashMap<>();
+        keywords.put("machine learning", BigDecimal.ONE);
+        keywords.put("robotics", BigDecimal.ZERO);
+        KeywordScoringKernel zeroWeight = KeywordScoringKernel.compile(keywords);
+        MatchEngine engine = new MatchEngine(pool, 0, 0, BigDecimal.ZERO);
+        KeywordCandidates candidates = catalog.getTermIndex().keywordCandidates(zeroWeight.keywords());
+
+        List<ScoredProfessor> plain = engine.score(catalog, candidates.union(), zeroWeight, MatchRetention.UNLIMITED);
+        List<ScoredProfessor> pruned = engine.score(catalog, candidates, zeroWeight, MatchRetention.UNLIMITED);
+
+        long roboticsOnly = catalog.getProfiles().stream()
+                .filter(p -> p.getText().contains("robotics") && !p.getText().contains("machine learning"))
+                .count();
+        assertTrue(roboticsOnly > 0);
+        assertEquals(roboticsOnly, plain.stream().filter(m -> m.getMatchedUnits() == 0).count());
+        assertEquals(summarize(plain), summarize(pruned));
+    }
+
+    private List<String> fullScan() {
+        List<String> expected = new ArrayList<>();
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            String text = catalog.get(ordinal).getText();
+            long units = 0;
+            for (int id = 0; id < kernel.size(); id++) {
+                if (text.contains(kernel.keyword(id))) {
+                    units += kernel.weightUnits(id);
+                }
+            }
+            if (units > 0) {
+                expected.add(ordinal + ":" + units);
+            }
+        }
+        return expected;
+    }
+
+    private static List<String> summarize(List<ScoredProfessor> matches) {
+        return matches.stream().map(m -> m.getOrdinal() + ":" + m.getMatchedUnits()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,66 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.repository.MatchResultBulkRepository.MatchRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks keyword-set fingerprints, rebinding of cached rows and row-bounded eviction.
+ */
+public class MatchResultCacheTest {
+
+    @Test
+    public void fingerprintIgnoresOrderAndWeightScale() {
+        Map<String, BigDecimal> a = new LinkedHashMap<>();
+        a.put("robotics", new BigDecimal("0.5"));
+        a.put("machine learning", new BigDecimal("1.0000"));
+        Map<String, BigDecimal> b = new LinkedHashMap<>();
+        b.put("machine learning", new BigDecimal("1"));
+        b.put("robotics", new BigDecimal("0.5000"));
+
+        assertEquals(MatchResultCache.fingerprint(a), MatchResultCache.fingerprint(b));
+        b.put("robotics", new BigDecimal("0.5001"));
+        assertNotEquals(MatchResultCache.fingerprint(a), MatchResultCache.fingerprint(b));
+    }
+
+    @Test
+    public void hitsAreReboundAndOldestEntriesEvicted() {
+        MatchResultCache cache = new MatchResultCache(5);
+        UUID tenant = UUID.randomUUID();
+        cache.put(1, "a", rows(3));
+        cache.put(1, "b", rows(2));
+
+        UUID cvId = UUID.randomUUID();
+        List<MatchRow> hit = cache.get(1, "a", tenant, cvId);
+        assertEquals(3, hit.size());
+        assertTrue(hit.stream().allMatch(row -> row.getCvId().equals(cvId) && row.getTenantId().equals(tenant)));
+        assertNull(cache.get(2, "a", tenant, cvId));
+
+        // "b" is now least recently used and goes first
+        cache.put(1, "c", rows(2));
+        assertNull(cache.get(1, "b", tenant, cvId));
+        assertNotNull(cache.get(1, "a", tenant, cvId));
+
+        // A newer catalog version drops every older entry
+        cache.put(2, "d", rows(1));
+        assertNull(cache.get(1, "a", tenant, cvId));
+        assertNotNull(cache.get(2, "d", tenant, cvId));
+    }
+
+    private static List<MatchRow> rows(int count) {
+        List<MatchRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new MatchRow(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("0.500000"),
+                    new int[] {0}, 2, 3, 1));
+        }
+        return rows;
+    }
+}
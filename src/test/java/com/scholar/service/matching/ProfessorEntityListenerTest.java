@@ -0,0 +1,78 @@
+package com.scholar.service.matching;
+
+import com.scholar.domain.entity.Professor;
+import com.scholar.domain.entity.University;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which professor writes are published as {@link ProfessorChangedEvent}s.
+ */
+public class ProfessorEntityListenerTest {
+
+    private final List<ProfessorChangedEvent> events = new ArrayList<>();
+    private final ApplicationEventPublisher publisher = event -> events.add((ProfessorChangedEvent) event);
+    private final ProfessorEntityListener listener = new ProfessorEntityListener(publisher);
+    private Professor professor;
+
+    @BeforeEach
+    public void setUp() {
+        professor = Professor.builder()
+                .id(UUID.randomUUID())
+                .university(University.builder().id(UUID.randomUUID()).build())
+                .email("ada@example.edu")
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .department("Computer Science")
+                .researchArea("machine learning, robotics")
+                .build();
+        listener.rememberMatchInputs(professor);
+    }
+
+    @Test
+    public void insertsArePublished() {
+        listener.onCreated(professor);
+
+        assertEquals(1, events.size());
+        assertEquals(ProfessorChangedEvent.ChangeType.CREATED, events.get(0).getChangeType());
+    }
+
+    @Test
+    public void updatesOfUnrelatedFieldsAreNotPublished() {
+        professor.setEmail("ada.lovelace@example.edu");
+        professor.setFirstName("Augusta");
+        professor.setProfileUrl("https://example.edu/ada");
+        update();
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void updatesOfMatchInputsArePublishedOnce() {
+        professor.setResearchArea("machine learning, computer vision");
+        update();
+        update();
+
+        professor.setStatus(Professor.ProfessorStatus.INACTIVE);
+        update();
+
+        professor.setDepartment("Electrical Engineering");
+        update();
+
+        assertEquals(3, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getChangeType() == ProfessorChangedEvent.ChangeType.UPDATED
+                && e.getProfessorId().equals(professor.getId())));
+    }
+
+    private void update() {
+        listener.refreshTermProfile(professor);
+        listener.onUpdated(professor);
+    }
+}